@@ -2,6 +2,7 @@ import module1.RoutePlannerMenu;
 import module2.DataSorterMenu;
 import module3.PerformanceAnalyzerMenu;
 
+import java.io.File;
 import java.util.Scanner;
 
 /**
@@ -32,7 +33,8 @@ public class SmartCityApplication {
     // ==================== Main Method ====================
     public static void main(String[] args) {
         // Initialize module menus
-        RoutePlannerMenu routePlanner = new RoutePlannerMenu(scanner);
+        // An optional argument names a road network (snapshot or CSV) to load instead of the sample data
+        RoutePlannerMenu routePlanner = new RoutePlannerMenu(scanner, args.length > 0 ? new File(args[0]) : null);
         DataSorterMenu dataSorter = new DataSorterMenu(scanner);
         PerformanceAnalyzerMenu performanceAnalyzer = new PerformanceAnalyzerMenu(scanner);
 
@@ -59,6 +61,7 @@ public class SmartCityApplication {
                     break;
                 case 0:
                     running = false;
+                    routePlanner.shutdown();
                     displayExitBanner();
                     break;
                 default:
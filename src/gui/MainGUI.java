@@ -3,6 +3,7 @@ package gui;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.File;
 
 /**
  * Main GUI Window for the Smart City Application.
@@ -19,6 +20,14 @@ public class MainGUI extends JFrame {
     private PerformanceAnalyzerGUI performanceGUI;
 
     public MainGUI() {
+        this(null);
+    }
+
+    /**
+     * Creates the main window.
+     * @param networkSnapshot road network snapshot for Module 1, or null for the sample data
+     */
+    public MainGUI(File networkSnapshot) {
         setTitle("Smart City Application - Data Structures & Algorithms");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(1100, 750);
@@ -37,7 +46,7 @@ public class MainGUI extends JFrame {
         mainPanel = new JPanel(cardLayout);
 
         // Create module panels
-        routePlannerGUI = new RoutePlannerGUI(this);
+        routePlannerGUI = new RoutePlannerGUI(this, networkSnapshot);
         dataSorterGUI = new DataSorterGUI(this);
         performanceGUI = new PerformanceAnalyzerGUI(this);
 
@@ -185,7 +194,8 @@ public class MainGUI extends JFrame {
     // ==================== Main Entry Point ====================
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
-            MainGUI gui = new MainGUI();
+            // An optional argument names a network snapshot to open in Module 1
+            MainGUI gui = new MainGUI(args.length > 0 ? new File(args[0]) : null);
             gui.setVisible(true);
         });
     }
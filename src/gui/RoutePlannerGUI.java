@@ -1,7 +1,16 @@
 package gui;
 
 import module1.BSTLocation;
+import module1.CityGenerator;
 import module1.CityGraph;
+import module1.GraphLoader;
+import module1.GraphSnapshot;
+import module1.GraphStats;
+import module1.LoadReport;
+import module1.MinimumSpanningTree;
+import module1.RouteCache;
+import module1.RoutePath;
+import module1.WeightProfile;
 
 import javax.swing.*;
 import javax.swing.border.*;
@@ -9,6 +18,9 @@ import java.awt.*;
 import java.awt.event.*;
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 /**
  * GUI Panel for Module 1: Smart City Route Planner.
@@ -23,21 +35,50 @@ public class RoutePlannerGUI extends JPanel {
     private BSTLocation bst;
     private JTextArea outputArea;
     private JComboBox<String> locationCombo1, locationCombo2;
+    /** Buttons disabled while a background task uses the network */
+    private final java.util.List<JButton> buttons = new ArrayList<>();
+
+    /** Maximum number of autocomplete suggestions shown in a location combo box */
+    private static final int MAX_SUGGESTIONS = 50;
+    /** Largest network the generator dialog builds (about three million roads) */
+    private static final int MAX_GENERATED_LOCATIONS = 1_000_000;
 
     public RoutePlannerGUI(MainGUI parent) {
+        this(parent, null);
+    }
+
+    /**
+     * Creates the panel with a network snapshot opened at startup.
+     * @param parent main window
+     * @param snapshotFile snapshot to open, or null (or unreadable) for the sample data
+     */
+    public RoutePlannerGUI(MainGUI parent, File snapshotFile) {
         this.parent = parent;
         this.graph = new CityGraph();
         this.bst = new BSTLocation();
-        loadSampleData();
+        boolean opened = snapshotFile != null && openSnapshot(snapshotFile);
+        if (!opened) {
+            loadSampleData();
+        }
         initUI();
+        if (snapshotFile != null) {
+            appendOutput(opened
+                    ? String.format("Opened %s: %,d locations, %,d roads.", snapshotFile.getName(),
+                            graph.getLocationCount(), graph.getRoadCount())
+                    : "Could not open " + snapshotFile.getName() + "; using the sample network.");
+        }
     }
 
     private void loadSampleData() {
         String[] locations = {"Colombo", "Kandy", "Galle", "Jaffna", "Negombo",
                 "Anuradhapura", "Trincomalee", "Batticaloa", "Matara", "Kurunegala"};
-        for (String loc : locations) {
-            bst.insert(loc);
-            graph.addLocation(loc);
+        double[][] coordinates = {{6.9271, 79.8612}, {7.2906, 80.6337}, {6.0535, 80.2210}, {9.6615, 80.0255},
+                {7.2008, 79.8737}, {8.3114, 80.4037}, {8.5874, 81.2152}, {7.7310, 81.6747}, {5.9549, 80.5550},
+                {7.4818, 80.3609}};
+        bst.bulkLoad(Arrays.asList(locations));
+        graph.addLocations(Arrays.asList(locations));
+        for (int i = 0; i < locations.length; i++) {
+            graph.setCoordinates(locations[i], coordinates[i][0], coordinates[i][1]);
         }
         graph.addRoad("Colombo", "Kandy", 115);
         graph.addRoad("Colombo", "Galle", 126);
@@ -52,6 +93,11 @@ public class RoutePlannerGUI extends JPanel {
         graph.addRoad("Anuradhapura", "Trincomalee", 110);
         graph.addRoad("Trincomalee", "Batticaloa", 114);
         graph.addRoad("Negombo", "Kurunegala", 78);
+
+        // Commuter traffic on the roads out of Colombo (free-flow minutes, peak multiplier)
+        graph.setRoadProfile("Colombo", "Kandy", WeightProfile.rushHour(170, 1.5));
+        graph.setRoadProfile("Colombo", "Negombo", WeightProfile.rushHour(50, 2.0));
+        graph.setRoadProfile("Colombo", "Kurunegala", WeightProfile.rushHour(130, 1.6));
     }
 
     private void initUI() {
@@ -97,11 +143,20 @@ public class RoutePlannerGUI extends JPanel {
         addButton(leftPanel, "Add Road", new Color(46, 139, 87), e -> addRoad());
         addButton(leftPanel, "Remove Road", new Color(180, 60, 60), e -> removeRoad());
 
+        leftPanel.add(Box.createVerticalStrut(10));
+        addSectionLabel(leftPanel, "Network Files");
+        addButton(leftPanel, "Load Network File...", new Color(46, 139, 87), e -> loadNetworkFile());
+        addButton(leftPanel, "Save Snapshot...", new Color(46, 139, 87), e -> saveSnapshot());
+        addButton(leftPanel, "Open Snapshot...", new Color(46, 139, 87), e -> openSnapshotFile());
+        addButton(leftPanel, "Generate Synthetic City...", new Color(46, 139, 87), e -> generateCity());
+
         leftPanel.add(Box.createVerticalStrut(10));
         addSectionLabel(leftPanel, "Display");
         addButton(leftPanel, "Show All Connections", new Color(70, 130, 180), e -> showConnections());
         addButton(leftPanel, "BST In-Order (Sorted)", new Color(70, 130, 180), e -> showBSTInOrder());
         addButton(leftPanel, "BST Tree Structure", new Color(70, 130, 180), e -> showBSTTree());
+        addButton(leftPanel, "Network Statistics", new Color(70, 130, 180), e -> showStatistics());
+        addButton(leftPanel, "Minimum Spanning Tree", new Color(70, 130, 180), e -> showMinimumSpanningTree());
 
         leftPanel.add(Box.createVerticalStrut(10));
         addSectionLabel(leftPanel, "Traversals & Pathfinding");
@@ -112,7 +167,7 @@ public class RoutePlannerGUI extends JPanel {
         comboPanel1.setMaximumSize(new Dimension(250, 35));
         JLabel fromLabel = new JLabel("From:");
         fromLabel.setForeground(Color.WHITE);
-        locationCombo1 = new JComboBox<>();
+        locationCombo1 = createLocationCombo();
         locationCombo1.setPreferredSize(new Dimension(170, 25));
         comboPanel1.add(fromLabel);
         comboPanel1.add(locationCombo1);
@@ -123,7 +178,7 @@ public class RoutePlannerGUI extends JPanel {
         comboPanel2.setMaximumSize(new Dimension(250, 35));
         JLabel toLabel = new JLabel("To:");
         toLabel.setForeground(Color.WHITE);
-        locationCombo2 = new JComboBox<>();
+        locationCombo2 = createLocationCombo();
         locationCombo2.setPreferredSize(new Dimension(180, 25));
         comboPanel2.add(toLabel);
         comboPanel2.add(locationCombo2);
@@ -134,6 +189,7 @@ public class RoutePlannerGUI extends JPanel {
         addButton(leftPanel, "BFS Traversal (Queue)", new Color(178, 102, 178), e -> bfsTraversal());
         addButton(leftPanel, "DFS Traversal (Stack)", new Color(178, 102, 178), e -> dfsTraversal());
         addButton(leftPanel, "Find Shortest Path", new Color(200, 150, 50), e -> findShortestPath());
+        addButton(leftPanel, "Alternative Routes", new Color(200, 150, 50), e -> findAlternativeRoutes());
 
         // Output area
         outputArea = new JTextArea();
@@ -183,19 +239,104 @@ public class RoutePlannerGUI extends JPanel {
         });
         panel.add(Box.createVerticalStrut(3));
         panel.add(btn);
+        buttons.add(btn);
+    }
+
+    /**
+     * Runs a slow task off the event thread so the window keeps repainting.
+     * The buttons are disabled meanwhile, so the network cannot change
+     * while the task reads it.
+     * @param task work to run in the background; must not touch Swing
+     * @param done called on the event thread with the task's result
+     */
+    private <T> void runInBackground(Callable<T> task, Consumer<T> done) {
+        for (JButton button : buttons) {
+            button.setEnabled(false);
+        }
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return task.call();
+            }
+
+            @Override
+            protected void done() {
+                for (JButton button : buttons) {
+                    button.setEnabled(true);
+                }
+                setCursor(Cursor.getDefaultCursor());
+                T result;
+                try {
+                    result = get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+                    JOptionPane.showMessageDialog(RoutePlannerGUI.this, "The task failed: " + cause,
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                done.accept(result);
+            }
+        }.execute();
+    }
+
+    /**
+     * Creates an editable location combo box that autocompletes from the BST
+     * as the user types.
+     */
+    private JComboBox<String> createLocationCombo() {
+        JComboBox<String> combo = new JComboBox<>();
+        combo.setEditable(true);
+        JTextField editor = (JTextField) combo.getEditor().getEditorComponent();
+        editor.addKeyListener(new KeyAdapter() {
+            public void keyReleased(KeyEvent e) {
+                int key = e.getKeyCode();
+                if (key == KeyEvent.VK_UP || key == KeyEvent.VK_DOWN
+                        || key == KeyEvent.VK_ENTER || key == KeyEvent.VK_ESCAPE) {
+                    return;
+                }
+                refreshSuggestions(combo);
+                if (combo.getItemCount() > 0 && combo.isShowing()) {
+                    combo.showPopup();
+                }
+            }
+        });
+        return combo;
     }
 
     private void updateCombos() {
-        String sel1 = (String) locationCombo1.getSelectedItem();
-        String sel2 = (String) locationCombo2.getSelectedItem();
-        locationCombo1.removeAllItems();
-        locationCombo2.removeAllItems();
-        for (String loc : graph.getLocations()) {
-            locationCombo1.addItem(loc);
-            locationCombo2.addItem(loc);
+        refreshSuggestions(locationCombo1);
+        refreshSuggestions(locationCombo2);
+    }
+
+    /**
+     * Refills a combo box with the first locations matching the typed text.
+     * Uses a lazy BST prefix query, so only the shown suggestions are visited.
+     */
+    private void refreshSuggestions(JComboBox<String> combo) {
+        JTextField editor = (JTextField) combo.getEditor().getEditorComponent();
+        String text = editor.getText();
+        DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>();
+        for (String loc : bst.prefix(text.trim())) {
+            if (model.getSize() == MAX_SUGGESTIONS) break;
+            model.addElement(loc);
+        }
+        combo.setModel(model);
+        if (!text.isEmpty()) {
+            editor.setText(text); // Keep what the user typed instead of the first suggestion
+        }
+    }
+
+    /**
+     * Gets the location currently typed or chosen in a combo box.
+     * @return the location name, or null if nothing is entered
+     */
+    private String selectedLocation(JComboBox<String> combo) {
+        Object item = combo.getEditor().getItem();
+        if (item == null || item.toString().trim().isEmpty()) {
+            return null;
         }
-        if (sel1 != null) locationCombo1.setSelectedItem(sel1);
-        if (sel2 != null) locationCombo2.setSelectedItem(sel2);
+        return item.toString().trim();
     }
 
     // ==================== Operations ====================
@@ -232,6 +373,129 @@ public class RoutePlannerGUI extends JPanel {
         appendOutput("- Location '" + name + "' and all its roads removed.");
     }
 
+    /**
+     * Loads locations and roads from an edge-list / CSV file chosen by the user.
+     */
+    private void loadNetworkFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Load Road Network (from,to,distance per line)");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        LoadReport report = GraphLoader.load(chooser.getSelectedFile(), graph, bst);
+        if (report == null) {
+            JOptionPane.showMessageDialog(this, "Could not read " + chooser.getSelectedFile().getName() + ".",
+                    "Load Failed", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        updateCombos();
+        appendOutput("\n========== NETWORK LOADED: " + report.getFileName() + " ==========");
+        appendOutput(String.format("  Locations added : %,d", report.getLocationsAdded()));
+        appendOutput(String.format("  Roads added     : %,d of %,d read", report.getRoadsAdded(), report.getRoadsRead()));
+        if (report.getSkippedLines() > 0) {
+            appendOutput(String.format("  Skipped lines   : %,d (first at line %,d)",
+                    report.getSkippedLines(), report.getFirstSkippedLine()));
+        }
+        appendOutput(String.format("  Load time       : %.1f ms (%,.0f edges/sec)",
+                report.getTotalMillis(), report.getEdgesPerSecond()));
+    }
+
+    private void saveSnapshot() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Save Network Snapshot");
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+        long start = System.nanoTime();
+        if (!GraphSnapshot.save(graph, bst, file)) {
+            JOptionPane.showMessageDialog(this, "Could not write " + file.getName() + ".",
+                    "Save Failed", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        appendOutput(String.format("+ Snapshot saved to %s (%,.1f KB, %.1f ms)", file.getName(),
+                file.length() / 1024.0, (System.nanoTime() - start) / 1_000_000.0));
+    }
+
+    private void openSnapshotFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Open Network Snapshot (replaces the current network)");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+        long start = System.nanoTime();
+        if (!openSnapshot(file)) {
+            JOptionPane.showMessageDialog(this, file.getName() + " is not a valid network snapshot.",
+                    "Open Failed", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        updateCombos();
+        appendOutput(String.format("\n========== SNAPSHOT OPENED: %s ==========", file.getName()));
+        appendOutput(String.format("  %,d locations, %,d roads in %.1f ms", graph.getLocationCount(),
+                graph.getRoadCount(), (System.nanoTime() - start) / 1_000_000.0));
+    }
+
+    /**
+     * Replaces the network with a generated one of the shape and size the
+     * user picks.
+     */
+    private void generateCity() {
+        JComboBox<String> shapeCombo = new JComboBox<>();
+        for (int shape = CityGenerator.GRID; shape <= CityGenerator.SCALE_FREE; shape++) {
+            shapeCombo.addItem(CityGenerator.shapeName(shape));
+        }
+        JTextField locationsField = new JTextField("10000");
+        JTextField seedField = new JTextField("42");
+        JPanel form = new JPanel(new GridLayout(0, 2, 5, 5));
+        form.add(new JLabel("Shape:"));
+        form.add(shapeCombo);
+        form.add(new JLabel("Locations (max " + String.format("%,d", MAX_GENERATED_LOCATIONS) + "):"));
+        form.add(locationsField);
+        form.add(new JLabel("Seed:"));
+        form.add(seedField);
+        if (JOptionPane.showConfirmDialog(this, form, "Generate Synthetic City (replaces the current network)",
+                JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) return;
+
+        int locations;
+        long seed;
+        try {
+            locations = Integer.parseInt(locationsField.getText().trim().replace(",", ""));
+            seed = Long.parseLong(seedField.getText().trim());
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Please enter whole numbers.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (locations < 1 || locations > MAX_GENERATED_LOCATIONS) {
+            JOptionPane.showMessageDialog(this, String.format("Locations must be between 1 and %,d.",
+                    MAX_GENERATED_LOCATIONS), "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        int shape = shapeCombo.getSelectedIndex();
+        long start = System.nanoTime();
+        BSTLocation generatedBst = new BSTLocation();
+        appendOutput(String.format("\nGenerating %,d locations...", locations));
+        runInBackground(() -> CityGenerator.generate(shape, locations, seed, generatedBst), generated -> {
+            graph = generated;
+            bst = generatedBst;
+            updateCombos();
+            appendOutput(String.format("========== GENERATED: %s CITY (seed %d) ==========",
+                    CityGenerator.shapeName(shape).toUpperCase(), seed));
+            appendOutput(String.format("  %,d locations, %,d roads, %,d components in %.1f ms",
+                    graph.getLocationCount(), graph.getRoadCount(), graph.getComponentCount(),
+                    (System.nanoTime() - start) / 1_000_000.0));
+        });
+    }
+
+    /**
+     * Replaces the graph and BST with a snapshot's contents.
+     * @return true if opened, false if the file is missing or damaged
+     */
+    private boolean openSnapshot(File file) {
+        BSTLocation loadedBst = new BSTLocation();
+        CityGraph loaded = GraphSnapshot.load(file, loadedBst);
+        if (loaded == null) {
+            return false;
+        }
+        graph = loaded;
+        bst = loadedBst;
+        return true;
+    }
+
     private void addRoad() {
         String[] locations = graph.getLocations().toArray(new String[0]);
         if (locations.length < 2) {
@@ -314,54 +578,138 @@ public class RoutePlannerGUI extends JPanel {
         appendOutput(baos.toString());
     }
 
+    private void showStatistics() {
+        GraphStats stats = graph.getStats();
+        appendOutput("\n========== NETWORK STATISTICS ==========");
+        appendOutput("  Locations      : " + stats.getLocationCount());
+        appendOutput("  Roads          : " + stats.getRoadCount());
+        appendOutput("  Max degree     : " + stats.getMaxDegree());
+        appendOutput(String.format("  Average degree : %.2f", stats.getAverageDegree()));
+        appendOutput("  Components     : " + graph.getComponentCount());
+        int[] histogram = stats.getDegreeHistogram();
+        for (int d = 0; d < histogram.length; d++) {
+            if (histogram[d] > 0) {
+                appendOutput(String.format("  %3d road(s) -> %d location(s)", d, histogram[d]));
+            }
+        }
+        RouteCache cache = graph.getRouteCache();
+        appendOutput(String.format("  Route cache    : %d/%d routes, %d hits, %d misses (%.1f%% hit rate)",
+                cache.size(), cache.getCapacity(), cache.getHits(), cache.getMisses(), cache.getHitRate() * 100));
+    }
+
+    /**
+     * Shows the cheapest set of roads that keeps every location connected.
+     */
+    private void showMinimumSpanningTree() {
+        long start = System.nanoTime();
+        runInBackground(graph::findMinimumSpanningTree, mst -> {
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+            appendOutput("\n========== MINIMUM SPANNING TREE ==========");
+            int shown = Math.min(mst.getRoadCount(), MAX_SUGGESTIONS);
+            for (int i = 0; i < shown; i++) {
+                appendOutput(String.format("  %s <-> %s : %d km", mst.getFrom(i), mst.getTo(i), mst.getDistance(i)));
+            }
+            if (shown < mst.getRoadCount()) {
+                appendOutput(String.format("  ... and %,d more roads", mst.getRoadCount() - shown));
+            }
+            appendOutput(String.format("  Roads kept     : %,d of %,d", mst.getRoadCount(), graph.getRoadCount()));
+            appendOutput(String.format("  Total distance : %,d km", mst.getTotalDistance()));
+            if (mst.getTreeCount() > 1) {
+                appendOutput(String.format("  Separate parts : %,d (one tree each)", mst.getTreeCount()));
+            }
+            appendOutput(String.format("  Computed in %.1f ms", millis));
+        });
+    }
+
     private void bfsTraversal() {
-        String start = (String) locationCombo1.getSelectedItem();
-        if (start == null) {
+        String start = selectedLocation(locationCombo1);
+        if (start == null || !graph.hasLocation(start)) {
             JOptionPane.showMessageDialog(this, "Please select a starting location.", "Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        appendOutput("\n========== BFS TRAVERSAL (Queue) from '" + start + "' ==========");
-        PrintStream oldOut = System.out;
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        System.setOut(new PrintStream(baos));
-        graph.bfsTraversal(start);
-        System.setOut(oldOut);
-        appendOutput(baos.toString());
+        CityGraph network = graph;
+        runInBackground(() -> formatVisitOrder(network.bfsTraversal(start)), order -> {
+            appendOutput("\n========== BFS TRAVERSAL (Queue) from '" + start + "' ==========");
+            appendOutput(order);
+        });
     }
 
     private void dfsTraversal() {
-        String start = (String) locationCombo1.getSelectedItem();
-        if (start == null) {
+        String start = selectedLocation(locationCombo1);
+        if (start == null || !graph.hasLocation(start)) {
             JOptionPane.showMessageDialog(this, "Please select a starting location.", "Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        appendOutput("\n========== DFS TRAVERSAL (Stack) from '" + start + "' ==========");
-        PrintStream oldOut = System.out;
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        System.setOut(new PrintStream(baos));
-        graph.dfsTraversal(start);
-        System.setOut(oldOut);
-        appendOutput(baos.toString());
+        CityGraph network = graph;
+        runInBackground(() -> formatVisitOrder(network.dfsTraversal(start)), order -> {
+            appendOutput("\n========== DFS TRAVERSAL (Stack) from '" + start + "' ==========");
+            appendOutput(order);
+        });
     }
 
     private void findShortestPath() {
-        String from = (String) locationCombo1.getSelectedItem();
-        String to = (String) locationCombo2.getSelectedItem();
-        if (from == null || to == null) {
+        String from = selectedLocation(locationCombo1);
+        String to = selectedLocation(locationCombo2);
+        if (from == null || to == null || !graph.hasLocation(from) || !graph.hasLocation(to)) {
             JOptionPane.showMessageDialog(this, "Please select both From and To locations.", "Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        if (from.equals(to)) {
+        if (from.equalsIgnoreCase(to)) {
             JOptionPane.showMessageDialog(this, "Source and destination must be different.", "Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
         appendOutput("\n========== SHORTEST PATH: " + from + " -> " + to + " ==========");
-        PrintStream oldOut = System.out;
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        System.setOut(new PrintStream(baos));
-        graph.findShortestPath(from, to);
-        System.setOut(oldOut);
-        appendOutput(baos.toString());
+        RoutePath route = graph.findShortestPath(from, to);
+        if (route == null) {
+            appendOutput("  No path found between " + from + " and " + to);
+            return;
+        }
+        appendOutput("  Route: " + String.join(" -> ", route.getLocations()));
+        appendOutput("  Total Distance: " + route.getTotalDistance() + " km");
+    }
+
+    /** Number of alternatives listed by the Alternative Routes button */
+    private static final int ALTERNATIVE_ROUTES = 3;
+
+    private void findAlternativeRoutes() {
+        String from = selectedLocation(locationCombo1);
+        String to = selectedLocation(locationCombo2);
+        if (from == null || to == null || !graph.hasLocation(from) || !graph.hasLocation(to)) {
+            JOptionPane.showMessageDialog(this, "Please select both From and To locations.", "Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (from.equalsIgnoreCase(to)) {
+            JOptionPane.showMessageDialog(this, "Source and destination must be different.", "Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        appendOutput("\n========== TOP " + ALTERNATIVE_ROUTES + " ROUTES: " + from + " -> " + to + " ==========");
+        java.util.List<RoutePath> routes = graph.findKShortestPaths(from, to, ALTERNATIVE_ROUTES);
+        if (routes.isEmpty()) {
+            appendOutput("  No path found between " + from + " and " + to);
+            return;
+        }
+        for (int i = 0; i < routes.size(); i++) {
+            RoutePath route = routes.get(i);
+            appendOutput("  " + (i + 1) + ". " + String.join(" -> ", route.getLocations())
+                    + " (" + route.getTotalDistance() + " km)");
+        }
+    }
+
+    /**
+     * Formats a traversal visit order as numbered steps, listing only the
+     * first steps of a large network.
+     */
+    private String formatVisitOrder(String[] order) {
+        StringBuilder sb = new StringBuilder();
+        int shown = Math.min(order.length, MAX_SUGGESTIONS);
+        for (int i = 0; i < shown; i++) {
+            sb.append("  Step ").append(i + 1).append(": Visited -> ").append(order[i]).append('\n');
+        }
+        if (shown < order.length) {
+            sb.append(String.format("  ... and %,d more locations", order.length - shown)).append('\n');
+        }
+        sb.append("  Total locations visited: ").append(order.length);
+        return sb.toString();
     }
 
     private void appendOutput(String text) {
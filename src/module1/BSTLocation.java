@@ -1,32 +1,58 @@
 package module1;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * Binary Search Tree (BST) for storing location data.
  * Locations are stored in the BST before being mapped into the graph.
  * Each node holds a location name (String), ordered alphabetically.
+ * Names are canonicalised once per operation (see {@link LocationDictionary#canonical})
+ * so the descent compares plain Strings instead of case-folding at every node.
+ *
+ * The tree is kept height-balanced (AVL), so sorted input such as an
+ * alphabetical import file cannot degrade it into a linked list.
+ * Insert, delete and search are iterative and run in O(log n).
+ * Each node also stores the size of its subtree, which supports ordered
+ * queries for autocomplete: prefix/range iteration in O(log n + k) and
+ * rank/select in O(log n).
  * 
  * @author 22UG1-0938 E.K.B.H.JAYARATHNA
  */
 public class BSTLocation {
 
+    /** Upper bound on AVL height for any int-sized tree (1.44 * log2(2^31)) */
+    private static final int MAX_HEIGHT = 48;
+
     // ==================== Inner Node Class ====================
     /**
      * Represents a single node in the BST.
      */
     private class BSTNode {
-        String locationName;
+        String key;           // canonical (case-folded) name used for ordering
+        String locationName;  // original spelling used for display
         BSTNode left, right;
+        int height;           // height of the subtree rooted here (leaf = 1)
+        int count;            // number of nodes in the subtree rooted here
 
-        BSTNode(String locationName) {
+        BSTNode(String key, String locationName) {
+            this.key = key;
             this.locationName = locationName;
             this.left = null;
             this.right = null;
+            this.height = 1;
+            this.count = 1;
         }
     }
 
     // ==================== Fields ====================
     private BSTNode root;
     private int size;
+    /** Incremented on every structural change so open iterators can detect it */
+    private int modCount;
 
     // ==================== Constructor ====================
     public BSTLocation() {
@@ -37,28 +63,109 @@ public class BSTLocation {
     // ==================== Insert ====================
     /**
      * Inserts a new location into the BST.
+     * A single descent both detects duplicates and finds the insertion point;
+     * the path is then rebalanced bottom-up.
      * @param location the location name to insert
      * @return true if inserted, false if already exists
      */
     public boolean insert(String location) {
-        if (contains(location)) {
-            return false; // Duplicate not allowed
+        String key = LocationDictionary.canonical(location);
+        if (root == null) {
+            root = new BSTNode(key, location);
+            size++;
+            modCount++;
+            return true;
+        }
+
+        BSTNode[] path = new BSTNode[MAX_HEIGHT];
+        int depth = 0;
+        BSTNode node = root;
+        while (true) {
+            int cmp = key.compareTo(node.key);
+            if (cmp == 0) {
+                return false; // Duplicate not allowed
+            }
+            path[depth++] = node;
+            BSTNode next = cmp < 0 ? node.left : node.right;
+            if (next == null) {
+                if (cmp < 0) {
+                    node.left = new BSTNode(key, location);
+                } else {
+                    node.right = new BSTNode(key, location);
+                }
+                break;
+            }
+            node = next;
         }
-        root = insertRec(root, location);
         size++;
+        modCount++;
+        rebalancePath(path, depth);
         return true;
     }
 
-    private BSTNode insertRec(BSTNode node, String location) {
-        if (node == null) {
-            return new BSTNode(location);
+    // ==================== Bulk Load ====================
+    /**
+     * Inserts a batch of locations at once.
+     * The batch is canonicalised, sorted and de-duplicated once (already sorted
+     * input sorts in linear time), merged with the existing locations, and the
+     * tree is rebuilt perfectly balanced from the sorted run in O(n).
+     * Existing locations keep their spelling; the first spelling in the batch
+     * wins among duplicates.
+     * @param locations the location names to insert
+     * @return number of locations actually added
+     */
+    public int bulkLoad(Collection<String> locations) {
+        BSTNode[] batch = new BSTNode[locations.size()];
+        int count = 0;
+        for (String location : locations) {
+            batch[count++] = new BSTNode(LocationDictionary.canonical(location), location);
         }
-        int cmp = location.compareToIgnoreCase(node.locationName);
-        if (cmp < 0) {
-            node.left = insertRec(node.left, location);
-        } else if (cmp > 0) {
-            node.right = insertRec(node.right, location);
+        // Stable sort keeps the first spelling of each duplicate in front
+        Arrays.sort(batch, (x, y) -> x.key.compareTo(y.key));
+
+        BSTNode[] existing = new BSTNode[size];
+        collectInOrder(root, existing, new int[]{0});
+
+        // Merge existing nodes and the sorted batch, dropping duplicates
+        BSTNode[] merged = new BSTNode[size + count];
+        int i = 0, j = 0, m = 0;
+        while (i < existing.length || j < count) {
+            BSTNode next;
+            if (j == count || (i < existing.length && existing[i].key.compareTo(batch[j].key) <= 0)) {
+                next = existing[i++];
+            } else {
+                next = batch[j++];
+            }
+            if (m == 0 || !merged[m - 1].key.equals(next.key)) {
+                merged[m++] = next;
+            }
         }
+
+        int added = m - size;
+        root = buildBalanced(merged, 0, m - 1);
+        size = m;
+        modCount++;
+        return added;
+    }
+
+    private void collectInOrder(BSTNode node, BSTNode[] result, int[] index) {
+        if (node == null) return;
+        collectInOrder(node.left, result, index);
+        result[index[0]++] = node;
+        collectInOrder(node.right, result, index);
+    }
+
+    /**
+     * Links sorted nodes into a perfectly balanced subtree.
+     * @return root of the subtree built from nodes[lo..hi]
+     */
+    private BSTNode buildBalanced(BSTNode[] nodes, int lo, int hi) {
+        if (lo > hi) return null;
+        int mid = (lo + hi) >>> 1;
+        BSTNode node = nodes[mid];
+        node.left = buildBalanced(nodes, lo, mid - 1);
+        node.right = buildBalanced(nodes, mid + 1, hi);
+        updateNode(node);
         return node;
     }
 
@@ -69,40 +176,46 @@ public class BSTLocation {
      * @return true if removed, false if not found
      */
     public boolean delete(String location) {
-        if (!contains(location)) {
-            return false;
+        String key = LocationDictionary.canonical(location);
+        BSTNode[] path = new BSTNode[MAX_HEIGHT];
+        int depth = 0;
+        BSTNode node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.key);
+            if (cmp == 0) break;
+            path[depth++] = node;
+            node = cmp < 0 ? node.left : node.right;
         }
-        root = deleteRec(root, location);
-        size--;
-        return true;
-    }
-
-    private BSTNode deleteRec(BSTNode node, String location) {
         if (node == null) {
-            return null;
+            return false;
         }
-        int cmp = location.compareToIgnoreCase(node.locationName);
-        if (cmp < 0) {
-            node.left = deleteRec(node.left, location);
-        } else if (cmp > 0) {
-            node.right = deleteRec(node.right, location);
-        } else {
-            // Node found - handle three cases
-            if (node.left == null) return node.right;
-            if (node.right == null) return node.left;
-            // Two children: find in-order successor
-            BSTNode successor = findMin(node.right);
+
+        if (node.left != null && node.right != null) {
+            // Two children: copy the in-order successor here, then unlink the successor
+            path[depth++] = node;
+            BSTNode successor = node.right;
+            while (successor.left != null) {
+                path[depth++] = successor;
+                successor = successor.left;
+            }
+            node.key = successor.key;
             node.locationName = successor.locationName;
-            node.right = deleteRec(node.right, successor.locationName);
+            node = successor;
         }
-        return node;
-    }
 
-    private BSTNode findMin(BSTNode node) {
-        while (node.left != null) {
-            node = node.left;
+        // node now has at most one child
+        BSTNode child = node.left != null ? node.left : node.right;
+        if (depth == 0) {
+            root = child;
+        } else if (path[depth - 1].left == node) {
+            path[depth - 1].left = child;
+        } else {
+            path[depth - 1].right = child;
         }
-        return node;
+        size--;
+        modCount++;
+        rebalancePath(path, depth);
+        return true;
     }
 
     // ==================== Search ====================
@@ -112,15 +225,220 @@ public class BSTLocation {
      * @return true if found, false otherwise
      */
     public boolean contains(String location) {
-        return containsRec(root, location);
+        String key = LocationDictionary.canonical(location);
+        BSTNode node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.key);
+            if (cmp == 0) return true;
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    // ==================== Ordered Queries ====================
+
+    /**
+     * Returns the locations starting with a prefix (case-insensitive), in
+     * sorted order. Results are produced lazily while iterating, so taking
+     * the first k matches costs O(log n + k).
+     * @param prefix the name prefix ("" matches every location)
+     * @return iterable over matching location names
+     */
+    public Iterable<String> prefix(String prefix) {
+        String key = LocationDictionary.canonical(prefix);
+        return () -> new RangeIterator(key, null, key);
     }
 
-    private boolean containsRec(BSTNode node, String location) {
-        if (node == null) return false;
-        int cmp = location.compareToIgnoreCase(node.locationName);
-        if (cmp == 0) return true;
-        if (cmp < 0) return containsRec(node.left, location);
-        return containsRec(node.right, location);
+    /**
+     * Returns the locations between two names (inclusive, case-insensitive),
+     * in sorted order. Results are produced lazily while iterating.
+     * @param from lower bound
+     * @param to upper bound
+     * @return iterable over location names in [from, to]
+     */
+    public Iterable<String> range(String from, String to) {
+        String low = LocationDictionary.canonical(from);
+        String high = LocationDictionary.canonical(to);
+        return () -> new RangeIterator(low, high, null);
+    }
+
+    /**
+     * Gets the number of stored locations that sort before a name.
+     * The name itself does not need to be stored.
+     * @param location the location name
+     * @return rank of the name (0-based)
+     */
+    public int rank(String location) {
+        String key = LocationDictionary.canonical(location);
+        int rank = 0;
+        BSTNode node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.key);
+            if (cmp <= 0) {
+                if (cmp == 0) return rank + count(node.left);
+                node = node.left;
+            } else {
+                rank += count(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Gets the location at a position in sorted order.
+     * @param index 0-based position
+     * @return the location name, or null if index is out of range
+     */
+    public String select(int index) {
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        BSTNode node = root;
+        while (true) {
+            int leftCount = count(node.left);
+            if (index < leftCount) {
+                node = node.left;
+            } else if (index == leftCount) {
+                return node.locationName;
+            } else {
+                index -= leftCount + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * In-order iterator over keys in [low, high] (or starting with a prefix),
+     * using an explicit stack of pending ancestors.
+     */
+    private class RangeIterator implements Iterator<String> {
+        private final BSTNode[] stack = new BSTNode[MAX_HEIGHT];
+        private int top;
+        private final String high;      // inclusive upper bound, or null
+        private final String prefix;    // required key prefix, or null
+        private final int expectedModCount = modCount;
+        private BSTNode next;
+
+        RangeIterator(String low, String high, String prefix) {
+            this.high = high;
+            this.prefix = prefix;
+            // Push the path of nodes with key >= low; the top is the first match
+            BSTNode node = root;
+            while (node != null) {
+                if (node.key.compareTo(low) >= 0) {
+                    stack[top++] = node;
+                    node = node.left;
+                } else {
+                    node = node.right;
+                }
+            }
+            advance();
+        }
+
+        private void advance() {
+            if (top == 0) {
+                next = null;
+                return;
+            }
+            BSTNode node = stack[--top];
+            for (BSTNode child = node.right; child != null; child = child.left) {
+                stack[top++] = child;
+            }
+            boolean inRange = (high == null || node.key.compareTo(high) <= 0)
+                    && (prefix == null || node.key.startsWith(prefix));
+            next = inRange ? node : null;
+            if (!inRange) top = 0; // Keys only grow from here, so stop early
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            String name = next.locationName;
+            advance();
+            return name;
+        }
+    }
+
+    // ==================== AVL Balancing ====================
+
+    /**
+     * Updates heights and rotates where needed along a root-to-leaf path,
+     * working from the deepest node back up to the root.
+     * @param path nodes from the root downwards
+     * @param depth number of nodes on the path
+     */
+    private void rebalancePath(BSTNode[] path, int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            BSTNode node = path[i];
+            BSTNode balanced = rebalance(node);
+            if (i == 0) {
+                root = balanced;
+            } else if (path[i - 1].left == node) {
+                path[i - 1].left = balanced;
+            } else {
+                path[i - 1].right = balanced;
+            }
+        }
+    }
+
+    private BSTNode rebalance(BSTNode node) {
+        updateNode(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private BSTNode rotateRight(BSTNode node) {
+        BSTNode pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        updateNode(node);
+        updateNode(pivot);
+        return pivot;
+    }
+
+    private BSTNode rotateLeft(BSTNode node) {
+        BSTNode pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        updateNode(node);
+        updateNode(pivot);
+        return pivot;
+    }
+
+    private void updateNode(BSTNode node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.count = 1 + count(node.left) + count(node.right);
+    }
+
+    private int count(BSTNode node) {
+        return node == null ? 0 : node.count;
+    }
+
+    private int height(BSTNode node) {
+        return node == null ? 0 : node.height;
     }
 
     // ==================== In-Order Traversal ====================
@@ -194,4 +512,12 @@ public class BSTLocation {
     public boolean isEmpty() {
         return size == 0;
     }
+
+    /**
+     * Gets the height of the tree (0 when empty).
+     * @return tree height
+     */
+    public int getHeight() {
+        return height(root);
+    }
 }
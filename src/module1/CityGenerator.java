@@ -0,0 +1,359 @@
+package module1;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Seeded generator of synthetic road networks, for trying the route
+ * planner at city and country sizes (10^3 to 10^7 roads).
+ *
+ * Three shapes:
+ * <ul>
+ *   <li>{@link #GRID} - a street grid; every location joins its four
+ *       neighbours and about half of its diagonal neighbours. Always connected.</li>
+ *   <li>{@link #GEOMETRIC} - random geometric graph: locations scattered at
+ *       random, roads between every pair closer than a radius chosen for an
+ *       average of six roads per location. May leave a few isolated pockets.</li>
+ *   <li>{@link #SCALE_FREE} - preferential attachment (Barabasi-Albert, three
+ *       roads per new location): a few hub towns with very many roads, like
+ *       a highway network. Always connected.</li>
+ * </ul>
+ * Locations are spread over the island (or a larger area at the same
+ * density once the island gets crowded), and every road is 2-20% longer
+ * than the straight line, so A* stays exact.
+ *
+ * The same shape, size and seed always give the same network. Roads are
+ * generated into flat arrays and turned into CSR form, then loaded into a
+ * graph in one pass without per-road lookups.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class CityGenerator {
+
+    /** Network shapes */
+    public static final int GRID = 0;
+    public static final int GEOMETRIC = 1;
+    public static final int SCALE_FREE = 2;
+    private static final String[] SHAPE_NAMES = {"Grid", "Random geometric", "Scale-free"};
+
+    /** Bounding box of the sample network (Sri Lanka) */
+    private static final double MIN_LAT = 5.95, MAX_LAT = 9.80;
+    private static final double MIN_LON = 79.70, MAX_LON = 81.85;
+    /** Smallest spacing between neighbouring locations (about 2 km) */
+    private static final double MIN_CELL_DEGREES = 0.02;
+    /** Average roads per location in the random geometric graph */
+    private static final double GEOMETRIC_DEGREE = 6.0;
+    /** Roads added with each new location in the scale-free graph */
+    private static final int ATTACHMENTS = 3;
+
+    private CityGenerator() {
+    }
+
+    // ==================== Generating ====================
+
+    /**
+     * Generates an editable road network.
+     * @param shape {@link #GRID}, {@link #GEOMETRIC} or {@link #SCALE_FREE}
+     * @param locations number of locations
+     * @param seed random seed
+     * @param bst location tree to add the names to, or null
+     * @return the new graph
+     * @throws IllegalArgumentException if the shape is unknown or locations is negative
+     */
+    public static CityGraph generate(int shape, int locations, long seed, BSTLocation bst) {
+        Network network = build(shape, locations, seed);
+        CityGraph graph = new CityGraph();
+        graph.loadCsr(network.names, network.offsets, network.targets, network.weights,
+                network.latitudes, network.longitudes);
+        if (bst != null) {
+            bst.bulkLoad(Arrays.asList(network.names));
+        }
+        return graph;
+    }
+
+    /**
+     * Generates a read-only network straight into CSR form. Uses a fraction
+     * of the memory of {@link #generate}, so it reaches the largest sizes.
+     * @param shape {@link #GRID}, {@link #GEOMETRIC} or {@link #SCALE_FREE}
+     * @param locations number of locations
+     * @param seed random seed
+     * @return the new graph
+     * @throws IllegalArgumentException if the shape is unknown or locations is negative
+     */
+    public static FrozenCityGraph generateFrozen(int shape, int locations, long seed) {
+        Network network = build(shape, locations, seed);
+        return new FrozenCityGraph(network.names, network.offsets, network.targets, network.weights);
+    }
+
+    /**
+     * Gets the display name of a shape.
+     * @param shape shape constant
+     * @return e.g. "Scale-free"
+     */
+    public static String shapeName(int shape) {
+        checkShape(shape);
+        return SHAPE_NAMES[shape];
+    }
+
+    /**
+     * Gets the name the grid generator gives a location.
+     * @param row grid row (0 = south)
+     * @param col grid column (0 = west)
+     * @return location name
+     */
+    public static String gridName(int row, int col) {
+        return "Grid R" + row + " C" + col;
+    }
+
+    private static void checkShape(int shape) {
+        if (shape < 0 || shape >= SHAPE_NAMES.length) {
+            throw new IllegalArgumentException("Unknown network shape " + shape);
+        }
+    }
+
+    // ==================== Shapes ====================
+
+    /**
+     * Generated locations and roads: names, coordinates and an edge list of
+     * (from, to, distance) triples, converted to CSR at the end.
+     */
+    private static final class Network {
+        String[] names;
+        double[] latitudes;
+        double[] longitudes;
+        int[] edges;
+        int edgeCount;
+        int[] offsets;
+        int[] targets;
+        int[] weights;
+
+        Network(int locations, int expectedRoads) {
+            names = new String[locations];
+            latitudes = new double[locations];
+            longitudes = new double[locations];
+            edges = new int[3 * Math.max(16, expectedRoads)];
+        }
+
+        /**
+         * Adds a road whose length follows the straight line between its ends.
+         */
+        void addRoad(int u, int v, Random random) {
+            double straight = CityGraph.haversineKm(latitudes[u], longitudes[u], latitudes[v], longitudes[v]);
+            int distance = (int) Math.ceil(straight * (1.02 + 0.18 * random.nextDouble()));
+            if (3 * edgeCount + 3 > edges.length) {
+                edges = Arrays.copyOf(edges, edges.length * 2);
+            }
+            edges[3 * edgeCount] = u;
+            edges[3 * edgeCount + 1] = v;
+            edges[3 * edgeCount + 2] = Math.max(1, distance);
+            edgeCount++;
+        }
+
+        /**
+         * Converts the edge list to CSR (both directions of every road) and
+         * releases it.
+         */
+        void toCsr() {
+            int n = names.length;
+            offsets = new int[n + 1];
+            for (int e = 0; e < edgeCount; e++) {
+                offsets[edges[3 * e] + 1]++;
+                offsets[edges[3 * e + 1] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            targets = new int[2 * edgeCount];
+            weights = new int[2 * edgeCount];
+            int[] next = Arrays.copyOf(offsets, n);
+            for (int e = 0; e < edgeCount; e++) {
+                int u = edges[3 * e], v = edges[3 * e + 1], w = edges[3 * e + 2];
+                targets[next[u]] = v;
+                weights[next[u]++] = w;
+                targets[next[v]] = u;
+                weights[next[v]++] = w;
+            }
+            edges = null;
+        }
+    }
+
+    private static Network build(int shape, int locations, long seed) {
+        checkShape(shape);
+        if (locations < 0) {
+            throw new IllegalArgumentException("Location count must not be negative");
+        }
+        Random random = new Random(seed);
+        Network network;
+        switch (shape) {
+            case GRID: network = grid(locations, random); break;
+            case GEOMETRIC: network = geometric(locations, random); break;
+            default: network = scaleFree(locations, random); break;
+        }
+        network.toCsr();
+        return network;
+    }
+
+    /**
+     * Gets the {latitude, longitude} span used for a network, growing past
+     * the island once locations would be closer than the minimum spacing.
+     */
+    private static double[] span(int locations) {
+        double side = Math.ceil(Math.sqrt(locations));
+        return new double[]{Math.max(MAX_LAT - MIN_LAT, side * MIN_CELL_DEGREES),
+                Math.max(MAX_LON - MIN_LON, side * MIN_CELL_DEGREES)};
+    }
+
+    /**
+     * Street grid with cols = ceil(sqrt(n)) columns, filled row by row
+     * (the last row may be partial). Coordinates are jittered inside each cell.
+     */
+    private static Network grid(int n, Random random) {
+        int cols = Math.max(1, (int) Math.ceil(Math.sqrt(n)));
+        int rows = (n + cols - 1) / cols;
+        Network network = new Network(n, 3 * n);
+        double[] span = span(n);
+        double cellLat = span[0] / Math.max(1, rows);
+        double cellLon = span[1] / cols;
+        for (int id = 0; id < n; id++) {
+            int r = id / cols, c = id % cols;
+            network.names[id] = gridName(r, c);
+            network.latitudes[id] = MIN_LAT + (r + 0.2 + 0.6 * random.nextDouble()) * cellLat;
+            network.longitudes[id] = MIN_LON + (c + 0.2 + 0.6 * random.nextDouble()) * cellLon;
+        }
+        for (int id = 0; id < n; id++) {
+            int r = id / cols, c = id % cols;
+            boolean up = id + cols < n;
+            if (c + 1 < cols && id + 1 < n) {
+                network.addRoad(id, id + 1, random);
+            }
+            if (up) {
+                network.addRoad(id, id + cols, random);
+            }
+            if (up && c + 1 < cols && id + cols + 1 < n && random.nextBoolean()) {
+                network.addRoad(id, id + cols + 1, random);
+            }
+            if (up && c > 0 && random.nextBoolean()) {
+                network.addRoad(id, id + cols - 1, random);
+            }
+        }
+        return network;
+    }
+
+    /**
+     * Random geometric graph. Locations are bucketed into square cells one
+     * radius wide, so each location is only compared with the locations in
+     * its own and neighbouring cells: O(n) expected instead of O(n^2).
+     * Each pair is tested once, from its lower id.
+     */
+    private static Network geometric(int n, Random random) {
+        Network network = new Network(n, (int) Math.min(Integer.MAX_VALUE / 4, (long) (n * GEOMETRIC_DEGREE / 2)));
+        double[] span = span(n);
+        double[] lats = new double[n];
+        double[] lons = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = MIN_LAT + random.nextDouble() * span[0];
+            lons[i] = MIN_LON + random.nextDouble() * span[1];
+        }
+        // Expected neighbours within radius r: n * pi * r^2 / area
+        double radius = n < 2 ? 1 : Math.sqrt(GEOMETRIC_DEGREE * span[0] * span[1] / (Math.PI * n));
+        int cellRows = Math.max(1, (int) (span[0] / radius));
+        int cellCols = Math.max(1, (int) (span[1] / radius));
+        int cells = cellRows * cellCols;
+
+        // Counting sort by cell; ids are handed out in cell order, so nearby
+        // locations get nearby ids (cache-friendly here and in the final CSR)
+        int[] cellStart = new int[cells + 1];
+        int[] cellOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            int row = Math.min(cellRows - 1, (int) ((lats[i] - MIN_LAT) / radius));
+            int col = Math.min(cellCols - 1, (int) ((lons[i] - MIN_LON) / radius));
+            cellOf[i] = row * cellCols + col;
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        int[] next = Arrays.copyOf(cellStart, cells);
+        for (int i = 0; i < n; i++) {
+            int id = next[cellOf[i]]++;
+            network.latitudes[id] = lats[i];
+            network.longitudes[id] = lons[i];
+        }
+        lats = null;
+        lons = null;
+        cellOf = null;
+        for (int id = 0; id < n; id++) {
+            network.names[id] = "Junction " + id;
+        }
+
+        double radiusSquared = radius * radius;
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cell / cellCols, col = cell % cellCols;
+            for (int u = cellStart[cell]; u < cellStart[cell + 1]; u++) {
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        int r = row + dr, c = col + dc;
+                        if (r < 0 || r >= cellRows || c < 0 || c >= cellCols) {
+                            continue;
+                        }
+                        int other = r * cellCols + c;
+                        for (int v = Math.max(u + 1, cellStart[other]); v < cellStart[other + 1]; v++) {
+                            double dLat = network.latitudes[u] - network.latitudes[v];
+                            double dLon = network.longitudes[u] - network.longitudes[v];
+                            if (dLat * dLat + dLon * dLon <= radiusSquared) {
+                                network.addRoad(u, v, random);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return network;
+    }
+
+    /**
+     * Barabasi-Albert preferential attachment. Every road end is recorded in
+     * one array, so picking a random entry picks a location with probability
+     * proportional to its number of roads.
+     */
+    private static Network scaleFree(int n, Random random) {
+        Network network = new Network(n, ATTACHMENTS * n);
+        double[] span = span(n);
+        for (int id = 0; id < n; id++) {
+            network.names[id] = "Town " + id;
+            network.latitudes[id] = MIN_LAT + random.nextDouble() * span[0];
+            network.longitudes[id] = MIN_LON + random.nextDouble() * span[1];
+        }
+        int seedSize = Math.min(n, ATTACHMENTS + 1);
+        int[] ends = new int[2 * (seedSize * seedSize + ATTACHMENTS * Math.max(0, n - seedSize))];
+        int endCount = 0;
+        // Start from a small fully connected core
+        for (int u = 0; u < seedSize; u++) {
+            for (int v = u + 1; v < seedSize; v++) {
+                network.addRoad(u, v, random);
+                ends[endCount++] = u;
+                ends[endCount++] = v;
+            }
+        }
+        int[] chosen = new int[ATTACHMENTS];
+        for (int u = seedSize; u < n; u++) {
+            int picked = 0;
+            while (picked < ATTACHMENTS) {
+                int v = ends[random.nextInt(endCount)];
+                boolean duplicate = false;
+                for (int i = 0; i < picked; i++) {
+                    duplicate |= chosen[i] == v;
+                }
+                if (!duplicate) {
+                    chosen[picked++] = v;
+                }
+            }
+            for (int i = 0; i < ATTACHMENTS; i++) {
+                network.addRoad(u, chosen[i], random);
+                ends[endCount++] = u;
+                ends[endCount++] = chosen[i];
+            }
+        }
+        return network;
+    }
+}
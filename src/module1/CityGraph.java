@@ -5,7 +5,15 @@ import java.util.*;
 /**
  * Graph representation for the Smart City Route Planner.
  * Uses an adjacency list to represent locations (vertices) and roads (edges).
+ * Each location keeps its roads in an insertion-ordered map keyed by the
+ * neighbour's id, so checking, adding or removing one road is O(1) and
+ * removing a location only touches its own roads.
+ * Locations may optionally carry latitude/longitude, which lets route
+ * queries use A* search with a straight-line distance heuristic.
  * Supports weighted edges (road distances).
+ * Queries only read the graph (the route cache locks itself), so they may
+ * run on several threads at once while no thread adds or removes
+ * locations or roads; travel times may be changed meanwhile.
  * 
  * @author 22UG1-0938 E.K.B.H.JAYARATHNA
  */
@@ -13,62 +21,229 @@ public class CityGraph {
 
     // ==================== Inner Edge Class ====================
     /**
-     * Represents a road (edge) between two locations with a distance (weight).
+     * Represents a road (edge) to another location with a distance (weight).
+     * The destination is stored as a location id from the graph's dictionary.
      */
     public static class Edge {
-        String destination;
+        int target;
         int distance;
+        /** Travel-time settings, shared with the reverse edge; null = default speed */
+        volatile RoadTraffic traffic;
 
-        public Edge(String destination, int distance) {
-            this.destination = destination;
+        public Edge(int target, int distance) {
+            this.target = target;
             this.distance = distance;
         }
 
         @Override
         public String toString() {
-            return destination + " (distance: " + distance + " km)";
+            return "#" + target + " (distance: " + distance + " km)";
         }
     }
 
+    /**
+     * Time-of-day profile and live override of one road. Both directions of
+     * the road point to the same instance. Fields are volatile so a traffic
+     * feed can replace them with single writes while route queries read them
+     * without locking.
+     */
+    static final class RoadTraffic {
+        volatile WeightProfile profile;
+        /** Live travel time in minutes from a feed; NaN when not set */
+        volatile double liveMinutes = Double.NaN;
+    }
+
     // ==================== Fields ====================
-    /** Adjacency list: maps each location to its list of connected edges */
-    private Map<String, List<Edge>> adjacencyList;
+    /** Maps location names to dense ids (case-insensitive) */
+    private LocationDictionary dictionary;
+    /** Adjacency list indexed by location id: neighbour id -> edge (null for a free id) */
+    private ArrayList<Map<Integer, Edge>> adjacencyList;
+    /** Number of undirected roads, maintained on every road change */
+    private int roadCount;
+    /** degreeHistogram[d] = number of locations with exactly d roads */
+    private int[] degreeHistogram;
+    /** Largest degree with a non-zero histogram entry */
+    private int maxDegree;
+    /** Latitude/longitude in degrees by location id (NaN when unknown) */
+    private double[] latitudes, longitudes;
+    /** Incremented on every location or road change; lets derived structures detect staleness */
+    private long version;
+    /** Recent findShortestPath answers, invalidated by the mutators below */
+    private final RouteCache routeCache;
+    /**
+     * Connected components over union-find elements. Kept exact by the
+     * mutators (unions as roads are added, splits found after removals), so
+     * queries only read it
+     */
+    private UnionFind components;
+    /** componentElement[id] = the location's element in components */
+    private int[] componentElement;
+    /** Elements handed out so far; removed and moved locations leave theirs behind as links */
+    private int elementCount;
+    /** Visit marks for the split search: 2 * searchStamp (+ 1 for the second side) */
+    private int[] searchMarks;
+    private int searchStamp;
+    /** Write-ahead journal that records every change, or null when not journaled */
+    private MutationJournal journal;
+
+    /** Speed assumed for roads without a profile or live travel time */
+    public static final double DEFAULT_SPEED_KMH = 50.0;
+
+    /** Mean Earth radius used by the haversine formula */
+    private static final double EARTH_RADIUS_KM = 6371.0088;
 
     // ==================== Constructor ====================
     public CityGraph() {
-        adjacencyList = new LinkedHashMap<>();
+        dictionary = new LocationDictionary();
+        adjacencyList = new ArrayList<>();
+        degreeHistogram = new int[8];
+        latitudes = new double[0];
+        longitudes = new double[0];
+        routeCache = new RouteCache(RouteCache.DEFAULT_CAPACITY);
+        components = new UnionFind(8);
+        componentElement = new int[8];
+        searchMarks = new int[0];
     }
 
     // ==================== Location (Vertex) Operations ====================
 
     /**
      * Adds a new location (vertex) to the graph.
+     * Names are case-insensitive: "colombo" and "Colombo" are the same location.
      * @param location the location name
      * @return true if added, false if already exists
      */
     public boolean addLocation(String location) {
-        if (adjacencyList.containsKey(location)) {
+        int id = dictionary.add(location);
+        if (id < 0) {
+            return false;
+        }
+        if (id == adjacencyList.size()) {
+            adjacencyList.add(new LinkedHashMap<>());
+        } else {
+            adjacencyList.set(id, new LinkedHashMap<>());
+        }
+        if (id >= latitudes.length) {
+            int capacity = Math.max(id + 1, latitudes.length * 2);
+            latitudes = growCoordinates(latitudes, capacity);
+            longitudes = growCoordinates(longitudes, capacity);
+        }
+        latitudes[id] = Double.NaN;
+        longitudes[id] = Double.NaN;
+        degreeHistogram[0]++;
+        addComponentElement(id);
+        version++;
+        if (journal != null) {
+            journal.logAddLocation(location);
+        }
+        return true;
+    }
+
+    /**
+     * Adds a new location with geographic coordinates.
+     * @param location the location name
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     * @return true if added, false if already exists
+     */
+    public boolean addLocation(String location, double latitude, double longitude) {
+        if (!addLocation(location)) {
+            return false;
+        }
+        return setCoordinates(location, latitude, longitude);
+    }
+
+    /**
+     * Sets (or replaces) the coordinates of an existing location.
+     * @param location the location name
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     * @return true if set, false if the location is not found
+     */
+    public boolean setCoordinates(String location, double latitude, double longitude) {
+        int id = dictionary.idOf(location);
+        if (id < 0) {
             return false;
         }
-        adjacencyList.put(location, new ArrayList<>());
+        latitudes[id] = latitude;
+        longitudes[id] = longitude;
+        if (journal != null) {
+            journal.logSetCoordinates(dictionary.nameOf(id), latitude, longitude);
+        }
         return true;
     }
 
+    /**
+     * Checks if a location has coordinates.
+     * @param location the location name
+     * @return true if the location exists and has coordinates
+     */
+    public boolean hasCoordinates(String location) {
+        int id = dictionary.idOf(location);
+        return id >= 0 && !Double.isNaN(latitudes[id]);
+    }
+
+    private static double[] growCoordinates(double[] values, int capacity) {
+        int oldLength = values.length;
+        double[] grown = Arrays.copyOf(values, capacity);
+        Arrays.fill(grown, oldLength, capacity, Double.NaN);
+        return grown;
+    }
+
+    /**
+     * Adds a batch of locations to the graph.
+     * Existing names (and duplicates within the batch) are skipped.
+     * @param locations the location names to add
+     * @return number of locations actually added
+     */
+    public int addLocations(Collection<String> locations) {
+        adjacencyList.ensureCapacity(adjacencyList.size() + locations.size());
+        int added = 0;
+        for (String location : locations) {
+            if (addLocation(location)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
     /**
      * Removes a location and all its connected roads from the graph.
+     * Only the location's own roads are touched: O(degree), plus a search
+     * from its former neighbours to keep the component index exact (see
+     * {@link #isReachable(String, String)}).
      * @param location the location name to remove
      * @return true if removed, false if not found
      */
     public boolean removeLocation(String location) {
-        if (!adjacencyList.containsKey(location)) {
+        int id = dictionary.idOf(location);
+        if (id < 0) {
             return false;
         }
-        // Remove all edges pointing to this location from other locations
-        for (Map.Entry<String, List<Edge>> entry : adjacencyList.entrySet()) {
-            entry.getValue().removeIf(edge -> edge.destination.equalsIgnoreCase(location));
+        routeCache.invalidateLocation(id);
+        // Remove the reverse edge from every neighbour
+        Map<Integer, Edge> edges = adjacencyList.get(id);
+        int[] neighbours = new int[edges.size()];
+        int n = 0;
+        for (Edge edge : edges.values()) {
+            neighbours[n++] = edge.target;
+            Map<Integer, Edge> neighbourEdges = adjacencyList.get(edge.target);
+            neighbourEdges.remove(id);
+            degreeChanged(neighbourEdges.size() + 1, neighbourEdges.size());
         }
+        roadCount -= edges.size();
+        degreeHistogram[edges.size()]--;
+        trimMaxDegree();
         // Remove the location itself
-        adjacencyList.remove(location);
+        String name = dictionary.nameOf(id);
+        adjacencyList.set(id, null);
+        dictionary.remove(id);
+        components.detach(componentElement[id]);
+        separateComponents(neighbours);
+        version++;
+        if (journal != null) {
+            journal.logRemoveLocation(name);
+        }
         return true;
     }
 
@@ -78,7 +253,25 @@ public class CityGraph {
      * @return true if exists
      */
     public boolean hasLocation(String location) {
-        return adjacencyList.containsKey(location);
+        return dictionary.idOf(location) >= 0;
+    }
+
+    /**
+     * Gets the id of a location.
+     * @param location the location name
+     * @return location id, or -1 if not found
+     */
+    public int idOf(String location) {
+        return dictionary.idOf(location);
+    }
+
+    /**
+     * Gets the display name of a location id.
+     * @param id location id
+     * @return location name, or null if the id is not in use
+     */
+    public String nameOf(int id) {
+        return dictionary.nameOf(id);
     }
 
     // ==================== Road (Edge) Operations ====================
@@ -91,21 +284,39 @@ public class CityGraph {
      * @return true if added, false if locations don't exist or road already exists
      */
     public boolean addRoad(String from, String to, int distance) {
-        if (!adjacencyList.containsKey(from) || !adjacencyList.containsKey(to)) {
+        int u = dictionary.idOf(from);
+        int v = dictionary.idOf(to);
+        if (u < 0 || v < 0) {
             return false;
         }
-        if (from.equalsIgnoreCase(to)) {
+        return addRoad(u, v, distance);
+    }
+
+    /**
+     * Adds a road between two location ids; used by bulk loaders that have
+     * already resolved the names.
+     * @return true if added, false for a self-loop or an existing road
+     */
+    boolean addRoad(int u, int v, int distance) {
+        if (u == v) {
             return false; // No self-loops
         }
         // Check if road already exists
-        for (Edge e : adjacencyList.get(from)) {
-            if (e.destination.equalsIgnoreCase(to)) {
-                return false;
-            }
+        if (adjacencyList.get(u).containsKey(v)) {
+            return false;
         }
         // Add undirected edge (both directions)
-        adjacencyList.get(from).add(new Edge(to, distance));
-        adjacencyList.get(to).add(new Edge(from, distance));
+        adjacencyList.get(u).put(v, new Edge(v, distance));
+        adjacencyList.get(v).put(u, new Edge(u, distance));
+        roadCount++;
+        degreeChanged(adjacencyList.get(u).size() - 1, adjacencyList.get(u).size());
+        degreeChanged(adjacencyList.get(v).size() - 1, adjacencyList.get(v).size());
+        routeCache.invalidateAll();
+        components.union(componentElement[u], componentElement[v]);
+        version++;
+        if (journal != null) {
+            journal.logAddRoad(dictionary.nameOf(u), dictionary.nameOf(v), distance);
+        }
         return true;
     }
 
@@ -116,38 +327,97 @@ public class CityGraph {
      * @return true if removed, false if not found
      */
     public boolean removeRoad(String from, String to) {
-        if (!adjacencyList.containsKey(from) || !adjacencyList.containsKey(to)) {
+        int u = dictionary.idOf(from);
+        int v = dictionary.idOf(to);
+        if (u < 0 || v < 0) {
             return false;
         }
-        boolean removed1 = adjacencyList.get(from).removeIf(e -> e.destination.equalsIgnoreCase(to));
-        boolean removed2 = adjacencyList.get(to).removeIf(e -> e.destination.equalsIgnoreCase(from));
+        boolean removed1 = adjacencyList.get(u).remove(v) != null;
+        boolean removed2 = adjacencyList.get(v).remove(u) != null;
+        if (removed1) {
+            roadCount--;
+            degreeChanged(adjacencyList.get(u).size() + 1, adjacencyList.get(u).size());
+            degreeChanged(adjacencyList.get(v).size() + 1, adjacencyList.get(v).size());
+            routeCache.invalidateRoad(u, v);
+            separateComponents(new int[]{u, v}); // The road may have been the only link
+            version++;
+            if (journal != null) {
+                journal.logRemoveRoad(dictionary.nameOf(u), dictionary.nameOf(v));
+            }
+        }
         return removed1 || removed2;
     }
 
+    /**
+     * Gets the length of the road between two locations.
+     * @param from one end of the road
+     * @param to other end of the road
+     * @return distance in km, or -1 if there is no such road
+     */
+    public int getRoadDistance(String from, String to) {
+        int u = dictionary.idOf(from);
+        int v = dictionary.idOf(to);
+        if (u < 0 || v < 0) {
+            return -1;
+        }
+        Edge edge = adjacencyList.get(u).get(v);
+        return edge == null ? -1 : edge.distance;
+    }
+
+    // ==================== Degree Statistics ====================
+
+    /**
+     * Moves one location between degree histogram buckets and keeps
+     * maxDegree up to date.
+     * @param oldDegree degree before the change
+     * @param newDegree degree after the change
+     */
+    private void degreeChanged(int oldDegree, int newDegree) {
+        if (newDegree >= degreeHistogram.length) {
+            degreeHistogram = Arrays.copyOf(degreeHistogram, Math.max(newDegree + 1, degreeHistogram.length * 2));
+        }
+        degreeHistogram[oldDegree]--;
+        degreeHistogram[newDegree]++;
+        if (newDegree > maxDegree) {
+            maxDegree = newDegree;
+        }
+        trimMaxDegree();
+    }
+
+    /**
+     * Lowers maxDegree past empty histogram buckets.
+     * Amortised O(1): maxDegree only drops after edges were removed.
+     */
+    private void trimMaxDegree() {
+        while (maxDegree > 0 && degreeHistogram[maxDegree] == 0) {
+            maxDegree--;
+        }
+    }
+
     // ==================== Display Operations ====================
 
     /**
      * Displays all locations and their connections.
      */
     public void displayAllConnections() {
-        if (adjacencyList.isEmpty()) {
+        if (dictionary.size() == 0) {
             System.out.println("  (No locations in the graph)");
             return;
         }
         System.out.println("  ╔══════════════════════════════════════════════════════╗");
         System.out.println("  ║          SMART CITY - ALL CONNECTIONS                ║");
         System.out.println("  ╠══════════════════════════════════════════════════════╣");
-        for (Map.Entry<String, List<Edge>> entry : adjacencyList.entrySet()) {
-            String location = entry.getKey();
-            List<Edge> edges = entry.getValue();
-            System.out.printf("  ║  📍 %-48s║%n", location);
+        for (int id = 0; id < adjacencyList.size(); id++) {
+            Map<Integer, Edge> edges = adjacencyList.get(id);
+            if (edges == null) continue;
+            System.out.printf("  ║  📍 %-48s║%n", dictionary.nameOf(id));
             if (edges.isEmpty()) {
                 System.out.printf("  ║     └── %-43s║%n", "(No roads connected)");
             } else {
-                for (int i = 0; i < edges.size(); i++) {
-                    Edge e = edges.get(i);
-                    String prefix = (i == edges.size() - 1) ? "└──" : "├──";
-                    String roadInfo = prefix + " → " + e.destination + " (" + e.distance + " km)";
+                int i = 0;
+                for (Edge e : edges.values()) {
+                    String prefix = (++i == edges.size()) ? "└──" : "├──";
+                    String roadInfo = prefix + " → " + dictionary.nameOf(e.target) + " (" + e.distance + " km)";
                     System.out.printf("  ║     %-48s║%n", roadInfo);
                 }
             }
@@ -160,13 +430,13 @@ public class CityGraph {
      * Displays all locations as a list.
      */
     public void displayLocations() {
-        if (adjacencyList.isEmpty()) {
+        if (dictionary.size() == 0) {
             System.out.println("  (No locations in the graph)");
             return;
         }
         System.out.println("  Current Locations:");
         int i = 1;
-        for (String loc : adjacencyList.keySet()) {
+        for (String loc : getLocations()) {
             System.out.println("    " + i + ". " + loc);
             i++;
         }
@@ -178,158 +448,1082 @@ public class CityGraph {
      * Performs Breadth-First Search (BFS) using a Queue.
      * Lists all reachable locations from the start location.
      * @param start the starting location
+     * @return reachable locations in visit order, or null if start is not found
      */
-    public void bfsTraversal(String start) {
-        if (!adjacencyList.containsKey(start)) {
-            System.out.println("  Error: Location '" + start + "' not found.");
-            return;
-        }
-
-        System.out.println("\n  ═══ BFS Traversal (Using Queue) from '" + start + "' ═══");
-        Set<String> visited = new LinkedHashSet<>();
-        Queue<String> queue = new LinkedList<>(); // Queue for BFS
+    public String[] bfsTraversal(String start) {
+        int source = dictionary.idOf(start);
+        return source < 0 ? null : toNames(bfsOrder(source));
+    }
 
-        queue.add(start);
-        visited.add(start);
+    /**
+     * Performs Breadth-First Search (BFS) over location ids, using an int
+     * array as the queue. Safe to call from several threads at once as long
+     * as the graph is not being modified.
+     * @param source id of the starting location
+     * @return ids of the reachable locations in visit order
+     */
+    public int[] bfsOrder(int source) {
+        boolean[] visited = new boolean[adjacencyList.size()];
+        int[] queue = new int[dictionary.size()]; // Queue for BFS
+        int head = 0, tail = 0;
 
-        int step = 1;
-        while (!queue.isEmpty()) {
-            String current = queue.poll();
-            System.out.println("  Step " + step + ": Visited -> " + current);
-            step++;
+        queue[tail++] = source;
+        visited[source] = true;
 
+        while (head < tail) {
+            int current = queue[head++];
             // Add unvisited neighbors to the queue
-            for (Edge edge : adjacencyList.get(current)) {
-                if (!visited.contains(edge.destination)) {
-                    visited.add(edge.destination);
-                    queue.add(edge.destination);
+            for (Edge edge : adjacencyList.get(current).values()) {
+                if (!visited[edge.target]) {
+                    visited[edge.target] = true;
+                    queue[tail++] = edge.target;
                 }
             }
         }
-        System.out.println("  ═══ BFS Complete. Total locations visited: " + visited.size() + " ═══");
+        return Arrays.copyOf(queue, tail);
     }
 
     /**
      * Performs Depth-First Search (DFS) using a Stack.
      * Lists all reachable locations from the start location.
      * @param start the starting location
+     * @return reachable locations in visit order, or null if start is not found
      */
-    public void dfsTraversal(String start) {
-        if (!adjacencyList.containsKey(start)) {
-            System.out.println("  Error: Location '" + start + "' not found.");
-            return;
-        }
+    public String[] dfsTraversal(String start) {
+        int source = dictionary.idOf(start);
+        return source < 0 ? null : toNames(dfsOrder(source));
+    }
 
-        System.out.println("\n  ═══ DFS Traversal (Using Stack) from '" + start + "' ═══");
-        Set<String> visited = new LinkedHashSet<>();
-        Stack<String> stack = new Stack<>(); // Stack for DFS
+    /**
+     * Performs Depth-First Search (DFS) over location ids, using an int
+     * array as the stack. Safe to call from several threads at once as long
+     * as the graph is not being modified.
+     * @param source id of the starting location
+     * @return ids of the reachable locations in visit order
+     */
+    public int[] dfsOrder(int source) {
+        boolean[] visited = new boolean[adjacencyList.size()];
+        // Each location can be pushed once per incident road, plus the start
+        int[] stack = new int[2 * roadCount + 1]; // Stack for DFS
+        int[] order = new int[dictionary.size()];
+        int[] unvisited = new int[maxDegree];
+        int top = 0, visitedCount = 0;
 
-        stack.push(start);
+        stack[top++] = source;
 
-        int step = 1;
-        while (!stack.isEmpty()) {
-            String current = stack.pop();
-            if (!visited.contains(current)) {
-                visited.add(current);
-                System.out.println("  Step " + step + ": Visited -> " + current);
-                step++;
+        while (top > 0) {
+            int current = stack[--top];
+            if (!visited[current]) {
+                visited[current] = true;
+                order[visitedCount++] = current;
 
                 // Push unvisited neighbors onto the stack (reverse order for consistent traversal)
-                List<Edge> neighbors = adjacencyList.get(current);
-                for (int i = neighbors.size() - 1; i >= 0; i--) {
-                    if (!visited.contains(neighbors.get(i).destination)) {
-                        stack.push(neighbors.get(i).destination);
+                int count = 0;
+                for (Edge edge : adjacencyList.get(current).values()) {
+                    if (!visited[edge.target]) {
+                        unvisited[count++] = edge.target;
                     }
                 }
+                while (count > 0) {
+                    stack[top++] = unvisited[--count];
+                }
             }
         }
-        System.out.println("  ═══ DFS Complete. Total locations visited: " + visited.size() + " ═══");
+        return Arrays.copyOf(order, visitedCount);
+    }
+
+    private String[] toNames(int[] ids) {
+        String[] names = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            names[i] = dictionary.nameOf(ids[i]);
+        }
+        return names;
     }
 
     /**
-     * Finds the shortest path between two locations using BFS (unweighted).
-     * Uses a Queue for traversal.
+     * Finds the shortest (minimum total distance) route between two locations
+     * using Dijkstra's algorithm with an indexed binary heap.
+     * The search stops as soon as the destination is settled.
+     * Repeated queries are answered from the route cache until a change to
+     * the graph affects them (see {@link RouteCache}).
+     * Locations in different components are rejected without searching.
+     * Safe to call from several threads at once as long as the graph is
+     * not being modified.
+     * Time Complexity: O((V + E) log V), O(1) for a cached route
      * @param from source location
      * @param to destination location
+     * @return the shortest route, or null if a location is missing or no route exists
      */
-    public void findShortestPath(String from, String to) {
-        if (!adjacencyList.containsKey(from) || !adjacencyList.containsKey(to)) {
-            System.out.println("  Error: One or both locations not found.");
-            return;
+    public RoutePath findShortestPath(String from, String to) {
+        int source = dictionary.idOf(from);
+        int target = dictionary.idOf(to);
+        if (source < 0 || target < 0) {
+            return null;
         }
+        RouteCache.Entry cached = routeCache.get(source, target);
+        if (cached != null) {
+            return cached.route;
+        }
+        RoutePath route = isReachable(source, target) ? bestFirstSearch(source, target, false) : null;
+        routeCache.put(source, target, route, route == null ? null : idsOf(route));
+        return route;
+    }
+
+    private int[] idsOf(RoutePath route) {
+        List<String> locations = route.getLocations();
+        int[] ids = new int[locations.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = dictionary.idOf(locations.get(i));
+        }
+        return ids;
+    }
 
-        System.out.println("\n  ═══ Finding Shortest Path: " + from + " → " + to + " ═══");
-
-        // BFS to find shortest path
-        Map<String, String> parentMap = new HashMap<>();
-        Queue<String> queue = new LinkedList<>();
-        Set<String> visited = new HashSet<>();
-
-        queue.add(from);
-        visited.add(from);
-        parentMap.put(from, null);
-
-        boolean found = false;
-        while (!queue.isEmpty() && !found) {
-            String current = queue.poll();
-            for (Edge edge : adjacencyList.get(current)) {
-                if (!visited.contains(edge.destination)) {
-                    visited.add(edge.destination);
-                    parentMap.put(edge.destination, current);
-                    queue.add(edge.destination);
-                    if (edge.destination.equals(to)) {
-                        found = true;
-                        break;
+    /**
+     * Finds the shortest route using A* search. The straight-line (haversine)
+     * distance to the destination guides the search towards it, so far fewer
+     * locations are settled than with Dijkstra on long routes.
+     * The result is optimal as long as no road is shorter than the straight
+     * line between its ends. Locations without coordinates get no guidance;
+     * if the destination has none this is the same as Dijkstra.
+     * @param from source location
+     * @param to destination location
+     * @return the shortest route, or null if a location is missing or no route exists
+     */
+    public RoutePath findShortestPathAStar(String from, String to) {
+        int source = dictionary.idOf(from);
+        int target = dictionary.idOf(to);
+        if (source < 0 || target < 0 || !isReachable(source, target)) {
+            return null;
+        }
+        return bestFirstSearch(source, target, !Double.isNaN(latitudes[target]));
+    }
+
+    /**
+     * Shared Dijkstra / A* search. Locations are ordered by distance so far
+     * plus (for A*) the estimated remaining distance. A location is re-queued
+     * whenever a shorter route to it is found, which keeps A* correct even
+     * where only some locations have coordinates.
+     */
+    private RoutePath bestFirstSearch(int source, int target, boolean useHeuristic) {
+        return bestFirstSearch(source, target, useHeuristic, null, null, null);
+    }
+
+    /**
+     * Best-first search that can also skip some locations and roads (used
+     * for the spur searches of Yen's algorithm).
+     * @param remaining exact-or-lower distance to the target per location, used
+     *                  as the A* estimate when given (MAX_VALUE = cannot reach it)
+     * @param excludedLocations locations the route may not pass, or null
+     * @param excludedRoads roads (see roadKey) the route may not use, or null
+     */
+    private RoutePath bestFirstSearch(int source, int target, boolean useHeuristic, long[] remaining,
+                                      boolean[] excludedLocations, Set<Long> excludedRoads) {
+        int n = adjacencyList.size();
+        long[] dist = new long[n];
+        int[] parent = new int[n];
+        Arrays.fill(dist, Long.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+
+        dist[source] = 0;
+        heap.insertOrDecrease(source, 0);
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            settled++;
+            if (current == target) {
+                break; // Early termination at the target
+            }
+            long base = dist[current];
+            for (Edge edge : adjacencyList.get(current).values()) {
+                if (excludedLocations != null && excludedLocations[edge.target]) continue;
+                if (excludedRoads != null && excludedRoads.contains(roadKey(current, edge.target))) continue;
+                if (remaining != null && remaining[edge.target] == Long.MAX_VALUE) continue;
+                long candidate = base + edge.distance;
+                if (candidate < dist[edge.target]) {
+                    dist[edge.target] = candidate;
+                    parent[edge.target] = current;
+                    long estimate = remaining != null ? remaining[edge.target]
+                            : useHeuristic ? heuristic(edge.target, target) : 0;
+                    heap.insertOrDecrease(edge.target, candidate + estimate);
+                }
+            }
+        }
+
+        if (dist[target] == Long.MAX_VALUE) {
+            return null;
+        }
+
+        // Reconstruct path by walking parents back from the destination
+        LinkedList<String> path = new LinkedList<>();
+        for (int v = target; v >= 0; v = parent[v]) {
+            path.addFirst(dictionary.nameOf(v));
+        }
+        return new RoutePath(path, (int) dist[target], settled);
+    }
+
+    // ==================== K-Shortest Routes (Yen's Algorithm) ====================
+
+    /**
+     * Finds up to k shortest loopless routes between two locations, shortest
+     * first, using Yen's algorithm. Route i+1 is found by branching off
+     * route i at each location on it (the spur location): the roads that
+     * earlier routes with the same prefix took from there are blocked, as
+     * are the prefix locations, and the best remaining route to the
+     * destination becomes a candidate in a min-heap.
+     *
+     * A single Dijkstra from the destination gives each location's exact
+     * remaining distance in the unrestricted graph. It is used as the A*
+     * estimate for the spur searches, and to skip spur locations that cannot
+     * beat the candidates already waiting for the remaining slots.
+     * Time Complexity: O(k · L · (V + E) log V) worst case for routes of L locations
+     * @param from source location
+     * @param to destination location
+     * @param k number of routes wanted
+     * @return up to k routes in order of distance (empty if none exists),
+     *         or null if a location is not found
+     */
+    public List<RoutePath> findKShortestPaths(String from, String to, int k) {
+        int source = dictionary.idOf(from);
+        int target = dictionary.idOf(to);
+        if (source < 0 || target < 0) {
+            return null;
+        }
+        List<RoutePath> routes = new ArrayList<>();
+        if (k <= 0 || !isReachable(source, target)) {
+            return routes;
+        }
+
+        long[] remaining = distancesFrom(target);
+        List<int[]> routeIds = new ArrayList<>();
+        RoutePath first = bestFirstSearch(source, target, false, remaining, null, null);
+        routes.add(first);
+        routeIds.add(idsOf(first));
+
+        // Candidates ordered by distance, then by number of roads
+        PriorityQueue<RoutePath> candidates = new PriorityQueue<>(
+                Comparator.comparingInt(RoutePath::getTotalDistance).thenComparingInt(RoutePath::getHopCount));
+        Set<List<String>> seen = new HashSet<>();
+        seen.add(first.getLocations());
+        boolean[] excludedLocations = new boolean[adjacencyList.size()];
+        Set<Long> excludedRoads = new HashSet<>();
+
+        while (routes.size() < k) {
+            int[] previous = routeIds.get(routeIds.size() - 1);
+            long rootDistance = 0;
+            for (int j = 0; j + 1 < previous.length; j++) {
+                int spur = previous[j];
+                if (j > 0) {
+                    excludedLocations[previous[j - 1]] = true; // Root prefix stays loopless
+                    rootDistance += adjacencyList.get(previous[j - 1]).get(spur).distance;
+                }
+
+                // Pruning: this spur cannot beat the candidates already
+                // queued for the remaining slots
+                if (candidates.size() >= k - routes.size()
+                        && rootDistance + remaining[spur] >= kthCandidateDistance(candidates, k - routes.size())) {
+                    continue;
+                }
+
+                excludedRoads.clear();
+                for (int[] ids : routeIds) {
+                    if (ids.length > j + 1 && samePrefix(ids, previous, j)) {
+                        excludedRoads.add(roadKey(ids[j], ids[j + 1]));
                     }
                 }
+
+                RoutePath spurRoute = bestFirstSearch(spur, target, false, remaining, excludedLocations, excludedRoads);
+                if (spurRoute != null) {
+                    List<String> locations = new ArrayList<>(j + spurRoute.getLocations().size());
+                    for (int i = 0; i < j; i++) {
+                        locations.add(dictionary.nameOf(previous[i]));
+                    }
+                    locations.addAll(spurRoute.getLocations());
+                    if (seen.add(locations)) {
+                        candidates.add(new RoutePath(locations,
+                                (int) (rootDistance + spurRoute.getTotalDistance()), spurRoute.getSettledCount()));
+                    }
+                }
+            }
+            Arrays.fill(excludedLocations, false);
+
+            if (candidates.isEmpty()) {
+                break; // Fewer than k loopless routes exist
+            }
+            RoutePath next = candidates.poll();
+            routes.add(next);
+            routeIds.add(idsOf(next));
+        }
+        return routes;
+    }
+
+    /** Distance of the n-th best queued candidate (n >= 1) */
+    private static long kthCandidateDistance(PriorityQueue<RoutePath> candidates, int n) {
+        if (n == 1) {
+            return candidates.peek().getTotalDistance();
+        }
+        PriorityQueue<Integer> largest = new PriorityQueue<>(n); // n smallest distances, max on top
+        for (RoutePath candidate : candidates) {
+            largest.add(-candidate.getTotalDistance());
+            if (largest.size() > n) {
+                largest.poll();
             }
         }
+        return -largest.peek();
+    }
 
-        if (!found) {
-            System.out.println("  No path found between " + from + " and " + to);
+    private static boolean samePrefix(int[] a, int[] b, int length) {
+        for (int i = 0; i <= length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Direction-independent key of the road u-v */
+    private static long roadKey(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+
+    /**
+     * Full Dijkstra from a location (roads are undirected, so these are
+     * also the distances to it).
+     * @return distance per location id, Long.MAX_VALUE if unreachable
+     */
+    private long[] distancesFrom(int source) {
+        int n = adjacencyList.size();
+        long[] dist = new long[n];
+        Arrays.fill(dist, Long.MAX_VALUE);
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        dist[source] = 0;
+        heap.insertOrDecrease(source, 0);
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            long base = dist[current];
+            for (Edge edge : adjacencyList.get(current).values()) {
+                long candidate = base + edge.distance;
+                if (candidate < dist[edge.target]) {
+                    dist[edge.target] = candidate;
+                    heap.insertOrDecrease(edge.target, candidate);
+                }
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Finds the shortest route with bidirectional Dijkstra: one search grows
+     * from the source and one from the destination, always advancing the
+     * side with the smaller queue minimum. Every road that joins the two
+     * searches is a candidate meeting point; the search stops once the two
+     * queue minimums together reach the best candidate, which is then optimal.
+     * Typically settles about half the locations of a one-sided search.
+     * @param from source location
+     * @param to destination location
+     * @return the shortest route, or null if a location is missing or no route exists
+     */
+    public RoutePath findShortestPathBidirectional(String from, String to) {
+        int source = dictionary.idOf(from);
+        int target = dictionary.idOf(to);
+        if (source < 0 || target < 0 || !isReachable(source, target)) {
+            return null;
+        }
+
+        int n = adjacencyList.size();
+        long[][] dist = {new long[n], new long[n]};      // [0] forward, [1] backward
+        int[][] parent = {new int[n], new int[n]};
+        IndexedMinHeap[] heap = {new IndexedMinHeap(n), new IndexedMinHeap(n)};
+        for (int side = 0; side < 2; side++) {
+            Arrays.fill(dist[side], Long.MAX_VALUE);
+            Arrays.fill(parent[side], -1);
+        }
+        dist[0][source] = 0;
+        dist[1][target] = 0;
+        heap[0].insertOrDecrease(source, 0);
+        heap[1].insertOrDecrease(target, 0);
+
+        long best = source == target ? 0 : Long.MAX_VALUE;
+        int meeting = source == target ? source : -1;
+        int settled = 0;
+        while (!heap[0].isEmpty() && !heap[1].isEmpty()) {
+            long top0 = heap[0].peekKey();
+            long top1 = heap[1].peekKey();
+            if (top0 + top1 >= best) {
+                break; // No undiscovered route can beat the best meeting point
+            }
+            int side = top0 <= top1 ? 0 : 1;
+            int current = heap[side].poll();
+            settled++;
+            long base = dist[side][current];
+            for (Edge edge : adjacencyList.get(current).values()) {
+                long candidate = base + edge.distance;
+                if (candidate < dist[side][edge.target]) {
+                    dist[side][edge.target] = candidate;
+                    parent[side][edge.target] = current;
+                    heap[side].insertOrDecrease(edge.target, candidate);
+                }
+                long other = dist[1 - side][edge.target];
+                if (other != Long.MAX_VALUE && candidate + other < best) {
+                    best = candidate + other;
+                    meeting = edge.target;
+                }
+            }
+        }
+
+        if (meeting < 0) {
+            return null;
+        }
+        return new RoutePath(joinAtMeeting(parent[0], parent[1], meeting), (int) best, settled);
+    }
+
+    /**
+     * Finds the route with the fewest roads using bidirectional BFS.
+     * Each step expands one whole level of the side with the smaller
+     * frontier; the first level that touches the other side fixes the
+     * hop count, and the shortest join within that level is chosen.
+     * @param from source location
+     * @param to destination location
+     * @return the fewest-hops route (with its total distance), or null if
+     *         a location is missing or no route exists
+     */
+    public RoutePath findFewestHopsPath(String from, String to) {
+        int source = dictionary.idOf(from);
+        int target = dictionary.idOf(to);
+        if (source < 0 || target < 0 || !isReachable(source, target)) {
+            return null;
+        }
+
+        int n = adjacencyList.size();
+        int[][] hops = {new int[n], new int[n]};          // [0] forward, [1] backward
+        int[][] parent = {new int[n], new int[n]};
+        int[][] frontier = {new int[dictionary.size()], new int[dictionary.size()]};
+        int[] next = new int[dictionary.size()]; // Spare buffer, swapped with the expanded frontier
+        int[] frontierSize = {1, 1};
+        for (int side = 0; side < 2; side++) {
+            Arrays.fill(hops[side], -1);
+            Arrays.fill(parent[side], -1);
+        }
+        hops[0][source] = 0;
+        hops[1][target] = 0;
+        frontier[0][0] = source;
+        frontier[1][0] = target;
+
+        int meeting = source == target ? source : -1;
+        int meetingParent = -1, meetingSide = 0;
+        int visited = 2;
+        while (meeting < 0 && frontierSize[0] > 0 && frontierSize[1] > 0) {
+            int side = frontierSize[0] <= frontierSize[1] ? 0 : 1;
+            int nextSize = 0;
+            int bestHops = Integer.MAX_VALUE;
+            for (int i = 0; i < frontierSize[side]; i++) {
+                int current = frontier[side][i];
+                for (Edge edge : adjacencyList.get(current).values()) {
+                    int v = edge.target;
+                    if (hops[1 - side][v] >= 0) {
+                        // Joins the other search; keep the shortest join in this level
+                        int total = hops[side][current] + 1 + hops[1 - side][v];
+                        if (total < bestHops) {
+                            bestHops = total;
+                            meeting = v;
+                            meetingParent = current;
+                            meetingSide = side;
+                        }
+                    } else if (hops[side][v] < 0) {
+                        hops[side][v] = hops[side][current] + 1;
+                        parent[side][v] = current;
+                        next[nextSize++] = v;
+                        visited++;
+                    }
+                }
+            }
+            int[] expanded = frontier[side];
+            frontier[side] = next;
+            frontierSize[side] = nextSize;
+            next = expanded;
+        }
+
+        if (meeting < 0) {
+            return null;
+        }
+        if (meetingParent >= 0) {
+            parent[meetingSide][meeting] = meetingParent;
+        }
+        List<String> path = joinAtMeeting(parent[0], parent[1], meeting);
+        return new RoutePath(path, routeDistance(path), visited);
+    }
+
+    /**
+     * Builds the location list source -> meeting -> destination from the
+     * forward and backward parent arrays of a bidirectional search.
+     */
+    private List<String> joinAtMeeting(int[] forwardParent, int[] backwardParent, int meeting) {
+        LinkedList<String> path = new LinkedList<>();
+        for (int v = meeting; v >= 0; v = forwardParent[v]) {
+            path.addFirst(dictionary.nameOf(v));
+        }
+        for (int v = backwardParent[meeting]; v >= 0; v = backwardParent[v]) {
+            path.addLast(dictionary.nameOf(v));
+        }
+        return path;
+    }
+
+    /**
+     * Sums the road distances along a route.
+     */
+    private int routeDistance(List<String> path) {
+        int total = 0;
+        int previous = -1;
+        for (String name : path) {
+            int id = dictionary.idOf(name);
+            if (previous >= 0) {
+                total += adjacencyList.get(previous).get(id).distance;
+            }
+            previous = id;
+        }
+        return total;
+    }
+
+    /**
+     * A* heuristic: straight-line distance rounded down, so it never exceeds
+     * a whole-km road distance between the same points.
+     */
+    private long heuristic(int from, int to) {
+        if (Double.isNaN(latitudes[from])) {
+            return 0;
+        }
+        return (long) haversineKm(latitudes[from], longitudes[from], latitudes[to], longitudes[to]);
+    }
+
+    /**
+     * Computes the great-circle distance between two points.
+     * @return distance in km
+     */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    // ==================== Time-Dependent Travel Times ====================
+
+    /**
+     * Sets the time-of-day travel time profile of a road (both directions).
+     * A single volatile write, so route queries on other threads need no
+     * lock; a query already running may time this road either way.
+     * Time Complexity: O(1)
+     * @param from one end of the road
+     * @param to other end of the road
+     * @param profile travel time profile, or null to use the default speed
+     * @return true if set, false if the road does not exist
+     */
+    public boolean setRoadProfile(String from, String to, WeightProfile profile) {
+        RoadTraffic traffic = trafficOf(from, to);
+        if (traffic == null) {
+            return false;
+        }
+        traffic.profile = profile;
+        return true;
+    }
+
+    /**
+     * Sets a live travel time for a road (both directions), e.g. from a
+     * traffic feed. It overrides the road's profile until cleared.
+     * Like {@link #setRoadProfile}, safe while other threads run route queries.
+     * Time Complexity: O(1)
+     * @param from one end of the road
+     * @param to other end of the road
+     * @param minutes current travel time in minutes (NaN clears the override)
+     * @return true if set, false if the road does not exist or minutes is not positive
+     */
+    public boolean setLiveTravelTime(String from, String to, double minutes) {
+        if (minutes <= 0) {
+            return false;
+        }
+        RoadTraffic traffic = trafficOf(from, to);
+        if (traffic == null) {
+            return false;
+        }
+        traffic.liveMinutes = minutes;
+        return true;
+    }
+
+    /**
+     * Removes the live travel time of a road so its profile applies again.
+     * @param from one end of the road
+     * @param to other end of the road
+     * @return true if the road exists
+     */
+    public boolean clearLiveTravelTime(String from, String to) {
+        RoadTraffic traffic = trafficOf(from, to);
+        if (traffic == null) {
+            return false;
+        }
+        traffic.liveMinutes = Double.NaN;
+        return true;
+    }
+
+    /**
+     * Gets the travel time of a road when entering it at a given time.
+     * @param from one end of the road
+     * @param to other end of the road
+     * @param minuteOfDay entry time in minutes since midnight
+     * @return travel time in minutes, or -1 if the road does not exist
+     */
+    public double getTravelTime(String from, String to, double minuteOfDay) {
+        int u = dictionary.idOf(from);
+        int v = dictionary.idOf(to);
+        if (u < 0 || v < 0) {
+            return -1;
+        }
+        Edge edge = adjacencyList.get(u).get(v);
+        return edge == null ? -1 : travelMinutes(edge, minuteOfDay);
+    }
+
+    /**
+     * Live override first, then the profile, then the distance at the default speed.
+     */
+    private static double travelMinutes(Edge edge, double minuteOfDay) {
+        RoadTraffic traffic = edge.traffic;
+        if (traffic != null) {
+            double live = traffic.liveMinutes;
+            if (!Double.isNaN(live)) {
+                return live;
+            }
+            WeightProfile profile = traffic.profile;
+            if (profile != null) {
+                return profile.travelTime(minuteOfDay);
+            }
+        }
+        return edge.distance * 60.0 / DEFAULT_SPEED_KMH;
+    }
+
+    /**
+     * Gets (creating on first use) the traffic settings shared by both
+     * directions of a road.
+     * @return the settings, or null if the road does not exist
+     */
+    private RoadTraffic trafficOf(String from, String to) {
+        int u = dictionary.idOf(from);
+        int v = dictionary.idOf(to);
+        if (u < 0 || v < 0) {
+            return null;
+        }
+        Edge forward = adjacencyList.get(u).get(v);
+        if (forward == null) {
+            return null;
+        }
+        RoadTraffic traffic = forward.traffic;
+        if (traffic == null) {
+            Edge backward = adjacencyList.get(v).get(u);
+            // Both directions lock the same edge so concurrent writers create one instance
+            synchronized (u < v ? forward : backward) {
+                traffic = forward.traffic;
+                if (traffic == null) {
+                    traffic = new RoadTraffic();
+                    backward.traffic = traffic;
+                    forward.traffic = traffic;
+                }
+            }
+        }
+        return traffic;
+    }
+
+    /**
+     * Finds the fastest route for a given departure time with
+     * time-dependent Dijkstra: each road is timed for the moment the route
+     * reaches it, using live travel times and profiles where set and the
+     * default speed elsewhere. Exact because profiles are FIFO.
+     * Safe to call from several threads at once, also while travel times
+     * change, as long as no locations or roads are added or removed.
+     * Time Complexity: O((V + E) log V)
+     * @param from source location
+     * @param to destination location
+     * @param departureMinute departure time in minutes since midnight
+     * @return the fastest route with arrival times, or null if a location is
+     *         missing or no route exists
+     */
+    public TimedRoute findFastestRoute(String from, String to, double departureMinute) {
+        int source = dictionary.idOf(from);
+        int target = dictionary.idOf(to);
+        if (source < 0 || target < 0 || !isReachable(source, target)) {
+            return null;
+        }
+
+        int n = adjacencyList.size();
+        double[] arrival = new double[n];
+        int[] parent = new int[n];
+        Arrays.fill(arrival, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+
+        // Non-negative doubles order the same way as their raw bits, so
+        // arrival times can be used as exact heap keys
+        double start = Math.floorMod((long) Math.floor(departureMinute), WeightProfile.MINUTES_PER_DAY)
+                + (departureMinute - Math.floor(departureMinute));
+        arrival[source] = start;
+        heap.insertOrDecrease(source, Double.doubleToLongBits(start));
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            if (current == target) {
+                break;
+            }
+            double now = arrival[current];
+            for (Edge edge : adjacencyList.get(current).values()) {
+                double candidate = now + travelMinutes(edge, now);
+                if (candidate < arrival[edge.target]) {
+                    arrival[edge.target] = candidate;
+                    parent[edge.target] = current;
+                    heap.insertOrDecrease(edge.target, Double.doubleToLongBits(candidate));
+                }
+            }
+        }
+
+        LinkedList<Integer> ids = new LinkedList<>();
+        for (int v = target; v >= 0; v = parent[v]) {
+            ids.addFirst(v);
+        }
+        List<String> locations = new ArrayList<>(ids.size());
+        double[] times = new double[ids.size()];
+        int distance = 0, i = 0, previous = -1;
+        for (int id : ids) {
+            locations.add(dictionary.nameOf(id));
+            times[i++] = arrival[id];
+            if (previous >= 0) {
+                distance += adjacencyList.get(previous).get(id).distance;
+            }
+            previous = id;
+        }
+        return new TimedRoute(locations, times, distance);
+    }
+
+    // ==================== Connected Components ====================
+
+    /**
+     * Checks whether any route exists between two locations.
+     * Uses the union-find component index, which the mutators keep exact,
+     * so this is effectively O(1) and changes nothing: safe to call from
+     * several threads at once as long as the graph is not being modified.
+     * @param from one location
+     * @param to the other location
+     * @return true if connected, false if not or if a location is missing
+     */
+    public boolean isReachable(String from, String to) {
+        int u = dictionary.idOf(from);
+        int v = dictionary.idOf(to);
+        return u >= 0 && v >= 0 && isReachable(u, v);
+    }
+
+    private boolean isReachable(int u, int v) {
+        return components.root(componentElement[u]) == components.root(componentElement[v]);
+    }
+
+    /**
+     * Gets an identifier for the connected component of a location.
+     * Two locations share an identifier exactly when they are connected;
+     * identifiers may change after the graph changes.
+     * @param location the location name
+     * @return component identifier, or -1 if the location is not found
+     */
+    public int componentOf(String location) {
+        int id = dictionary.idOf(location);
+        return id < 0 ? -1 : components.root(componentElement[id]);
+    }
+
+    /**
+     * Gets the number of locations in the same component as a location.
+     * @param location the location name
+     * @return component size (including the location), or 0 if not found
+     */
+    public int getComponentSize(String location) {
+        int id = dictionary.idOf(location);
+        return id < 0 ? 0 : components.setSize(componentElement[id]);
+    }
+
+    /**
+     * Gets the number of connected components (isolated locations count as one each).
+     * @return component count
+     */
+    public int getComponentCount() {
+        return components.getSetCount();
+    }
+
+    /**
+     * Finds the cheapest set of roads (by total km) that keeps every
+     * location connected to everything it can reach now; a network in
+     * several parts gets one tree per part.
+     * Time Complexity: O(E log V), parallel on large networks
+     * @return the chosen roads and their total distance
+     */
+    public MinimumSpanningTree.Result findMinimumSpanningTree() {
+        return MinimumSpanningTree.compute(freeze());
+    }
+
+    /**
+     * Gives a new location an element of its own in the component index.
+     */
+    private void addComponentElement(int id) {
+        if (elementCount >= 2 * dictionary.size() + 64) {
+            rebuildComponents(); // Mostly links left by removals: start afresh
+            return;
+        }
+        if (id >= componentElement.length) {
+            componentElement = Arrays.copyOf(componentElement, Math.max(id + 1, componentElement.length * 2));
+        }
+        componentElement[id] = elementCount;
+        components.makeSet(elementCount++);
+    }
+
+    /**
+     * Rebuilds the component index from the roads in O(V + E).
+     */
+    private void rebuildComponents() {
+        int n = adjacencyList.size();
+        UnionFind rebuilt = new UnionFind(dictionary.size());
+        componentElement = new int[Math.max(8, n)];
+        elementCount = 0;
+        for (int id = 0; id < n; id++) {
+            if (adjacencyList.get(id) != null) {
+                componentElement[id] = elementCount;
+                rebuilt.makeSet(elementCount++);
+            }
+        }
+        for (int id = 0; id < n; id++) {
+            Map<Integer, Edge> edges = adjacencyList.get(id);
+            if (edges == null) continue;
+            for (Edge edge : edges.values()) {
+                if (edge.target > id) {
+                    rebuilt.union(componentElement[id], componentElement[edge.target]);
+                }
+            }
+        }
+        components = rebuilt;
+    }
+
+    /**
+     * Restores the component index after a removal. The given locations
+     * were in one component before; union-find cannot split a set, so each
+     * part that is now cut off (found by {@link #cutOffSide}) moves to a
+     * set of its own. Costs a search around the removal, and at most twice
+     * the size of each part that split off.
+     * @param ends the ends of a removed road, or the former neighbours of a
+     *             removed location
+     */
+    private void separateComponents(int[] ends) {
+        if (ends.length < 2) {
             return;
         }
+        int oldRoot = components.root(componentElement[ends[0]]);
+        boolean restart = true;
+        while (restart) {
+            restart = false;
+            int anchor = -1;
+            for (int i = 0; i < ends.length && !restart; i++) {
+                int end = ends[i];
+                if (components.root(componentElement[end]) != oldRoot) {
+                    continue; // Already moved to a part of its own
+                }
+                if (anchor < 0) {
+                    anchor = end;
+                    continue;
+                }
+                int[] cut = cutOffSide(anchor, end);
+                if (cut == null) {
+                    continue;
+                }
+                if (elementCount + cut[0] >= 2 * dictionary.size() + 64) {
+                    rebuildComponents();
+                    return;
+                }
+                moveToNewSet(cut);
+                // If the anchor's side was the one cut off, start over with another anchor
+                restart = components.root(componentElement[anchor]) != oldRoot;
+            }
+        }
+    }
 
-        // Reconstruct path using a Stack
-        Stack<String> pathStack = new Stack<>();
-        String current = to;
-        int totalDistance = 0;
-        while (current != null) {
-            pathStack.push(current);
-            String parent = parentMap.get(current);
-            if (parent != null) {
-                // Find the distance for this edge
-                for (Edge e : adjacencyList.get(parent)) {
-                    if (e.destination.equals(current)) {
-                        totalDistance += e.distance;
-                        break;
+    /**
+     * Searches from two locations at once, always growing the side that has
+     * reached fewer locations, until the searches meet or one side runs out.
+     * @return null if a and b are connected, otherwise the locations on the
+     *         side that ran out, with their count in element 0
+     */
+    private int[] cutOffSide(int a, int b) {
+        if (searchMarks.length < adjacencyList.size()) {
+            searchMarks = new int[Math.max(adjacencyList.size(), searchMarks.length * 2)];
+            searchStamp = 0;
+        }
+        if (++searchStamp == Integer.MAX_VALUE / 2) {
+            Arrays.fill(searchMarks, 0);
+            searchStamp = 1;
+        }
+        int[][] queues = {new int[17], new int[17]};
+        int[] heads = {1, 1};
+        int[] tails = {2, 2};
+        queues[0][1] = a;
+        queues[1][1] = b;
+        searchMarks[a] = 2 * searchStamp;
+        searchMarks[b] = 2 * searchStamp + 1;
+        while (true) {
+            int side = tails[0] <= tails[1] ? 0 : 1;
+            if (heads[side] == tails[side]) {
+                queues[side][0] = tails[side] - 1;
+                return queues[side];
+            }
+            int current = queues[side][heads[side]++];
+            for (Edge edge : adjacencyList.get(current).values()) {
+                int next = edge.target;
+                int mark = searchMarks[next];
+                if (mark == 2 * searchStamp + (1 - side)) {
+                    return null; // The two searches met
+                }
+                if (mark != 2 * searchStamp + side) {
+                    searchMarks[next] = 2 * searchStamp + side;
+                    if (tails[side] == queues[side].length) {
+                        queues[side] = Arrays.copyOf(queues[side], queues[side].length * 2);
                     }
+                    queues[side][tails[side]++] = next;
                 }
             }
-            current = parent;
         }
+    }
 
-        // Display path from stack
-        System.out.print("  Route: ");
-        boolean first = true;
-        while (!pathStack.isEmpty()) {
-            if (!first) System.out.print(" → ");
-            System.out.print(pathStack.pop());
-            first = false;
+    /**
+     * Moves locations that were cut off from the rest of their component
+     * into a new set: their old elements stay behind as links.
+     * @param cut location count in element 0, then the location ids
+     */
+    private void moveToNewSet(int[] cut) {
+        int first = elementCount;
+        for (int i = 1; i <= cut[0]; i++) {
+            int id = cut[i];
+            components.detach(componentElement[id]);
+            componentElement[id] = elementCount;
+            components.makeSet(elementCount);
+            if (elementCount > first) {
+                components.union(first, elementCount);
+            }
+            elementCount++;
         }
-        System.out.println();
-        System.out.println("  Total Distance: " + totalDistance + " km");
-        System.out.println("  ═══════════════════════════════════════════════════");
+    }
+
+    // ==================== Snapshot ====================
+
+    /**
+     * Creates an immutable Compressed Sparse Row (CSR) snapshot of the graph
+     * for read-heavy routing. Location ids are renumbered densely in id order.
+     * Time Complexity: O(V + E)
+     * @return frozen snapshot of the current graph
+     */
+    public FrozenCityGraph freeze() {
+        int n = dictionary.size();
+        String[] names = new String[n];
+        int[] denseId = new int[adjacencyList.size()];
+        int[] offsets = new int[n + 1];
+
+        int i = 0;
+        for (int id = 0; id < adjacencyList.size(); id++) {
+            Map<Integer, Edge> edges = adjacencyList.get(id);
+            if (edges == null) continue;
+            names[i] = dictionary.nameOf(id);
+            denseId[id] = i;
+            offsets[i + 1] = offsets[i] + edges.size();
+            i++;
+        }
+
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        int e = 0;
+        for (Map<Integer, Edge> edges : adjacencyList) {
+            if (edges == null) continue;
+            for (Edge edge : edges.values()) {
+                targets[e] = denseId[edge.target];
+                weights[e] = edge.distance;
+                e++;
+            }
+        }
+        return new FrozenCityGraph(names, offsets, targets, weights);
+    }
+
+    /**
+     * Fills an empty graph from CSR arrays in one pass, the reverse of
+     * {@link #freeze()}: each location keeps the road order it was saved
+     * with, and maps are created at their final size. Used to load
+     * snapshots; the arrays must describe an undirected graph.
+     * @param names location name per dense id
+     * @param offsets edge offsets per location (length names.length + 1)
+     * @param targets destination per directed edge
+     * @param weights distance per directed edge
+     * @param lats latitude per location (NaN when unknown)
+     * @param lons longitude per location (NaN when unknown)
+     */
+    void loadCsr(String[] names, int[] offsets, int[] targets, int[] weights, double[] lats, double[] lons) {
+        if (dictionary.size() != 0) {
+            throw new IllegalStateException("loadCsr needs an empty graph");
+        }
+        int n = names.length;
+        adjacencyList.ensureCapacity(n);
+        int maxSeen = 0;
+        for (int u = 0; u < n; u++) {
+            dictionary.add(names[u]); // An empty dictionary hands out ids 0, 1, 2, ...
+            int degree = offsets[u + 1] - offsets[u];
+            Map<Integer, Edge> edges = new LinkedHashMap<>(Math.max(4, (int) (degree / 0.75f) + 1));
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                edges.put(targets[e], new Edge(targets[e], weights[e]));
+            }
+            adjacencyList.add(edges);
+            maxSeen = Math.max(maxSeen, degree);
+        }
+        latitudes = lats.clone();
+        longitudes = lons.clone();
+        degreeHistogram = new int[Math.max(8, maxSeen + 1)];
+        for (int u = 0; u < n; u++) {
+            degreeHistogram[offsets[u + 1] - offsets[u]]++;
+        }
+        maxDegree = maxSeen;
+        roadCount = targets.length / 2;
+        rebuildComponents();
+        routeCache.invalidateAll();
+        version++;
+    }
+
+    /**
+     * Gets the coordinates of every location in {@link #freeze()} order,
+     * for snapshot writers.
+     * @return {latitudes, longitudes}; NaN where a location has none
+     */
+    double[][] frozenCoordinates() {
+        int n = dictionary.size();
+        double[] lats = new double[n];
+        double[] lons = new double[n];
+        int i = 0;
+        for (int id = 0; id < adjacencyList.size(); id++) {
+            if (adjacencyList.get(id) != null) {
+                lats[i] = latitudes[id];
+                lons[i] = longitudes[id];
+                i++;
+            }
+        }
+        return new double[][]{lats, lons};
     }
 
     // ==================== Utility ====================
 
     /**
-     * Gets all location names.
+     * Gets all location names in id order.
      * @return set of location names
      */
     public Set<String> getLocations() {
-        return adjacencyList.keySet();
+        Set<String> locations = new LinkedHashSet<>();
+        for (int id = 0; id < adjacencyList.size(); id++) {
+            if (adjacencyList.get(id) != null) {
+                locations.add(dictionary.nameOf(id));
+            }
+        }
+        return locations;
     }
 
     /**
@@ -337,18 +1531,77 @@ public class CityGraph {
      * @return number of locations
      */
     public int getLocationCount() {
-        return adjacencyList.size();
+        return dictionary.size();
     }
 
     /**
      * Gets the total number of roads (edges).
+     * Maintained incrementally, so this is O(1).
      * @return number of roads (each undirected edge counted once)
      */
     public int getRoadCount() {
-        int count = 0;
-        for (List<Edge> edges : adjacencyList.values()) {
-            count += edges.size();
-        }
-        return count / 2; // Undirected graph, each edge counted twice
+        return roadCount;
+    }
+
+    /**
+     * Gets the largest number of roads connected to a single location.
+     * @return maximum degree (0 for a graph without roads)
+     */
+    public int getMaxDegree() {
+        return maxDegree;
+    }
+
+    /**
+     * Gets the average number of roads per location.
+     * @return average degree (0 for an empty graph)
+     */
+    public double getAverageDegree() {
+        int locations = dictionary.size();
+        return locations == 0 ? 0 : 2.0 * roadCount / locations;
+    }
+
+    /**
+     * Gets a snapshot of the graph size and degree statistics.
+     * Time Complexity: O(max degree)
+     * @return statistics snapshot
+     */
+    public GraphStats getStats() {
+        return new GraphStats(dictionary.size(), roadCount, maxDegree,
+                Arrays.copyOf(degreeHistogram, maxDegree + 1));
+    }
+
+    /**
+     * Gets the modification version of the graph. The value changes whenever
+     * a location or road is added or removed, so structures built from the
+     * graph (such as a {@link ContractionHierarchy}) can tell they are stale.
+     * @return current version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Attaches or detaches the journal that records this graph's changes.
+     * @param journal the journal, or null to stop journaling
+     */
+    void setJournal(MutationJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Gets the journal recording this graph's changes.
+     * @return the journal, or null if changes are not journaled
+     */
+    public MutationJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Gets the cache used by {@link #findShortestPath(String, String)},
+     * e.g. to read its hit/miss counters or change its capacity.
+     * @return the route cache
+     */
+    public RouteCache getRouteCache() {
+        return routeCache;
     }
 }
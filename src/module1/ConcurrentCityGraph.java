@@ -0,0 +1,172 @@
+package module1;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe road network for serving route queries from many threads
+ * while another thread (e.g. a traffic feed) adds and removes roads.
+ *
+ * Copy-on-write: writers change a private {@link CityGraph} one at a time
+ * and then publish a fresh {@link FrozenCityGraph} snapshot through an
+ * atomic reference. Readers never lock; each query runs against whichever
+ * snapshot was current when it started.
+ *
+ * Visibility guarantees:
+ * <ul>
+ *   <li>a query started after a mutation method returns sees that change</li>
+ *   <li>a query never sees part of a change: all the mutations applied in
+ *       one {@link #update(Consumer)} batch become visible together</li>
+ *   <li>a query in progress is not affected by later changes</li>
+ * </ul>
+ * Publishing costs O(V + E), so frequent small changes should be grouped
+ * with {@link #update(Consumer)}.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class ConcurrentCityGraph {
+
+    // ==================== Fields ====================
+    /** Writer-side graph; only touched while holding writeLock */
+    private final CityGraph graph;
+    private final Object writeLock = new Object();
+    /** The snapshot readers use; replaced as a whole after each change */
+    private final AtomicReference<FrozenCityGraph> snapshot;
+    /** Number of snapshots published (guarded by writeLock, read without it) */
+    private volatile long publishCount;
+
+    // ==================== Constructor ====================
+    /**
+     * Creates an empty concurrent graph.
+     */
+    public ConcurrentCityGraph() {
+        this(new CityGraph());
+    }
+
+    /**
+     * Creates a concurrent graph that takes over an existing graph.
+     * The caller must not use that graph directly afterwards.
+     * @param graph initial road network
+     */
+    public ConcurrentCityGraph(CityGraph graph) {
+        this.graph = graph;
+        this.snapshot = new AtomicReference<>(graph.freeze());
+    }
+
+    // ==================== Mutations ====================
+
+    /**
+     * Applies a batch of changes and publishes them as one snapshot.
+     * Other writers wait; readers keep using the previous snapshot until the
+     * batch completes, then see all of it at once.
+     * @param changes mutations to apply to the writer-side graph; the graph
+     *                must not be kept or used after the call returns
+     */
+    public void update(Consumer<CityGraph> changes) {
+        synchronized (writeLock) {
+            long before = graph.getVersion();
+            try {
+                changes.accept(graph);
+            } finally {
+                // Publish whatever was applied, even if the batch failed part-way
+                if (graph.getVersion() != before) {
+                    publish();
+                }
+            }
+        }
+    }
+
+    public boolean addLocation(String location) {
+        synchronized (writeLock) {
+            return graph.addLocation(location) && publish();
+        }
+    }
+
+    /**
+     * Adds several locations and publishes them together.
+     * @param locations location names
+     * @return number of locations actually added
+     */
+    public int addLocations(Collection<String> locations) {
+        synchronized (writeLock) {
+            int added = graph.addLocations(locations);
+            if (added > 0) {
+                publish();
+            }
+            return added;
+        }
+    }
+
+    public boolean removeLocation(String location) {
+        synchronized (writeLock) {
+            return graph.removeLocation(location) && publish();
+        }
+    }
+
+    public boolean addRoad(String from, String to, int distance) {
+        synchronized (writeLock) {
+            return graph.addRoad(from, to, distance) && publish();
+        }
+    }
+
+    public boolean removeRoad(String from, String to) {
+        synchronized (writeLock) {
+            return graph.removeRoad(from, to) && publish();
+        }
+    }
+
+    /**
+     * Freezes the writer-side graph and makes it the current snapshot.
+     * Caller must hold writeLock.
+     * @return true
+     */
+    private boolean publish() {
+        snapshot.set(graph.freeze());
+        publishCount++;
+        return true;
+    }
+
+    // ==================== Queries (lock-free) ====================
+
+    /**
+     * Gets the current snapshot. Several queries made on the same snapshot
+     * see one consistent state of the network.
+     * @return the latest published snapshot
+     */
+    public FrozenCityGraph snapshot() {
+        return snapshot.get();
+    }
+
+    public RoutePath findShortestPath(String from, String to) {
+        return snapshot.get().findShortestPath(from, to);
+    }
+
+    public String[] bfsTraversal(String start) {
+        return snapshot.get().bfsTraversal(start);
+    }
+
+    public String[] dfsTraversal(String start) {
+        return snapshot.get().dfsTraversal(start);
+    }
+
+    public boolean hasLocation(String location) {
+        return snapshot.get().hasLocation(location);
+    }
+
+    public int getLocationCount() {
+        return snapshot.get().getLocationCount();
+    }
+
+    public int getRoadCount() {
+        return snapshot.get().getRoadCount();
+    }
+
+    /**
+     * Gets the number of snapshots published since creation.
+     * @return publish count
+     */
+    public long getPublishCount() {
+        return publishCount;
+    }
+}
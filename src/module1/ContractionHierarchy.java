@@ -0,0 +1,641 @@
+package module1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Contraction Hierarchy (CH) over a {@link CityGraph} for fast repeated
+ * route queries on a network that changes rarely.
+ *
+ * Preprocessing contracts the locations one at a time, least important
+ * first (ordered by edge difference with lazy updates). Contracting a
+ * location removes it from the remaining network and adds a shortcut
+ * between two of its neighbours whenever the route through it is the only
+ * shortest one, found by a limited local "witness" search. Each shortcut
+ * remembers the location it bypasses so full routes can be unpacked.
+ *
+ * A query runs a bidirectional Dijkstra that only follows roads and
+ * shortcuts towards more important locations, which settles a few hundred
+ * locations instead of a large part of the network.
+ *
+ * The hierarchy is built from a {@link CityGraph#freeze()} snapshot and does
+ * not follow later changes; check {@link #isStale()} and call
+ * {@link #rebuild()} after a batch of {@code addRoad}/{@code removeRoad}
+ * calls. Queries are safe to run from several threads, also while another
+ * thread rebuilds (they answer from the previous hierarchy until it is
+ * swapped in).
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class ContractionHierarchy {
+
+    /** Locations a witness search may settle while contracting */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    /** Smaller limit used when only estimating a location's priority */
+    private static final int PRIORITY_SETTLE_LIMIT = 50;
+
+    // ==================== Fields ====================
+    private final CityGraph graph;
+    /** Current hierarchy; replaced as a whole by rebuild() */
+    private volatile Index index;
+    /** Per-thread search arrays so queries do not allocate O(V) memory */
+    private final ThreadLocal<QueryState> queryState = ThreadLocal.withInitial(QueryState::new);
+
+    // ==================== Constructor ====================
+    /**
+     * Builds a contraction hierarchy for the current state of a graph.
+     * Time Complexity: roughly O(V log V) witness searches for road networks
+     * @param graph the graph to preprocess
+     */
+    public ContractionHierarchy(CityGraph graph) {
+        this.graph = graph;
+        this.index = build(graph);
+    }
+
+    // ==================== Rebuild API ====================
+
+    /**
+     * Checks whether the graph has changed since the hierarchy was built.
+     * @return true if locations or roads were added or removed since
+     */
+    public boolean isStale() {
+        return graph.getVersion() != index.version;
+    }
+
+    /**
+     * Rebuilds the hierarchy from the current state of the graph.
+     */
+    public void rebuild() {
+        index = build(graph);
+    }
+
+    /**
+     * Rebuilds the hierarchy only if the graph has changed.
+     * @return true if a rebuild was done
+     */
+    public boolean rebuildIfStale() {
+        if (!isStale()) {
+            return false;
+        }
+        rebuild();
+        return true;
+    }
+
+    // ==================== Statistics ====================
+
+    public int getLocationCount() {
+        return index.snapshot.getLocationCount();
+    }
+
+    /**
+     * Gets the number of shortcut edges added during preprocessing.
+     * @return shortcut count
+     */
+    public int getShortcutCount() {
+        return index.shortcutCount;
+    }
+
+    /**
+     * Gets the time the last (re)build took.
+     * @return build time in milliseconds
+     */
+    public double getBuildTimeMillis() {
+        return index.buildNanos / 1_000_000.0;
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Gets the shortest road distance between two locations.
+     * @param from source location
+     * @param to destination location
+     * @return distance in km, or -1 if a location is missing or no route exists
+     */
+    public long distance(String from, String to) {
+        Index current = index;
+        int source = current.snapshot.idOf(from);
+        int target = current.snapshot.idOf(to);
+        if (source < 0 || target < 0) {
+            return -1;
+        }
+        QueryState state = queryState.get();
+        int meeting = search(current, state, source, target);
+        long result = meeting < 0 ? -1 : state.best;
+        state.reset();
+        return result;
+    }
+
+    /**
+     * Finds the shortest route between two locations, unpacking shortcuts
+     * back into the original roads.
+     * @param from source location
+     * @param to destination location
+     * @return the shortest route, or null if a location is missing or no route exists
+     */
+    public RoutePath findShortestPath(String from, String to) {
+        Index current = index;
+        int source = current.snapshot.idOf(from);
+        int target = current.snapshot.idOf(to);
+        if (source < 0 || target < 0) {
+            return null;
+        }
+        QueryState state = queryState.get();
+        int meeting = search(current, state, source, target);
+        if (meeting < 0) {
+            state.reset();
+            return null;
+        }
+
+        // Upward edges from the source to the meeting location
+        List<int[]> forward = new ArrayList<>();
+        for (int v = meeting; v != source; v = state.parentForward[v]) {
+            int u = state.parentForward[v];
+            forward.add(new int[]{u, v, current.upMiddle[state.edgeForward[v]]});
+        }
+        List<Integer> ids = new ArrayList<>();
+        ids.add(source);
+        for (int i = forward.size() - 1; i >= 0; i--) {
+            int[] edge = forward.get(i);
+            unpack(current, edge[0], edge[1], edge[2], ids);
+        }
+        // Upward edges from the target, walked back down from the meeting location
+        for (int v = meeting; v != target; v = state.parentBackward[v]) {
+            int u = state.parentBackward[v];
+            unpack(current, v, u, current.upMiddle[state.edgeBackward[v]], ids);
+        }
+
+        long total = state.best;
+        int settled = state.settled;
+        state.reset();
+
+        List<String> path = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            path.add(current.snapshot.nameOf(id));
+        }
+        return new RoutePath(path, (int) total, settled);
+    }
+
+    /**
+     * Runs the bidirectional upward search. Leaves distances and parents in
+     * the query state; the caller must reset it afterwards.
+     * @return the location where the best route meets, or -1 if unreachable
+     */
+    private static int search(Index idx, QueryState q, int source, int target) {
+        q.ensureCapacity(idx.snapshot.getLocationCount());
+        q.best = Long.MAX_VALUE;
+        q.settled = 0;
+        q.visit(source);
+        q.distForward[source] = 0;
+        q.heapForward.insertOrDecrease(source, 0);
+        q.visit(target);
+        q.distBackward[target] = 0;
+        q.heapBackward.insertOrDecrease(target, 0);
+
+        int meeting = -1;
+        while (true) {
+            long topForward = q.heapForward.peekKey();
+            long topBackward = q.heapBackward.peekKey();
+            // Neither side can improve on the best route found so far
+            if (Math.min(topForward, topBackward) >= q.best) {
+                break;
+            }
+            boolean forward = topForward <= topBackward;
+            IndexedMinHeap heap = forward ? q.heapForward : q.heapBackward;
+            long[] dist = forward ? q.distForward : q.distBackward;
+            long[] other = forward ? q.distBackward : q.distForward;
+            int[] parent = forward ? q.parentForward : q.parentBackward;
+            int[] parentEdge = forward ? q.edgeForward : q.edgeBackward;
+
+            int u = heap.poll();
+            q.settled++;
+            long base = dist[u];
+            if (other[u] != Long.MAX_VALUE && base + other[u] < q.best) {
+                q.best = base + other[u];
+                meeting = u;
+            }
+
+            // Stall-on-demand: a higher location already offers a shorter
+            // way to u, so u cannot be on a shortest upward route
+            boolean stalled = false;
+            for (int e = idx.upOffsets[u]; e < idx.upOffsets[u + 1]; e++) {
+                long via = dist[idx.upTargets[e]];
+                if (via != Long.MAX_VALUE && via + idx.upWeights[e] < base) {
+                    stalled = true;
+                    break;
+                }
+            }
+            if (stalled) continue;
+
+            for (int e = idx.upOffsets[u]; e < idx.upOffsets[u + 1]; e++) {
+                int next = idx.upTargets[e];
+                long candidate = base + idx.upWeights[e];
+                if (candidate < dist[next]) {
+                    q.visit(next);
+                    dist[next] = candidate;
+                    parent[next] = u;
+                    parentEdge[next] = e;
+                    heap.insertOrDecrease(next, candidate);
+                }
+            }
+        }
+        return meeting;
+    }
+
+    /**
+     * Appends the locations of the edge a-b after a, expanding shortcuts
+     * recursively (with an explicit stack) into original roads.
+     * @param middle bypassed location of the edge, or -1 for an original road
+     */
+    private static void unpack(Index idx, int a, int b, int middle, List<Integer> out) {
+        int[] stack = new int[48];
+        int top = 0;
+        stack[top++] = a;
+        stack[top++] = b;
+        stack[top++] = middle;
+        while (top > 0) {
+            int mid = stack[--top];
+            int to = stack[--top];
+            int from = stack[--top];
+            if (mid < 0) {
+                out.add(to);
+                continue;
+            }
+            if (top + 6 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            // Push the second half first so the first half is expanded first;
+            // both halves are stored at the bypassed (lower ranked) location
+            stack[top++] = mid;
+            stack[top++] = to;
+            stack[top++] = idx.upMiddle[idx.findUpEdge(mid, to)];
+            stack[top++] = from;
+            stack[top++] = mid;
+            stack[top++] = idx.upMiddle[idx.findUpEdge(mid, from)];
+        }
+    }
+
+    // ==================== Preprocessing ====================
+
+    private static Index build(CityGraph graph) {
+        long start = System.nanoTime();
+        long version = graph.getVersion();
+        FrozenCityGraph snapshot = graph.freeze();
+        Builder builder = new Builder(snapshot);
+        builder.contractAll();
+        return builder.toIndex(snapshot, version, System.nanoTime() - start);
+    }
+
+    /**
+     * Immutable result of preprocessing: the upward graph in CSR form.
+     * Every road or shortcut is stored once, at its lower ranked end.
+     */
+    private static final class Index {
+        final FrozenCityGraph snapshot;
+        final long version;
+        final int[] upOffsets;
+        final int[] upTargets;
+        final int[] upWeights;
+        /** Bypassed location of each shortcut, -1 for an original road */
+        final int[] upMiddle;
+        final int shortcutCount;
+        final long buildNanos;
+
+        Index(FrozenCityGraph snapshot, long version, int[] upOffsets, int[] upTargets,
+              int[] upWeights, int[] upMiddle, int shortcutCount, long buildNanos) {
+            this.snapshot = snapshot;
+            this.version = version;
+            this.upOffsets = upOffsets;
+            this.upTargets = upTargets;
+            this.upWeights = upWeights;
+            this.upMiddle = upMiddle;
+            this.shortcutCount = shortcutCount;
+            this.buildNanos = buildNanos;
+        }
+
+        /** Finds the upward edge from a lower ranked location to a higher one */
+        int findUpEdge(int lower, int higher) {
+            for (int e = upOffsets[lower]; e < upOffsets[lower + 1]; e++) {
+                if (upTargets[e] == higher) {
+                    return e;
+                }
+            }
+            throw new IllegalStateException("Missing hierarchy edge " + lower + " -> " + higher);
+        }
+    }
+
+    /**
+     * Mutable working graph used while contracting. Each location keeps
+     * growable arrays of (neighbour, weight, middle) for the locations that
+     * are not contracted yet.
+     */
+    private static final class Builder {
+        private final int n;
+        private final int[][] adjTarget;
+        private final int[][] adjWeight;
+        private final int[][] adjMiddle;
+        private final int[] adjSize;
+        private final int[] deletedNeighbours;
+
+        /** Upward edges recorded when each location is contracted */
+        private final int[][] upTarget;
+        private final int[][] upWeight;
+        private final int[][] upMiddle;
+        private int shortcutCount;
+
+        // Witness search state, reset through the touched list
+        private final long[] witnessDist;
+        private final int[] touched;
+        private int touchedCount;
+        private final IndexedMinHeap witnessHeap;
+        /** targetMark[w] == targetStamp while w is a target of the current witness search */
+        private final int[] targetMark;
+        private int targetStamp;
+
+        Builder(FrozenCityGraph snapshot) {
+            n = snapshot.getLocationCount();
+            int[] offsets = snapshot.offsets();
+            int[] targets = snapshot.targets();
+            int[] weights = snapshot.weights();
+            adjTarget = new int[n][];
+            adjWeight = new int[n][];
+            adjMiddle = new int[n][];
+            adjSize = new int[n];
+            for (int v = 0; v < n; v++) {
+                int degree = offsets[v + 1] - offsets[v];
+                adjTarget[v] = Arrays.copyOfRange(targets, offsets[v], offsets[v + 1]);
+                adjWeight[v] = Arrays.copyOfRange(weights, offsets[v], offsets[v + 1]);
+                adjMiddle[v] = new int[degree];
+                Arrays.fill(adjMiddle[v], -1);
+                adjSize[v] = degree;
+            }
+            deletedNeighbours = new int[n];
+            upTarget = new int[n][];
+            upWeight = new int[n][];
+            upMiddle = new int[n][];
+            witnessDist = new long[n];
+            Arrays.fill(witnessDist, Long.MAX_VALUE);
+            touched = new int[n];
+            witnessHeap = new IndexedMinHeap(n);
+            targetMark = new int[n];
+        }
+
+        /**
+         * Contracts every location in priority order. The contracted
+         * neighbours term is updated eagerly; the edge difference is only
+         * recomputed when a location reaches the top of the queue, and the
+         * location is put back if it is no longer the least important
+         * (lazy update).
+         */
+        void contractAll() {
+            IndexedMinHeap order = new IndexedMinHeap(n);
+            long[] keys = new long[n];
+            for (int v = 0; v < n; v++) {
+                keys[v] = priority(v);
+                order.insertOrDecrease(v, keys[v]);
+            }
+            while (!order.isEmpty()) {
+                int v = order.poll();
+                keys[v] = priority(v);
+                if (!order.isEmpty() && keys[v] > order.peekKey()) {
+                    order.insertOrDecrease(v, keys[v]); // No longer the least important
+                    continue;
+                }
+                contract(v);
+                for (int i = 0; i < adjSize[v]; i++) {
+                    int u = adjTarget[v][i];
+                    deletedNeighbours[u]++;
+                    order.update(u, ++keys[u]);
+                }
+            }
+        }
+
+        /**
+         * Importance of a location: shortcuts it would add minus roads it
+         * would remove (edge difference), plus contracted neighbours so
+         * contraction spreads evenly over the network.
+         */
+        private long priority(int v) {
+            int shortcuts = processNeighbours(v, false, PRIORITY_SETTLE_LIMIT);
+            return 2L * (shortcuts - adjSize[v]) + deletedNeighbours[v];
+        }
+
+        private void contract(int v) {
+            processNeighbours(v, true, WITNESS_SETTLE_LIMIT);
+            // Every remaining neighbour is contracted later, so it ranks higher
+            upTarget[v] = Arrays.copyOf(adjTarget[v], adjSize[v]);
+            upWeight[v] = Arrays.copyOf(adjWeight[v], adjSize[v]);
+            upMiddle[v] = Arrays.copyOf(adjMiddle[v], adjSize[v]);
+            // Take v out of the remaining network
+            for (int i = 0; i < adjSize[v]; i++) {
+                removeEdge(adjTarget[v][i], v);
+            }
+        }
+
+        /**
+         * Finds the neighbour pairs of v whose only shortest connection runs
+         * through v, and adds shortcuts for them when apply is true.
+         * @return number of shortcuts needed
+         */
+        private int processNeighbours(int v, boolean apply, int settleLimit) {
+            int degree = adjSize[v];
+            int[] neighbours = adjTarget[v];
+            int[] weights = adjWeight[v];
+            // maxAfter[i] = longest road from v to a neighbour after position i
+            int[] maxAfter = new int[degree];
+            for (int i = degree - 2; i >= 0; i--) {
+                maxAfter[i] = Math.max(maxAfter[i + 1], weights[i + 1]);
+            }
+
+            int needed = 0;
+            for (int i = 0; i < degree - 1; i++) {
+                int u = neighbours[i];
+                targetStamp++;
+                for (int j = i + 1; j < degree; j++) {
+                    targetMark[neighbours[j]] = targetStamp;
+                }
+                witnessSearch(u, v, (long) weights[i] + maxAfter[i], degree - 1 - i, settleLimit);
+                for (int j = i + 1; j < degree; j++) {
+                    long via = (long) weights[i] + weights[j];
+                    if (witnessDist[neighbours[j]] > via) {
+                        needed++;
+                        if (apply) {
+                            addShortcut(u, neighbours[j], (int) via, v);
+                        }
+                    }
+                }
+                clearWitness();
+            }
+            return needed;
+        }
+
+        /**
+         * Local Dijkstra from u that ignores the location being contracted
+         * and stops once every marked target is settled, at maxDistance, or
+         * after settleLimit locations.
+         */
+        private void witnessSearch(int u, int excluded, long maxDistance, int targetCount, int settleLimit) {
+            witnessDist[u] = 0;
+            touched[touchedCount++] = u;
+            witnessHeap.insertOrDecrease(u, 0);
+            int settled = 0;
+            while (!witnessHeap.isEmpty() && witnessHeap.peekKey() <= maxDistance && settled < settleLimit) {
+                int current = witnessHeap.poll();
+                settled++;
+                if (targetMark[current] == targetStamp && --targetCount == 0) {
+                    break;
+                }
+                long base = witnessDist[current];
+                int[] nextIds = adjTarget[current];
+                int[] nextWeights = adjWeight[current];
+                for (int i = 0; i < adjSize[current]; i++) {
+                    int next = nextIds[i];
+                    if (next == excluded) continue;
+                    long candidate = base + nextWeights[i];
+                    if (candidate < witnessDist[next]) {
+                        if (witnessDist[next] == Long.MAX_VALUE) {
+                            touched[touchedCount++] = next;
+                        }
+                        witnessDist[next] = candidate;
+                        witnessHeap.insertOrDecrease(next, candidate);
+                    }
+                }
+            }
+        }
+
+        private void clearWitness() {
+            for (int i = 0; i < touchedCount; i++) {
+                witnessDist[touched[i]] = Long.MAX_VALUE;
+            }
+            touchedCount = 0;
+            witnessHeap.clear();
+        }
+
+        /**
+         * Adds (or shortens) the shortcut u-w in both adjacency arrays.
+         */
+        private void addShortcut(int u, int w, int weight, int middle) {
+            for (int i = 0; i < adjSize[u]; i++) {
+                if (adjTarget[u][i] == w) {
+                    if (weight < adjWeight[u][i]) {
+                        adjWeight[u][i] = weight;
+                        adjMiddle[u][i] = middle;
+                        setEdge(w, u, weight, middle);
+                        shortcutCount++;
+                    }
+                    return;
+                }
+            }
+            appendEdge(u, w, weight, middle);
+            appendEdge(w, u, weight, middle);
+            shortcutCount++;
+        }
+
+        private void setEdge(int from, int to, int weight, int middle) {
+            for (int i = 0; i < adjSize[from]; i++) {
+                if (adjTarget[from][i] == to) {
+                    adjWeight[from][i] = weight;
+                    adjMiddle[from][i] = middle;
+                    return;
+                }
+            }
+        }
+
+        private void appendEdge(int from, int to, int weight, int middle) {
+            int size = adjSize[from];
+            if (size == adjTarget[from].length) {
+                int capacity = Math.max(4, size * 2);
+                adjTarget[from] = Arrays.copyOf(adjTarget[from], capacity);
+                adjWeight[from] = Arrays.copyOf(adjWeight[from], capacity);
+                adjMiddle[from] = Arrays.copyOf(adjMiddle[from], capacity);
+            }
+            adjTarget[from][size] = to;
+            adjWeight[from][size] = weight;
+            adjMiddle[from][size] = middle;
+            adjSize[from] = size + 1;
+        }
+
+        /** Removes the edge from-to by moving the last edge into its slot */
+        private void removeEdge(int from, int to) {
+            int last = adjSize[from] - 1;
+            for (int i = 0; i <= last; i++) {
+                if (adjTarget[from][i] == to) {
+                    adjTarget[from][i] = adjTarget[from][last];
+                    adjWeight[from][i] = adjWeight[from][last];
+                    adjMiddle[from][i] = adjMiddle[from][last];
+                    adjSize[from] = last;
+                    return;
+                }
+            }
+        }
+
+        Index toIndex(FrozenCityGraph snapshot, long version, long buildNanos) {
+            int[] offsets = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] = offsets[v] + upTarget[v].length;
+            }
+            int[] targets = new int[offsets[n]];
+            int[] weights = new int[offsets[n]];
+            int[] middles = new int[offsets[n]];
+            for (int v = 0; v < n; v++) {
+                System.arraycopy(upTarget[v], 0, targets, offsets[v], upTarget[v].length);
+                System.arraycopy(upWeight[v], 0, weights, offsets[v], upWeight[v].length);
+                System.arraycopy(upMiddle[v], 0, middles, offsets[v], upMiddle[v].length);
+            }
+            return new Index(snapshot, version, offsets, targets, weights, middles, shortcutCount, buildNanos);
+        }
+    }
+
+    /**
+     * Reusable per-thread query arrays. Only the entries touched by a query
+     * are reset afterwards, so a query costs O(settled) rather than O(V).
+     */
+    private static final class QueryState {
+        long[] distForward = new long[0];
+        long[] distBackward = new long[0];
+        int[] parentForward = new int[0];
+        int[] parentBackward = new int[0];
+        int[] edgeForward = new int[0];
+        int[] edgeBackward = new int[0];
+        IndexedMinHeap heapForward = new IndexedMinHeap(0);
+        IndexedMinHeap heapBackward = new IndexedMinHeap(0);
+        /** Locations with a finite distance on either side (each listed once) */
+        int[] touched = new int[0];
+        int touchedCount;
+        long best;
+        int settled;
+
+        void ensureCapacity(int n) {
+            if (distForward.length >= n) {
+                return;
+            }
+            distForward = new long[n];
+            distBackward = new long[n];
+            Arrays.fill(distForward, Long.MAX_VALUE);
+            Arrays.fill(distBackward, Long.MAX_VALUE);
+            parentForward = new int[n];
+            parentBackward = new int[n];
+            edgeForward = new int[n];
+            edgeBackward = new int[n];
+            heapForward = new IndexedMinHeap(n);
+            heapBackward = new IndexedMinHeap(n);
+            touched = new int[n];
+        }
+
+        void visit(int v) {
+            if (distForward[v] == Long.MAX_VALUE && distBackward[v] == Long.MAX_VALUE) {
+                touched[touchedCount++] = v;
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                distForward[touched[i]] = Long.MAX_VALUE;
+                distBackward[touched[i]] = Long.MAX_VALUE;
+            }
+            touchedCount = 0;
+            heapForward.clear();
+            heapBackward.clear();
+        }
+    }
+}
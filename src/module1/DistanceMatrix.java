@@ -0,0 +1,398 @@
+package module1;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Many-to-many table of shortest road distances, e.g. between every pair
+ * of depots for dispatch and logistics planning.
+ *
+ * Each source runs one Dijkstra search over a {@link FrozenCityGraph}
+ * snapshot (stopping once all target locations are settled); sources are
+ * processed in parallel on the common fork/join pool. Results are stored
+ * row by row in a single flat int array, so a 1,000 x 1,000 table takes
+ * 4 MB instead of a million boxed map entries.
+ *
+ * Matrices can be saved to and loaded from a compact binary file.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class DistanceMatrix {
+
+    /** Stored for pairs with no route between them */
+    public static final int UNREACHABLE = -1;
+
+    /** Identifies distance matrix files ("SCDM") */
+    private static final int FILE_MAGIC = 0x5343444D;
+    private static final int FILE_VERSION = 2;
+    /** Size of the buffer used to convert the file to and from little-endian */
+    private static final int BLOCK_BYTES = 1 << 16;
+    /** Rows computed by one task, which allocates its own search arrays */
+    private static final int ROWS_PER_TASK = 16;
+
+    // ==================== Fields ====================
+    private final String[] sources;
+    private final String[] targets;
+    /** Distance from sources[r] to targets[c] at distances[r * targets.length + c] */
+    private final int[] distances;
+    private final Map<String, Integer> rowIndex;
+    private final Map<String, Integer> columnIndex;
+
+    // ==================== Constructor ====================
+    private DistanceMatrix(String[] sources, String[] targets, int[] distances) {
+        this.sources = sources;
+        this.targets = targets;
+        this.distances = distances;
+        this.rowIndex = indexOf(sources);
+        this.columnIndex = indexOf(targets);
+    }
+
+    private static Map<String, Integer> indexOf(String[] names) {
+        Map<String, Integer> index = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            index.putIfAbsent(LocationDictionary.canonical(names[i]), i);
+        }
+        return index;
+    }
+
+    // ==================== Computation ====================
+
+    /**
+     * Computes the distances between every pair of locations in a graph.
+     * Time Complexity: O(V (V + E) log V), spread over the available cores
+     * @param graph the road network
+     * @return V x V distance matrix
+     */
+    public static DistanceMatrix compute(CityGraph graph) {
+        List<String> all = new ArrayList<>(graph.getLocations());
+        return compute(graph, all, all);
+    }
+
+    /**
+     * Computes the distances from each source to each target, in parallel.
+     * @param graph the road network
+     * @param sources row locations
+     * @param targets column locations
+     * @return the distance matrix, or null if any location is not found
+     */
+    public static DistanceMatrix compute(CityGraph graph, List<String> sources, List<String> targets) {
+        return compute(graph, sources, targets, Runtime.getRuntime().availableProcessors() > 1);
+    }
+
+    /**
+     * Computes the distances from each source to each target.
+     * @param graph the road network
+     * @param sources row locations
+     * @param targets column locations
+     * @param parallel true to run the per-source searches on all cores,
+     *                 false to run them one after another
+     * @return the distance matrix, or null if any location is not found or
+     *         the table would not fit in one array
+     */
+    public static DistanceMatrix compute(CityGraph graph, List<String> sources, List<String> targets,
+                                         boolean parallel) {
+        FrozenCityGraph snapshot = graph.freeze();
+        int[] sourceIds = resolve(snapshot, sources);
+        int[] targetIds = resolve(snapshot, targets);
+        if (sourceIds == null || targetIds == null
+                || (long) sourceIds.length * targetIds.length > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        int columns = targetIds.length;
+        int rowCount = sourceIds.length;
+        int[] distances = new int[rowCount * columns];
+        // Each task reuses one set of search arrays for its rows; they are
+        // dropped with the task, so pool threads keep nothing afterwards
+        int tasks = parallel ? (rowCount + ROWS_PER_TASK - 1) / ROWS_PER_TASK : 1;
+        int rowsPerTask = parallel ? ROWS_PER_TASK : rowCount;
+        IntStream chunks = IntStream.range(0, tasks);
+        (parallel ? chunks.parallel() : chunks).forEach(t -> {
+            SearchState state = new SearchState(snapshot, targetIds);
+            int end = Math.min(rowCount, (t + 1) * rowsPerTask);
+            for (int r = t * rowsPerTask; r < end; r++) {
+                state.fillRow(sourceIds[r], distances, r * columns);
+            }
+        });
+
+        return new DistanceMatrix(namesOf(snapshot, sourceIds), namesOf(snapshot, targetIds), distances);
+    }
+
+    private static int[] resolve(FrozenCityGraph snapshot, List<String> names) {
+        int[] ids = new int[names.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = snapshot.idOf(names.get(i));
+            if (ids[i] < 0) {
+                return null;
+            }
+        }
+        return ids;
+    }
+
+    private static String[] namesOf(FrozenCityGraph snapshot, int[] ids) {
+        String[] names = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            names[i] = snapshot.nameOf(ids[i]);
+        }
+        return names;
+    }
+
+    /**
+     * Dijkstra working arrays for one task. Only the entries a search
+     * touched are reset, so each row costs O(settled) to clean up.
+     */
+    private static final class SearchState {
+        private final int[] offsets;
+        private final int[] edgeTargets;
+        private final int[] weights;
+        private final long[] dist;
+        private final int[] touched;
+        private int touchedCount;
+        private final IndexedMinHeap heap;
+        /** columnsOf[v] = first column of v in the target list, or -1 */
+        private final int[] columnsOf;
+        /** nextColumn[c] = next column with the same target location, or -1 */
+        private final int[] nextColumn;
+        private final int distinctTargets;
+
+        SearchState(FrozenCityGraph snapshot, int[] targetIds) {
+            int n = snapshot.getLocationCount();
+            offsets = snapshot.offsets();
+            edgeTargets = snapshot.targets();
+            weights = snapshot.weights();
+            dist = new long[n];
+            Arrays.fill(dist, Long.MAX_VALUE);
+            touched = new int[n];
+            heap = new IndexedMinHeap(n);
+
+            columnsOf = new int[n];
+            Arrays.fill(columnsOf, -1);
+            nextColumn = new int[targetIds.length];
+            int distinct = 0;
+            for (int c = targetIds.length - 1; c >= 0; c--) {
+                if (columnsOf[targetIds[c]] < 0) {
+                    distinct++;
+                }
+                nextColumn[c] = columnsOf[targetIds[c]];
+                columnsOf[targetIds[c]] = c;
+            }
+            distinctTargets = distinct;
+        }
+
+        /**
+         * Runs Dijkstra from a source and writes one matrix row.
+         * The search stops as soon as every target location is settled.
+         */
+        void fillRow(int source, int[] out, int rowStart) {
+            int columns = nextColumn.length;
+            Arrays.fill(out, rowStart, rowStart + columns, UNREACHABLE);
+            dist[source] = 0;
+            touched[touchedCount++] = source;
+            heap.insertOrDecrease(source, 0);
+
+            int remaining = distinctTargets;
+            while (!heap.isEmpty() && remaining > 0) {
+                int current = heap.poll();
+                long base = dist[current];
+                if (columnsOf[current] >= 0) {
+                    for (int c = columnsOf[current]; c >= 0; c = nextColumn[c]) {
+                        out[rowStart + c] = (int) base;
+                    }
+                    remaining--;
+                }
+                for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                    int next = edgeTargets[e];
+                    long candidate = base + weights[e];
+                    if (candidate < dist[next]) {
+                        if (dist[next] == Long.MAX_VALUE) {
+                            touched[touchedCount++] = next;
+                        }
+                        dist[next] = candidate;
+                        heap.insertOrDecrease(next, candidate);
+                    }
+                }
+            }
+
+            for (int i = 0; i < touchedCount; i++) {
+                dist[touched[i]] = Long.MAX_VALUE;
+            }
+            touchedCount = 0;
+            heap.clear();
+        }
+    }
+
+    // ==================== Lookup ====================
+
+    /**
+     * Gets the distance between a source and a target location.
+     * @param from source location (a row of the matrix)
+     * @param to target location (a column of the matrix)
+     * @return distance in km, or UNREACHABLE if there is no route or a
+     *         location is not part of the matrix
+     */
+    public int getDistance(String from, String to) {
+        Integer row = rowIndex.get(LocationDictionary.canonical(from));
+        Integer column = columnIndex.get(LocationDictionary.canonical(to));
+        if (row == null || column == null) {
+            return UNREACHABLE;
+        }
+        return getDistance(row, column);
+    }
+
+    /**
+     * Gets a matrix entry by position.
+     * @param row source index
+     * @param column target index
+     * @return distance in km, or UNREACHABLE
+     */
+    public int getDistance(int row, int column) {
+        return distances[row * targets.length + column];
+    }
+
+    /**
+     * Gets a copy of one matrix row.
+     * @param row source index
+     * @return distances from the source to every target
+     */
+    public int[] getRow(int row) {
+        int start = row * targets.length;
+        return Arrays.copyOfRange(distances, start, start + targets.length);
+    }
+
+    public int getRowCount() {
+        return sources.length;
+    }
+
+    public int getColumnCount() {
+        return targets.length;
+    }
+
+    public String getSourceName(int row) {
+        return sources[row];
+    }
+
+    public String getTargetName(int column) {
+        return targets[column];
+    }
+
+    // ==================== Persistence ====================
+
+    /**
+     * Saves the matrix to a binary file. Everything is little-endian: a
+     * header (magic, version, rows, columns), each location name as a byte
+     * count followed by its UTF-8 bytes, then the distances row by row.
+     * @param file destination file
+     * @return true if saved, false on an I/O error
+     */
+    public boolean save(File file) {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), BLOCK_BYTES)) {
+            ByteBuffer block = ByteBuffer.allocate(BLOCK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            block.putInt(FILE_MAGIC).putInt(FILE_VERSION).putInt(sources.length).putInt(targets.length);
+            for (String name : sources) {
+                putName(out, block, name);
+            }
+            for (String name : targets) {
+                putName(out, block, name);
+            }
+            // Bulk-convert the distances a block at a time rather than one int per entry
+            for (int start = 0; start < distances.length; ) {
+                if (block.remaining() < 4) {
+                    drain(out, block);
+                }
+                int count = Math.min(block.remaining() / 4, distances.length - start);
+                block.asIntBuffer().put(distances, start, count);
+                block.position(block.position() + count * 4);
+                start += count;
+            }
+            drain(out, block);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void putName(OutputStream out, ByteBuffer block, String name) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (block.remaining() < 4 + bytes.length) {
+            drain(out, block);
+        }
+        block.putInt(bytes.length);
+        if (block.remaining() < bytes.length) {
+            drain(out, block); // Longer than the buffer: write it directly
+            out.write(bytes);
+        } else {
+            block.put(bytes);
+        }
+    }
+
+    private static void drain(OutputStream out, ByteBuffer block) throws IOException {
+        out.write(block.array(), 0, block.position());
+        block.clear();
+    }
+
+    /**
+     * Loads a matrix written by {@link #save(File)}.
+     * @param file source file
+     * @return the matrix, or null if the file is missing or not a distance matrix
+     */
+    public static DistanceMatrix load(File file) {
+        long fileBytes = file.length();
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file), BLOCK_BYTES))) {
+            ByteBuffer block = ByteBuffer.allocate(BLOCK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (getInt(in, block) != FILE_MAGIC || getInt(in, block) != FILE_VERSION) {
+                return null;
+            }
+            int rows = getInt(in, block);
+            int columns = getInt(in, block);
+            if (rows < 0 || columns < 0 || (long) rows * columns > Integer.MAX_VALUE) {
+                return null;
+            }
+            // Header, a length prefix per name and the distances must fit in the file
+            if (16 + 4L * ((long) rows + columns) + 4L * rows * columns > fileBytes) {
+                return null;
+            }
+            String[] sources = new String[rows];
+            String[] targets = new String[columns];
+            for (int i = 0; i < rows; i++) {
+                sources[i] = getName(in, block, fileBytes);
+            }
+            for (int i = 0; i < columns; i++) {
+                targets[i] = getName(in, block, fileBytes);
+            }
+            int[] distances = new int[rows * columns];
+            for (int start = 0; start < distances.length; start += BLOCK_BYTES / 4) {
+                int count = Math.min(BLOCK_BYTES / 4, distances.length - start);
+                in.readFully(block.array(), 0, count * 4);
+                block.clear();
+                block.asIntBuffer().get(distances, start, count);
+            }
+            return new DistanceMatrix(sources, targets, distances);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static int getInt(DataInputStream in, ByteBuffer block) throws IOException {
+        in.readFully(block.array(), 0, 4);
+        return block.getInt(0);
+    }
+
+    /**
+     * Reads one length-prefixed UTF-8 name.
+     * @throws IOException if the file ends early or the length is corrupt
+     */
+    private static String getName(DataInputStream in, ByteBuffer block, long fileBytes) throws IOException {
+        int length = getInt(in, block);
+        if (length < 0 || length > fileBytes) {
+            throw new IOException("Corrupt name length " + length);
+        }
+        byte[] bytes = length <= BLOCK_BYTES ? block.array() : new byte[length];
+        in.readFully(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
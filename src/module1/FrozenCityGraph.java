@@ -0,0 +1,256 @@
+package module1;
+
+import java.util.*;
+
+/**
+ * Immutable, read-optimised snapshot of a {@link CityGraph} in
+ * Compressed Sparse Row (CSR) form.
+ * Locations are numbered 0..V-1 and the roads of location v are stored in
+ * targets[offsets[v] .. offsets[v+1]) with matching weights, so traversals
+ * walk flat int arrays instead of hash maps and Edge objects
+ * (8 bytes per directed edge).
+ *
+ * Created with {@link CityGraph#freeze()}; later changes to the source graph
+ * are not reflected in the snapshot.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class FrozenCityGraph {
+
+    // ==================== Fields ====================
+    /** Location name for each vertex id */
+    private final String[] names;
+    /** Vertex id for each canonical (case-folded) location name */
+    private final Map<String, Integer> ids;
+    /** Start of each vertex's edges in targets/weights (length V + 1) */
+    private final int[] offsets;
+    /** Destination vertex id of each directed edge */
+    private final int[] targets;
+    /** Distance (km) of each directed edge */
+    private final int[] weights;
+
+    // ==================== Constructor ====================
+    /**
+     * Creates a snapshot from prepared CSR arrays. The arrays are not copied.
+     * @param names location name per vertex id
+     * @param offsets edge offsets per vertex (length names.length + 1)
+     * @param targets destination per directed edge
+     * @param weights distance per directed edge
+     */
+    FrozenCityGraph(String[] names, int[] offsets, int[] targets, int[] weights) {
+        this.names = names;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.ids = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            ids.put(LocationDictionary.canonical(names[i]), i);
+        }
+    }
+
+    // ==================== Lookup ====================
+
+    /**
+     * Gets the vertex id of a location (case-insensitive).
+     * @param location the location name
+     * @return vertex id, or -1 if not found
+     */
+    public int idOf(String location) {
+        Integer id = ids.get(LocationDictionary.canonical(location));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the location name of a vertex id.
+     * @param id vertex id
+     * @return location name
+     */
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    public boolean hasLocation(String location) {
+        return idOf(location) >= 0;
+    }
+
+    /**
+     * Gets the number of roads connected to a location.
+     * @param id vertex id
+     * @return degree of the vertex
+     */
+    public int degree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    public int getLocationCount() {
+        return names.length;
+    }
+
+    /**
+     * Gets the total number of roads (edges).
+     * @return number of roads (each undirected edge counted once)
+     */
+    public int getRoadCount() {
+        return targets.length / 2;
+    }
+
+    // ==================== Raw CSR Access (package-private) ====================
+
+    /** Edge offsets per vertex (length V + 1); callers must not modify */
+    int[] offsets() {
+        return offsets;
+    }
+
+    /** Destination vertex of each directed edge; callers must not modify */
+    int[] targets() {
+        return targets;
+    }
+
+    /** Distance of each directed edge; callers must not modify */
+    int[] weights() {
+        return weights;
+    }
+
+    // ==================== Traversal Operations ====================
+
+    /**
+     * Performs Breadth-First Search (BFS) from a location.
+     * @param start the starting location
+     * @return reachable locations in visit order, or null if start is not found
+     */
+    public String[] bfsTraversal(String start) {
+        int source = idOf(start);
+        return source < 0 ? null : toNames(bfsOrder(source));
+    }
+
+    /**
+     * Performs Breadth-First Search (BFS) using an int array as the queue.
+     * The snapshot is immutable, so this is safe to call from any thread.
+     * @param source id of the starting location
+     * @return ids of the reachable locations in visit order
+     */
+    public int[] bfsOrder(int source) {
+        boolean[] visited = new boolean[names.length];
+        int[] queue = new int[names.length];
+        int head = 0, tail = 0;
+
+        queue[tail++] = source;
+        visited[source] = true;
+
+        while (head < tail) {
+            int current = queue[head++];
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int next = targets[e];
+                if (!visited[next]) {
+                    visited[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Performs Depth-First Search (DFS) from a location.
+     * Visits locations in the same order as {@link CityGraph#dfsTraversal(String)}.
+     * @param start the starting location
+     * @return reachable locations in visit order, or null if start is not found
+     */
+    public String[] dfsTraversal(String start) {
+        int source = idOf(start);
+        return source < 0 ? null : toNames(dfsOrder(source));
+    }
+
+    /**
+     * Performs Depth-First Search (DFS) using an int array as the stack.
+     * The snapshot is immutable, so this is safe to call from any thread.
+     * @param source id of the starting location
+     * @return ids of the reachable locations in visit order
+     */
+    public int[] dfsOrder(int source) {
+        boolean[] visited = new boolean[names.length];
+        // Each vertex can be pushed once per incident edge, plus the start
+        int[] stack = new int[targets.length + 1];
+        int[] order = new int[names.length];
+        int top = 0, visitedCount = 0;
+
+        stack[top++] = source;
+
+        while (top > 0) {
+            int current = stack[--top];
+            if (!visited[current]) {
+                visited[current] = true;
+                order[visitedCount++] = current;
+
+                // Push unvisited neighbors in reverse order for consistent traversal
+                for (int e = offsets[current + 1] - 1; e >= offsets[current]; e--) {
+                    if (!visited[targets[e]]) {
+                        stack[top++] = targets[e];
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(order, visitedCount);
+    }
+
+    private String[] toNames(int[] ids) {
+        String[] result = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = names[ids[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Finds the shortest (minimum total distance) route between two locations
+     * using Dijkstra's algorithm with an indexed binary heap.
+     * Time Complexity: O((V + E) log V)
+     * @param from source location
+     * @param to destination location
+     * @return the shortest route, or null if a location is missing or no route exists
+     */
+    public RoutePath findShortestPath(String from, String to) {
+        int source = idOf(from);
+        int target = idOf(to);
+        if (source < 0 || target < 0) {
+            return null;
+        }
+
+        int n = names.length;
+        long[] dist = new long[n];
+        int[] parent = new int[n];
+        Arrays.fill(dist, Long.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+
+        dist[source] = 0;
+        heap.insertOrDecrease(source, 0);
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            settled++;
+            if (current == target) {
+                break; // Early termination at the target
+            }
+            long base = dist[current];
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int next = targets[e];
+                long candidate = base + weights[e];
+                if (candidate < dist[next]) {
+                    dist[next] = candidate;
+                    parent[next] = current;
+                    heap.insertOrDecrease(next, candidate);
+                }
+            }
+        }
+
+        if (dist[target] == Long.MAX_VALUE) {
+            return null;
+        }
+        LinkedList<String> path = new LinkedList<>();
+        for (int v = target; v >= 0; v = parent[v]) {
+            path.addFirst(names[v]);
+        }
+        return new RoutePath(path, (int) dist[target], settled);
+    }
+}
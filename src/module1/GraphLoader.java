@@ -0,0 +1,315 @@
+package module1;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Loads road networks from edge-list / CSV files into a {@link CityGraph}
+ * (and optionally a {@link BSTLocation}).
+ *
+ * File format, one entry per line:
+ * <pre>
+ *   # comment
+ *   from,to,distance      a road; distance in km (decimals are rounded)
+ *   name                  a location without roads
+ * </pre>
+ * Fields may be separated by commas or tabs and are trimmed of spaces and
+ * double quotes. A first line whose distance is not a number is taken as a
+ * header; other lines that do not parse are skipped and counted.
+ *
+ * The file is memory-mapped in large windows and parsed straight from the
+ * mapped bytes: distances are read digit by digit, and location names are
+ * interned by their bytes, so a String is only created the first time a
+ * name appears. Locations are then added to the graph and the BST in one
+ * batch each, followed by the roads.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class GraphLoader {
+
+    /** Bytes mapped at a time; lines must be shorter than this */
+    private static final long MAP_WINDOW = 1L << 28;
+
+    private GraphLoader() {
+    }
+
+    // ==================== Loading ====================
+
+    /**
+     * Loads a network file, adding its locations and roads to a graph.
+     * Locations and roads that already exist are kept as they are.
+     * @param file edge-list / CSV file
+     * @param graph graph to add to
+     * @param bst location tree to add the names to, or null
+     * @return load statistics, or null if the file cannot be read
+     */
+    public static LoadReport load(File file, CityGraph graph, BSTLocation bst) {
+        long start = System.nanoTime();
+        Parser parser = new Parser();
+        long size;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(MAP_WINDOW, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed = parser.parse(buffer, (int) length, position + length == size);
+                if (consumed == 0) {
+                    return null; // A single line longer than the mapping window
+                }
+                position += consumed;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        long parsed = System.nanoTime();
+
+        // Bulk insert: all names first, then the roads by id
+        List<String> names = parser.names.toStrings();
+        int locationsBefore = graph.getLocationCount();
+        graph.addLocations(names);
+        if (bst != null) {
+            bst.bulkLoad(names);
+        }
+        int[] graphIds = new int[names.size()];
+        for (int i = 0; i < graphIds.length; i++) {
+            graphIds[i] = graph.idOf(names.get(i));
+        }
+        int roadsAdded = 0;
+        int[] edges = parser.edges;
+        for (int e = 0; e < parser.edgeCount * 3; e += 3) {
+            if (graph.addRoad(graphIds[edges[e]], graphIds[edges[e + 1]], edges[e + 2])) {
+                roadsAdded++;
+            }
+        }
+        long inserted = System.nanoTime();
+
+        return new LoadReport(file.getName(), size, parser.lines, parser.edgeCount,
+                graph.getLocationCount() - locationsBefore, roadsAdded, parser.skipped, parser.firstSkippedLine,
+                parsed - start, inserted - parsed);
+    }
+
+    // ==================== Parsing ====================
+
+    /**
+     * Line-by-line parser over mapped bytes. Keeps the interned names and the
+     * roads read so far as (from id, to id, distance) triples.
+     */
+    private static final class Parser {
+        final NameTable names = new NameTable();
+        int[] edges = new int[3 * 1024];
+        int edgeCount;
+        long lines;
+        long skipped;
+        long firstSkippedLine = -1;
+        /** Field boundaries of the current line: start/end pairs */
+        private final int[] fields = new int[8];
+
+        /**
+         * Parses the complete lines in a buffer.
+         * @param last true if the buffer ends at the end of the file
+         * @return number of bytes consumed (up to the start of an incomplete last line)
+         */
+        int parse(MappedByteBuffer buffer, int length, boolean last) {
+            int lineStart = 0;
+            while (lineStart < length) {
+                int lineEnd = lineStart;
+                while (lineEnd < length && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                if (lineEnd == length && !last) {
+                    return lineStart; // Finish this line in the next window
+                }
+                lines++;
+                parseLine(buffer, lineStart, lineEnd);
+                lineStart = lineEnd + 1;
+            }
+            return length;
+        }
+
+        private void parseLine(MappedByteBuffer buffer, int start, int end) {
+            // Split on commas and tabs, trimming each field
+            int count = 0;
+            int fieldStart = start;
+            for (int i = start; i <= end; i++) {
+                byte b = i < end ? buffer.get(i) : (byte) ',';
+                if (b == ',' || b == '\t') {
+                    if (count == fields.length / 2) {
+                        skip();
+                        return;
+                    }
+                    int s = fieldStart, e = i;
+                    while (s < e && isBlank(buffer.get(s))) s++;
+                    while (e > s && isBlank(buffer.get(e - 1))) e--;
+                    fields[2 * count] = s;
+                    fields[2 * count + 1] = e;
+                    count++;
+                    fieldStart = i + 1;
+                }
+            }
+
+            if (count == 1 && fields[0] == fields[1]) {
+                return; // Blank line
+            }
+            if (buffer.get(fields[0]) == '#') {
+                return; // Comment
+            }
+            if (count == 1) {
+                names.idOf(buffer, fields[0], fields[1]);
+                return;
+            }
+            if (count != 3 || fields[0] == fields[1] || fields[2] == fields[3]) {
+                skip();
+                return;
+            }
+            int distance = parseDistance(buffer, fields[4], fields[5]);
+            if (distance < 0) {
+                if (lines > 1) {
+                    skip(); // Only the first line may be a header
+                }
+                return;
+            }
+            if (3 * edgeCount + 3 > edges.length) {
+                edges = Arrays.copyOf(edges, edges.length * 2);
+            }
+            edges[3 * edgeCount] = names.idOf(buffer, fields[0], fields[1]);
+            edges[3 * edgeCount + 1] = names.idOf(buffer, fields[2], fields[3]);
+            edges[3 * edgeCount + 2] = distance;
+            edgeCount++;
+        }
+
+        private void skip() {
+            skipped++;
+            if (firstSkippedLine < 0) {
+                firstSkippedLine = lines;
+            }
+        }
+
+        private static boolean isBlank(byte b) {
+            return b == ' ' || b == '"' || b == '\r';
+        }
+
+        /**
+         * Parses a non-negative decimal number, rounded to the nearest integer.
+         * @return the value, or -1 if the field is not a number or too large
+         */
+        private static int parseDistance(MappedByteBuffer buffer, int start, int end) {
+            long value = 0;
+            int i = start;
+            while (i < end && buffer.get(i) >= '0' && buffer.get(i) <= '9') {
+                value = value * 10 + (buffer.get(i) - '0');
+                if (value > Integer.MAX_VALUE) {
+                    return -1;
+                }
+                i++;
+            }
+            if (i == start) {
+                return -1;
+            }
+            if (i < end && buffer.get(i) == '.') {
+                i++;
+                if (i < end && buffer.get(i) >= '5' && buffer.get(i) <= '9') {
+                    value++;
+                }
+                while (i < end && buffer.get(i) >= '0' && buffer.get(i) <= '9') {
+                    i++;
+                }
+            }
+            return i == end && value <= Integer.MAX_VALUE ? (int) value : -1;
+        }
+    }
+
+    /**
+     * Open-addressing hash table from the raw bytes of a name to a dense id.
+     * Lookups hash and compare the mapped bytes in place; only a name's first
+     * occurrence is copied out.
+     */
+    private static final class NameTable {
+        /** slots[i] = id + 1 of the name in slot i, or 0 if empty */
+        private int[] slots = new int[1 << 10];
+        private byte[][] bytes = new byte[256][];
+        private int[] hashes = new int[256];
+        private int size;
+
+        int idOf(MappedByteBuffer buffer, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + buffer.get(i);
+            }
+            hash ^= hash >>> 16;
+
+            int mask = slots.length - 1;
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                int id = slots[slot] - 1;
+                if (id < 0) {
+                    return insert(buffer, start, end, hash, slot);
+                }
+                if (hashes[id] == hash && sameBytes(bytes[id], buffer, start, end)) {
+                    return id;
+                }
+            }
+        }
+
+        private int insert(MappedByteBuffer buffer, int start, int end, int hash, int slot) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+                hashes = Arrays.copyOf(hashes, size * 2);
+            }
+            byte[] name = new byte[end - start];
+            for (int i = 0; i < name.length; i++) {
+                name[i] = buffer.get(start + i);
+            }
+            int id = size++;
+            bytes[id] = name;
+            hashes[id] = hash;
+            slots[slot] = id + 1;
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+            return id;
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int id = 0; id < size; id++) {
+                int slot = hashes[id] & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id + 1;
+            }
+        }
+
+        private static boolean sameBytes(byte[] name, MappedByteBuffer buffer, int start, int end) {
+            if (name.length != end - start) {
+                return false;
+            }
+            for (int i = 0; i < name.length; i++) {
+                if (name[i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Decodes the names in id order.
+         * @return names as UTF-8 strings
+         */
+        List<String> toStrings() {
+            List<String> result = new ArrayList<>(size);
+            for (int id = 0; id < size; id++) {
+                result.add(new String(bytes[id], StandardCharsets.UTF_8));
+            }
+            return result;
+        }
+    }
+}
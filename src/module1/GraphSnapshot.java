@@ -0,0 +1,529 @@
+package module1;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Binary on-disk format for a {@link CityGraph} and its {@link BSTLocation},
+ * so a network can be saved once and reopened in a fraction of the time it
+ * takes to build or parse it.
+ *
+ * Layout (all numbers little-endian):
+ * <pre>
+ *   header     magic "SCGS", version, V, E (directed), strings, BST size,
+ *              string bytes, journal generation                8 x int
+ *   strings    byte offset of each string (strings + 1 ints), then the
+ *              UTF-8 bytes; location names first, then BST-only names
+ *   graph      CSR offsets (V + 1 ints), targets (E ints), weights (E ints)
+ *   coords     latitudes (V doubles), longitudes (V doubles), NaN = none
+ *   bst        string index of each BST name, in sorted order (ints)
+ *   trailer    CRC32 of everything above                        int
+ * </pre>
+ * The journal generation is the last {@link MutationJournal} segment
+ * folded into the snapshot (0 for snapshots saved by hand).
+ * Sections start on 8-byte boundaries. Files go through a small buffer in
+ * both directions, bulk-copying each section to or from a primitive array,
+ * so decoding allocates one String per name and no objects per road. They
+ * are never memory-mapped: on Windows a mapped file cannot be replaced
+ * until the mapping is garbage collected. A snapshot is written to a
+ * temporary file and renamed over the old one, so a crash while saving
+ * leaves the previous snapshot intact.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class GraphSnapshot {
+
+    /** Identifies snapshot files ("SCGS") */
+    private static final int FILE_MAGIC = 0x53434753;
+    private static final int FILE_VERSION = 1;
+    private static final int HEADER_BYTES = 8 * 4;
+    /** Size of the buffer between the arrays and the file */
+    private static final int BLOCK_BYTES = 1 << 20;
+
+    private GraphSnapshot() {
+    }
+
+    // ==================== Saving ====================
+
+    /**
+     * Saves a graph and location tree to a snapshot file.
+     * Traffic profiles and live travel times are not saved.
+     * @param graph the road network
+     * @param bst location tree to save with it, or null
+     * @param file destination file (replaced if it exists)
+     * @return true if saved, false on an I/O error or if the network is
+     *         too large for one file (2 GB)
+     */
+    public static boolean save(CityGraph graph, BSTLocation bst, File file) {
+        return write(graph.freeze(), graph.frozenCoordinates(),
+                bst == null ? new String[0] : bst.getInOrder(), 0, file);
+    }
+
+    /**
+     * Writes a snapshot from an already frozen graph, so it can be done on a
+     * background thread while the live graph keeps changing.
+     * @param csr frozen graph
+     * @param coordinates {latitudes, longitudes} in csr order
+     * @param bstNames BST names in sorted order
+     * @param journalGeneration last journal segment contained in this state
+     * @param file destination file (replaced if it exists)
+     * @return true if written
+     */
+    static boolean write(FrozenCityGraph csr, double[][] coordinates, String[] bstNames,
+                         int journalGeneration, File file) {
+        int n = csr.getLocationCount();
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+        int[] weights = csr.weights();
+
+        // String table: location names, then BST names the graph does not have
+        String[] strings = Arrays.copyOf(namesOf(csr), n + bstNames.length);
+        int[] bstIds = new int[bstNames.length];
+        int stringCount = n;
+        for (int i = 0; i < bstNames.length; i++) {
+            int id = csr.idOf(bstNames[i]);
+            if (id < 0 || !csr.nameOf(id).equals(bstNames[i])) {
+                id = stringCount;
+                strings[stringCount++] = bstNames[i];
+            }
+            bstIds[i] = id;
+        }
+        byte[][] encoded = new byte[stringCount][];
+        long stringBytes = 0;
+        for (int i = 0; i < stringCount; i++) {
+            encoded[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+            stringBytes += encoded[i].length;
+        }
+
+        long size = layout(stringCount, stringBytes, n, targets.length, bstIds.length)[5];
+        if (size > Integer.MAX_VALUE) {
+            return false;
+        }
+        File temporary = new File(file.getPath() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Writer out = new Writer(channel);
+            out.putInt(FILE_MAGIC);
+            out.putInt(FILE_VERSION);
+            out.putInt(n);
+            out.putInt(targets.length);
+            out.putInt(stringCount);
+            out.putInt(bstIds.length);
+            out.putInt((int) stringBytes);
+            out.putInt(journalGeneration);
+
+            int position = 0;
+            for (int i = 0; i < stringCount; i++) {
+                out.putInt(position);
+                position += encoded[i].length;
+            }
+            out.putInt(position);
+            for (byte[] bytes : encoded) {
+                out.putBytes(bytes);
+            }
+            out.align();
+
+            out.putInts(offsets);
+            out.putInts(targets);
+            out.putInts(weights);
+            out.align();
+
+            out.putDoubles(coordinates[0]);
+            out.putDoubles(coordinates[1]);
+            out.putInts(bstIds);
+            out.finish();
+            channel.force(false);
+        } catch (IOException e) {
+            temporary.delete();
+            return false;
+        }
+        return replace(temporary, file);
+    }
+
+    /**
+     * Renames a fully written file over the target, atomically where the
+     * file system allows it.
+     * @return true if the target now holds the new file
+     */
+    private static boolean replace(File temporary, File file) {
+        try {
+            try {
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            temporary.delete();
+            return false;
+        }
+    }
+
+    private static String[] namesOf(FrozenCityGraph csr) {
+        String[] names = new String[csr.getLocationCount()];
+        for (int v = 0; v < names.length; v++) {
+            names[v] = csr.nameOf(v);
+        }
+        return names;
+    }
+
+    /**
+     * Computes the section positions of a file.
+     * @return {string bytes start, CSR start, coordinates start, BST start, CRC position, file size}
+     */
+    private static long[] layout(int stringCount, long stringBytes, int locations, int edges, int bstSize) {
+        long strings = HEADER_BYTES + 4L * (stringCount + 1);
+        long csr = roundUp(strings + stringBytes);
+        long coordinates = roundUp(csr + 4L * (locations + 1) + 8L * edges);
+        long bst = coordinates + 16L * locations;
+        long crc = bst + 4L * bstSize;
+        return new long[]{strings, csr, coordinates, bst, crc, crc + 4};
+    }
+
+    private static long roundUp(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    /**
+     * Writes little-endian values through a buffer, keeping the CRC32 of
+     * everything written.
+     */
+    private static final class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer block = ByteBuffer.allocate(BLOCK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 crc = new CRC32();
+        private long position;
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            room(4);
+            block.putInt(value);
+            position += 4;
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            for (int done = 0; done < bytes.length; ) {
+                room(1);
+                int count = Math.min(block.remaining(), bytes.length - done);
+                block.put(bytes, done, count);
+                done += count;
+            }
+            position += bytes.length;
+        }
+
+        void putInts(int[] values) throws IOException {
+            for (int done = 0; done < values.length; ) {
+                room(4);
+                int count = Math.min(block.remaining() / 4, values.length - done);
+                block.asIntBuffer().put(values, done, count);
+                block.position(block.position() + 4 * count);
+                done += count;
+            }
+            position += 4L * values.length;
+        }
+
+        void putDoubles(double[] values) throws IOException {
+            for (int done = 0; done < values.length; ) {
+                room(8);
+                int count = Math.min(block.remaining() / 8, values.length - done);
+                block.asDoubleBuffer().put(values, done, count);
+                block.position(block.position() + 8 * count);
+                done += count;
+            }
+            position += 8L * values.length;
+        }
+
+        /** Pads with zeros to the next 8-byte boundary */
+        void align() throws IOException {
+            while ((position & 7) != 0) {
+                room(1);
+                block.put((byte) 0);
+                position++;
+            }
+        }
+
+        /** Appends the CRC of everything written and writes out the buffer */
+        void finish() throws IOException {
+            room(4);
+            crc.update(block.array(), 0, block.position());
+            block.putInt((int) crc.getValue());
+            drain();
+        }
+
+        private void room(int bytes) throws IOException {
+            if (block.remaining() < bytes) {
+                crc.update(block.array(), 0, block.position());
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            block.flip();
+            while (block.hasRemaining()) {
+                channel.write(block);
+            }
+            block.clear();
+        }
+    }
+
+    /**
+     * Reads little-endian values through a buffer, keeping the CRC32 of
+     * everything read.
+     */
+    private static final class Reader {
+        private final FileChannel channel;
+        private final ByteBuffer block = ByteBuffer.allocate(BLOCK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 crc = new CRC32();
+        private long position;
+
+        Reader(FileChannel channel) {
+            this.channel = channel;
+            block.limit(0);
+        }
+
+        int getInt() throws IOException {
+            fill(4);
+            position += 4;
+            return block.getInt();
+        }
+
+        void getBytes(byte[] bytes) throws IOException {
+            for (int done = 0; done < bytes.length; ) {
+                fill(1);
+                int count = Math.min(block.remaining(), bytes.length - done);
+                block.get(bytes, done, count);
+                done += count;
+            }
+            position += bytes.length;
+        }
+
+        void getInts(int[] values) throws IOException {
+            for (int done = 0; done < values.length; ) {
+                fill(4);
+                int count = Math.min(block.remaining() / 4, values.length - done);
+                block.asIntBuffer().get(values, done, count);
+                block.position(block.position() + 4 * count);
+                done += count;
+            }
+            position += 4L * values.length;
+        }
+
+        void getDoubles(double[] values) throws IOException {
+            for (int done = 0; done < values.length; ) {
+                fill(8);
+                int count = Math.min(block.remaining() / 8, values.length - done);
+                block.asDoubleBuffer().get(values, done, count);
+                block.position(block.position() + 8 * count);
+                done += count;
+            }
+            position += 8L * values.length;
+        }
+
+        /** Skips the padding up to a section start */
+        void skipTo(long sectionStart) throws IOException {
+            while (position < sectionStart) {
+                fill(1);
+                block.get();
+                position++;
+            }
+        }
+
+        /**
+         * Reads the stored CRC and compares it with that of everything read.
+         * @return true if they match
+         */
+        boolean checksumMatches() throws IOException {
+            fill(4);
+            crc.update(block.array(), 0, block.position());
+            return block.getInt() == (int) crc.getValue();
+        }
+
+        /** Makes at least the given number of bytes available in the buffer */
+        private void fill(int bytes) throws IOException {
+            if (block.remaining() >= bytes) {
+                return;
+            }
+            crc.update(block.array(), 0, block.position());
+            block.compact();
+            while (block.position() < bytes) {
+                if (channel.read(block) < 0) {
+                    throw new IOException("Snapshot ends early");
+                }
+            }
+            block.flip();
+        }
+    }
+
+    // ==================== Loading ====================
+
+    /**
+     * Checks whether a file starts like a snapshot (without verifying it).
+     * @param file file to check
+     * @return true if the file has the snapshot magic number
+     */
+    public static boolean isSnapshot(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Keep reading until four bytes or end of file
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == FILE_MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads the journal generation from a snapshot header (without verifying
+     * the rest of the file).
+     * @param file snapshot file
+     * @return the generation, or -1 if the file is not a readable snapshot
+     */
+    static int readJournalGeneration(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the whole header or end of file
+            }
+            if (header.hasRemaining() || header.getInt(0) != FILE_MAGIC || header.getInt(4) != FILE_VERSION) {
+                return -1;
+            }
+            return header.getInt(HEADER_BYTES - 4);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Decoded file contents; arrays are owned by the caller.
+     */
+    private static final class Contents {
+        String[] names;
+        int[] offsets;
+        int[] targets;
+        int[] weights;
+        double[] latitudes;
+        double[] longitudes;
+        String[] bstNames;
+    }
+
+    /**
+     * Opens a snapshot as an immutable CSR graph, the fastest way to get a
+     * read-only network ready for route queries.
+     * @param file snapshot file
+     * @return the graph, or null if the file is missing, damaged or not a snapshot
+     */
+    public static FrozenCityGraph loadFrozen(File file) {
+        Contents contents = read(file);
+        return contents == null ? null
+                : new FrozenCityGraph(contents.names, contents.offsets, contents.targets, contents.weights);
+    }
+
+    /**
+     * Loads a snapshot into a new, editable graph, and its locations into a tree.
+     * @param file snapshot file
+     * @param bst tree to add the saved BST names to, or null to skip them
+     * @return the graph, or null if the file is missing, damaged or not a snapshot
+     */
+    public static CityGraph load(File file, BSTLocation bst) {
+        Contents contents = read(file);
+        if (contents == null) {
+            return null;
+        }
+        CityGraph graph = new CityGraph();
+        graph.loadCsr(contents.names, contents.offsets, contents.targets, contents.weights,
+                contents.latitudes, contents.longitudes);
+        if (bst != null) {
+            bst.bulkLoad(Arrays.asList(contents.bstNames));
+        }
+        return graph;
+    }
+
+    /**
+     * Reads a snapshot file section by section and verifies its checksum.
+     * @return the contents, or null if the file cannot be used
+     */
+    private static Contents read(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + 8 || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            Reader in = new Reader(channel);
+            if (in.getInt() != FILE_MAGIC || in.getInt() != FILE_VERSION) {
+                return null;
+            }
+            int n = in.getInt();
+            int edges = in.getInt();
+            int stringCount = in.getInt();
+            int bstSize = in.getInt();
+            int stringBytes = in.getInt();
+            in.getInt();
+            if (n < 0 || edges < 0 || stringCount < n || bstSize < 0 || stringBytes < 0) {
+                return null;
+            }
+            long[] layout = layout(stringCount, stringBytes, n, edges, bstSize);
+            if (layout[5] != size) {
+                return null;
+            }
+
+            // The header matches the file size, so every array below fits in it
+            int[] stringOffsets = new int[stringCount + 1];
+            in.getInts(stringOffsets);
+            in.skipTo(layout[0]);
+            byte[] bytes = new byte[stringBytes];
+            in.getBytes(bytes);
+
+            Contents contents = new Contents();
+            contents.offsets = new int[n + 1];
+            contents.targets = new int[edges];
+            contents.weights = new int[edges];
+            in.skipTo(layout[1]);
+            in.getInts(contents.offsets);
+            in.getInts(contents.targets);
+            in.getInts(contents.weights);
+
+            contents.latitudes = new double[n];
+            contents.longitudes = new double[n];
+            in.skipTo(layout[2]);
+            in.getDoubles(contents.latitudes);
+            in.getDoubles(contents.longitudes);
+
+            int[] bstIds = new int[bstSize];
+            in.skipTo(layout[3]);
+            in.getInts(bstIds);
+            if (!in.checksumMatches()) {
+                return null;
+            }
+
+            String[] strings = new String[stringCount];
+            for (int i = 0; i < stringCount; i++) {
+                strings[i] = new String(bytes, stringOffsets[i], stringOffsets[i + 1] - stringOffsets[i],
+                        StandardCharsets.UTF_8);
+            }
+            contents.names = Arrays.copyOf(strings, n);
+            contents.bstNames = new String[bstSize];
+            for (int i = 0; i < bstSize; i++) {
+                contents.bstNames[i] = strings[bstIds[i]];
+            }
+            return contents;
+        } catch (IOException | RuntimeException e) {
+            // RuntimeException: index errors from a file that passed the checksum but is inconsistent
+            return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package module1;
+
+import java.util.Arrays;
+
+/**
+ * Snapshot of the size and degree statistics of a {@link CityGraph}.
+ * The graph maintains these values incrementally, so taking a snapshot is
+ * O(max degree) and never walks the adjacency lists.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class GraphStats {
+
+    // ==================== Fields ====================
+    private final int locationCount;
+    private final int roadCount;
+    private final int maxDegree;
+    private final int[] degreeHistogram;
+
+    // ==================== Constructor ====================
+    /**
+     * Creates a statistics snapshot.
+     * @param locationCount number of locations
+     * @param roadCount number of undirected roads
+     * @param maxDegree largest number of roads at one location
+     * @param degreeHistogram histogram[d] = number of locations with d roads
+     */
+    public GraphStats(int locationCount, int roadCount, int maxDegree, int[] degreeHistogram) {
+        this.locationCount = locationCount;
+        this.roadCount = roadCount;
+        this.maxDegree = maxDegree;
+        this.degreeHistogram = degreeHistogram;
+    }
+
+    // ==================== Accessors ====================
+
+    public int getLocationCount() {
+        return locationCount;
+    }
+
+    public int getRoadCount() {
+        return roadCount;
+    }
+
+    public int getMaxDegree() {
+        return maxDegree;
+    }
+
+    /**
+     * Gets the average number of roads per location.
+     * @return average degree (0 for an empty graph)
+     */
+    public double getAverageDegree() {
+        return locationCount == 0 ? 0 : 2.0 * roadCount / locationCount;
+    }
+
+    /**
+     * Gets the degree histogram.
+     * @return copy of histogram[d] = number of locations with d roads, for d = 0..maxDegree
+     */
+    public int[] getDegreeHistogram() {
+        return degreeHistogram.clone();
+    }
+
+    /**
+     * Gets the number of locations with a given number of roads.
+     * @param degree number of roads
+     * @return number of locations with that degree
+     */
+    public int getLocationsWithDegree(int degree) {
+        return degree >= 0 && degree < degreeHistogram.length ? degreeHistogram[degree] : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("locations=%d, roads=%d, maxDegree=%d, avgDegree=%.2f, histogram=%s",
+                locationCount, roadCount, maxDegree, getAverageDegree(), Arrays.toString(degreeHistogram));
+    }
+}
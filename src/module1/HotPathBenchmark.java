@@ -0,0 +1,220 @@
+package module1;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Micro-benchmarks of the route planner's hot paths: the CityGraph and
+ * BSTLocation operations the menus and route queries call most, at several
+ * network sizes and shapes. Run with {@link MicroBenchmark} (warmup and
+ * measured iterations, allocation per operation), so a change that slows
+ * an operation down or makes it allocate more shows up in the table.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class HotPathBenchmark {
+
+    /** Fixed seed so every run benchmarks the same networks and inputs */
+    private static final long SEED = 42L;
+    /** Network sizes (locations); each has about three roads per location */
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+    /** Network shapes benchmarked for the graph operations */
+    private static final int[] SHAPES = {CityGenerator.GRID, CityGenerator.GEOMETRIC, CityGenerator.SCALE_FREE};
+    /** Most operations per iteration for the cheap and state-changing benchmarks */
+    private static final int MAX_OPERATIONS = 10_000;
+
+    private HotPathBenchmark() {
+    }
+
+    // ==================== Suite ====================
+
+    /**
+     * Runs every benchmark and prints one table row per benchmark, shape
+     * and size.
+     */
+    public static void runAll() {
+        System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.println("  ║   HOT PATH MICRO-BENCHMARKS - CITYGRAPH AND BSTLOCATION                          ║");
+        System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════\n");
+        System.out.printf("  %d warmup + %d measured iterations per row; time and allocation are per operation.%n%n",
+                MicroBenchmark.WARMUP_ITERATIONS, MicroBenchmark.MEASUREMENT_ITERATIONS);
+
+        printHeader();
+        for (int shape : SHAPES) {
+            for (int size : SIZES) {
+                benchmarkGraph(shape, size);
+            }
+            printSeparator();
+        }
+        for (int size : SIZES) {
+            benchmarkBst(size);
+        }
+        System.out.println("  └────────────────────────────┴──────────────────┴───────────┴──────────────────┴────────────┴──────────────┴───────┘");
+        System.out.println("  * ± is the standard deviation across measured iterations; B/op comes from the");
+        System.out.println("    thread's allocated-bytes counter, GCs from the collector beans.");
+        System.out.println("  * Each state-changing iteration (addRoad, removeLocation, insert, delete) starts from a");
+        System.out.println("    freshly built network or tree; building it is not timed.");
+    }
+
+    // ==================== CityGraph ====================
+
+    private static void benchmarkGraph(int shape, int size) {
+        CityGraph graph = network(shape, size);
+        String[] names = new String[size];
+        for (int id = 0; id < size; id++) {
+            names[id] = graph.nameOf(id);
+        }
+        Random random = new Random(SEED);
+        int[] order = shuffledIds(size, random);
+        String[][] pairs = new String[MAX_OPERATIONS][];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new String[]{names[random.nextInt(size)], names[random.nextInt(size)]};
+        }
+        String shapeName = CityGenerator.shapeName(shape);
+
+        int additions = Math.min(size, MAX_OPERATIONS);
+        printRow("CityGraph.addRoad", shapeName, size, MicroBenchmark.measure(new MicroBenchmark.Trial() {
+            private CityGraph target;
+
+            @Override
+            public void setup() {
+                target = network(shape, size);
+            }
+
+            @Override
+            public long run(int i) {
+                return target.addRoad(pairs[i][0], pairs[i][1], 1 + (i & 31)) ? 1 : 0;
+            }
+        }, additions));
+
+        int removals = Math.min(size / 2, MAX_OPERATIONS);
+        printRow("CityGraph.removeLocation", shapeName, size, MicroBenchmark.measure(new MicroBenchmark.Trial() {
+            private CityGraph target;
+
+            @Override
+            public void setup() {
+                target = network(shape, size);
+            }
+
+            @Override
+            public long run(int i) {
+                return target.removeLocation(names[order[i]]) ? 1 : 0;
+            }
+        }, removals));
+
+        int traversals = Math.max(2, 200_000 / size);
+        printRow("CityGraph.bfsTraversal", shapeName, size, MicroBenchmark.measure(
+                i -> graph.bfsTraversal(names[order[i]]).length, traversals));
+        printRow("CityGraph.dfsTraversal", shapeName, size, MicroBenchmark.measure(
+                i -> graph.dfsTraversal(names[order[i]]).length, traversals));
+
+        int queries = Math.max(4, Math.min(MAX_OPERATIONS, 1_000_000 / size));
+        printRow("CityGraph.findShortestPath", shapeName, size, MicroBenchmark.measure(i -> {
+            RoutePath path = graph.findShortestPath(pairs[i][0], pairs[i][1]);
+            return path == null ? -1 : path.getTotalDistance();
+        }, queries));
+
+        printRow("CityGraph.getRoadCount", shapeName, size, MicroBenchmark.measure(
+                i -> graph.getRoadCount(), 1_000_000));
+    }
+
+    /**
+     * Builds a benchmark network with the route cache off, so repeated
+     * queries measure the search and not the cache.
+     */
+    private static CityGraph network(int shape, int size) {
+        CityGraph graph = CityGenerator.generate(shape, size, SEED, null);
+        graph.getRouteCache().setCapacity(0);
+        return graph;
+    }
+
+    // ==================== BSTLocation ====================
+
+    private static void benchmarkBst(int size) {
+        Random random = new Random(SEED);
+        String[] names = new String[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = "Location " + i;
+        }
+        String[] added = new String[MAX_OPERATIONS];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = "Added " + random.nextInt(Integer.MAX_VALUE);
+        }
+        int[] order = shuffledIds(size, random);
+        BSTLocation tree = tree(names);
+
+        int insertions = Math.min(size, MAX_OPERATIONS);
+        printRow("BSTLocation.insert", "-", size, MicroBenchmark.measure(new MicroBenchmark.Trial() {
+            private BSTLocation target;
+
+            @Override
+            public void setup() {
+                target = tree(names);
+            }
+
+            @Override
+            public long run(int i) {
+                return target.insert(added[i]) ? 1 : 0;
+            }
+        }, insertions));
+
+        printRow("BSTLocation.contains", "-", size, MicroBenchmark.measure(
+                i -> tree.contains(names[order[i % size]]) ? 1 : 0, 100_000));
+
+        int deletions = Math.min(size / 2, MAX_OPERATIONS);
+        printRow("BSTLocation.delete", "-", size, MicroBenchmark.measure(new MicroBenchmark.Trial() {
+            private BSTLocation target;
+
+            @Override
+            public void setup() {
+                target = tree(names);
+            }
+
+            @Override
+            public long run(int i) {
+                return target.delete(names[order[i]]) ? 1 : 0;
+            }
+        }, deletions));
+
+        printRow("BSTLocation.getInOrder", "-", size, MicroBenchmark.measure(
+                i -> tree.getInOrder().length, Math.max(2, 200_000 / size)));
+    }
+
+    private static BSTLocation tree(String[] names) {
+        BSTLocation tree = new BSTLocation();
+        tree.bulkLoad(Arrays.asList(names));
+        return tree;
+    }
+
+    // ==================== Helpers ====================
+
+    private static int[] shuffledIds(int size, Random random) {
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+
+    private static void printHeader() {
+        System.out.println("  ┌────────────────────────────┬──────────────────┬───────────┬──────────────────┬────────────┬──────────────┬───────┐");
+        System.out.println("  │ Benchmark                  │ Shape            │ Locations │ ns/op            │ ± ns/op    │ Alloc B/op   │ GCs   │");
+        System.out.println("  ├────────────────────────────┼──────────────────┼───────────┼──────────────────┼────────────┼──────────────┼───────┤");
+    }
+
+    private static void printSeparator() {
+        System.out.println("  ├────────────────────────────┼──────────────────┼───────────┼──────────────────┼────────────┼──────────────┼───────┤");
+    }
+
+    private static void printRow(String benchmark, String shape, int size, MicroBenchmark.Result result) {
+        String allocation = Double.isNaN(result.bytesPerOp) ? "n/a" : String.format("%,.1f", result.bytesPerOp);
+        System.out.printf("  │ %-26s │ %-16s │ %,9d │ %,16.1f │ %,10.1f │ %12s │ %5d │%n", benchmark, shape, size,
+                result.nanosPerOp, result.nanosStdDev, allocation, result.collections);
+    }
+}
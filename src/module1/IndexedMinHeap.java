@@ -0,0 +1,149 @@
+package module1;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over integer vertex ids with decrease-key support.
+ * Used by the shortest-path searches so that each vertex appears in the
+ * heap at most once and no entry objects are allocated per relaxation.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+class IndexedMinHeap {
+
+    // ==================== Fields ====================
+    /** heap[i] = vertex id stored at heap slot i */
+    private int[] heap;
+    /** position[v] = heap slot of vertex v, or -1 if not in the heap */
+    private int[] position;
+    /** key[v] = current priority of vertex v */
+    private long[] key;
+    private int size;
+
+    // ==================== Constructor ====================
+    /**
+     * Creates a heap able to hold vertex ids in the range [0, capacity).
+     * @param capacity number of vertex ids
+     */
+    IndexedMinHeap(int capacity) {
+        heap = new int[Math.max(1, capacity)];
+        position = new int[Math.max(1, capacity)];
+        key = new long[Math.max(1, capacity)];
+        Arrays.fill(position, -1);
+    }
+
+    // ==================== Operations ====================
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int vertex) {
+        return position[vertex] >= 0;
+    }
+
+    /**
+     * Returns the smallest key in the heap without removing it.
+     * @return minimum key, or Long.MAX_VALUE if empty
+     */
+    long peekKey() {
+        return size == 0 ? Long.MAX_VALUE : key[heap[0]];
+    }
+
+    /**
+     * Inserts a vertex, or lowers its key if it is already present.
+     * Does nothing if the vertex is present with a smaller or equal key.
+     * @param vertex vertex id
+     * @param priority new key
+     */
+    void insertOrDecrease(int vertex, long priority) {
+        int pos = position[vertex];
+        if (pos < 0) {
+            key[vertex] = priority;
+            heap[size] = vertex;
+            position[vertex] = size;
+            siftUp(size++);
+        } else if (priority < key[vertex]) {
+            key[vertex] = priority;
+            siftUp(pos);
+        }
+    }
+
+    /**
+     * Inserts a vertex, or changes its key in either direction if it is
+     * already present.
+     * @param vertex vertex id
+     * @param priority new key
+     */
+    void update(int vertex, long priority) {
+        int pos = position[vertex];
+        if (pos < 0 || priority < key[vertex]) {
+            insertOrDecrease(vertex, priority);
+        } else if (priority > key[vertex]) {
+            key[vertex] = priority;
+            siftDown(pos);
+        }
+    }
+
+    /**
+     * Removes and returns the vertex with the smallest key.
+     * @return vertex id
+     */
+    int poll() {
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Removes all vertices so the heap can be reused for another search.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    // ==================== Heap Maintenance ====================
+
+    private void siftUp(int pos) {
+        int vertex = heap[pos];
+        long k = key[vertex];
+        while (pos > 0) {
+            int parentPos = (pos - 1) >>> 1;
+            int parent = heap[parentPos];
+            if (key[parent] <= k) break;
+            heap[pos] = parent;
+            position[parent] = pos;
+            pos = parentPos;
+        }
+        heap[pos] = vertex;
+        position[vertex] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int vertex = heap[pos];
+        long k = key[vertex];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && key[heap[right]] < key[heap[child]]) {
+                child = right;
+            }
+            if (key[heap[child]] >= k) break;
+            heap[pos] = heap[child];
+            position[heap[pos]] = pos;
+            pos = child;
+        }
+        heap[pos] = vertex;
+        position[vertex] = pos;
+    }
+}
@@ -0,0 +1,121 @@
+package module1;
+
+/**
+ * Statistics of one {@link GraphLoader} run: what was read, what was
+ * added to the graph, and how fast.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class LoadReport {
+
+    // ==================== Fields ====================
+    private final String fileName;
+    private final long bytes;
+    private final long lines;
+    private final int roadsRead;
+    private final int locationsAdded;
+    private final int roadsAdded;
+    private final long skippedLines;
+    private final long firstSkippedLine;
+    private final long parseNanos;
+    private final long insertNanos;
+
+    // ==================== Constructor ====================
+    LoadReport(String fileName, long bytes, long lines, int roadsRead, int locationsAdded, int roadsAdded,
+               long skippedLines, long firstSkippedLine, long parseNanos, long insertNanos) {
+        this.fileName = fileName;
+        this.bytes = bytes;
+        this.lines = lines;
+        this.roadsRead = roadsRead;
+        this.locationsAdded = locationsAdded;
+        this.roadsAdded = roadsAdded;
+        this.skippedLines = skippedLines;
+        this.firstSkippedLine = firstSkippedLine;
+        this.parseNanos = parseNanos;
+        this.insertNanos = insertNanos;
+    }
+
+    // ==================== Accessors ====================
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * Gets the number of road lines read, including roads that were not
+     * added because they already existed or joined a location to itself.
+     * @return road lines parsed
+     */
+    public int getRoadsRead() {
+        return roadsRead;
+    }
+
+    public int getLocationsAdded() {
+        return locationsAdded;
+    }
+
+    public int getRoadsAdded() {
+        return roadsAdded;
+    }
+
+    /**
+     * Gets the number of lines that could not be parsed.
+     * @return malformed line count
+     */
+    public long getSkippedLines() {
+        return skippedLines;
+    }
+
+    /**
+     * Gets the line number of the first malformed line.
+     * @return 1-based line number, or -1 if every line parsed
+     */
+    public long getFirstSkippedLine() {
+        return firstSkippedLine;
+    }
+
+    public double getParseMillis() {
+        return parseNanos / 1_000_000.0;
+    }
+
+    public double getInsertMillis() {
+        return insertNanos / 1_000_000.0;
+    }
+
+    public double getTotalMillis() {
+        return (parseNanos + insertNanos) / 1_000_000.0;
+    }
+
+    /**
+     * Gets the load throughput, from opening the file to the last road added.
+     * @return road lines loaded per second
+     */
+    public double getEdgesPerSecond() {
+        long nanos = parseNanos + insertNanos;
+        return nanos == 0 ? 0 : roadsRead * 1e9 / nanos;
+    }
+
+    /**
+     * Gets the parse throughput.
+     * @return megabytes of file parsed per second
+     */
+    public double getMegabytesPerSecond() {
+        return parseNanos == 0 ? 0 : bytes / 1e6 * 1e9 / parseNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %,d lines, %,d locations and %,d roads added (%,d skipped) in %.1f ms"
+                        + " - %,.0f edges/sec, %.1f MB/s parsed",
+                fileName, lines, locationsAdded, roadsAdded, skippedLines, getTotalMillis(),
+                getEdgesPerSecond(), getMegabytesPerSecond());
+    }
+}
@@ -0,0 +1,112 @@
+package module1;
+
+import java.util.*;
+
+/**
+ * Dictionary that maps location names to dense integer ids and back.
+ * Names are canonicalised once (case-folded) when they enter the
+ * dictionary, so lookups are a single hash probe and callers can work with
+ * int ids instead of repeatedly comparing Strings case-insensitively.
+ * Ids of removed locations are recycled to keep the id range dense.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class LocationDictionary {
+
+    // ==================== Fields ====================
+    /** Canonical key -> id */
+    private final Map<String, Integer> idsByKey;
+    /** id -> display name (null for a free id) */
+    private final List<String> names;
+    /** Ids released by remove(), reused before new ids are handed out */
+    private final Deque<Integer> freeIds;
+
+    // ==================== Constructor ====================
+    public LocationDictionary() {
+        idsByKey = new HashMap<>();
+        names = new ArrayList<>();
+        freeIds = new ArrayDeque<>();
+    }
+
+    // ==================== Canonical Form ====================
+
+    /**
+     * Gets the canonical (case-folded) form of a location name.
+     * Two names refer to the same location if their canonical forms are equal.
+     * @param name the location name
+     * @return canonical key for the name
+     */
+    public static String canonical(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    // ==================== Operations ====================
+
+    /**
+     * Adds a location name and assigns it an id.
+     * @param name the location name (its original spelling is kept for display)
+     * @return the new id, or -1 if the name already exists
+     */
+    public int add(String name) {
+        String key = canonical(name);
+        if (idsByKey.containsKey(key)) {
+            return -1;
+        }
+        int id;
+        if (freeIds.isEmpty()) {
+            id = names.size();
+            names.add(name);
+        } else {
+            id = freeIds.pop();
+            names.set(id, name);
+        }
+        idsByKey.put(key, id);
+        return id;
+    }
+
+    /**
+     * Removes a location id so it can be reused.
+     * @param id the id to release
+     */
+    public void remove(int id) {
+        idsByKey.remove(canonical(names.get(id)));
+        names.set(id, null);
+        freeIds.push(id);
+    }
+
+    /**
+     * Gets the id of a location name (case-insensitive).
+     * @param name the location name
+     * @return the id, or -1 if not found
+     */
+    public int idOf(String name) {
+        Integer id = idsByKey.get(canonical(name));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the display name of an id.
+     * @param id the location id
+     * @return the name, or null if the id is free
+     */
+    public String nameOf(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * Gets the number of locations currently in the dictionary.
+     * @return number of names
+     */
+    public int size() {
+        return idsByKey.size();
+    }
+
+    /**
+     * Gets one more than the largest id ever handed out.
+     * Arrays indexed by id must be at least this long.
+     * @return id capacity
+     */
+    public int capacity() {
+        return names.size();
+    }
+}
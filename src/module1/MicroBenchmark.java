@@ -0,0 +1,149 @@
+package module1;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Small micro-benchmark harness in the style of JMH, for timing single
+ * operations on the route planner's data structures.
+ *
+ * Each benchmark runs a number of warmup iterations (so the JIT compiles
+ * the code under test) followed by measured iterations. Every iteration
+ * starts with an untimed setup, so operations that change state (adding
+ * roads, deleting locations) always run against the same starting point.
+ * Results of the timed operations are folded into a sink, which keeps the
+ * JIT from removing the work as dead code. Allocation is read from the
+ * thread's allocated-bytes counter (the same source as JMH's GC profiler),
+ * and garbage collections are counted from the collector beans.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+final class MicroBenchmark {
+
+    /** Untimed iterations run first */
+    static final int WARMUP_ITERATIONS = 3;
+    /** Timed iterations averaged into the result */
+    static final int MEASUREMENT_ITERATIONS = 5;
+
+    /** Consumes benchmark results so they are never dead code */
+    private static volatile long sink;
+
+    private MicroBenchmark() {
+    }
+
+    /**
+     * One benchmark: state prepared by {@link #setup()} and an operation
+     * that is timed.
+     */
+    interface Trial {
+        /**
+         * Prepares the state for an iteration (not timed).
+         */
+        default void setup() {
+        }
+
+        /**
+         * Runs the operation once.
+         * @param invocation 0-based number of this call within the iteration
+         * @return any value derived from the result, to be consumed
+         */
+        long run(int invocation);
+    }
+
+    /**
+     * Measurement of one benchmark.
+     */
+    static final class Result {
+        final double nanosPerOp;
+        final double nanosStdDev;
+        /** Bytes allocated per operation, or NaN if the JVM cannot tell */
+        final double bytesPerOp;
+        final long collections;
+
+        Result(double nanosPerOp, double nanosStdDev, double bytesPerOp, long collections) {
+            this.nanosPerOp = nanosPerOp;
+            this.nanosStdDev = nanosStdDev;
+            this.bytesPerOp = bytesPerOp;
+            this.collections = collections;
+        }
+    }
+
+    /**
+     * Runs a benchmark.
+     * @param trial the benchmark
+     * @param operations operations per iteration (setup must allow this many)
+     * @return average time and allocation per operation over the measured iterations
+     */
+    static Result measure(Trial trial, int operations) {
+        com.sun.management.ThreadMXBean allocation = allocationCounter();
+        long threadId = Thread.currentThread().getId();
+        System.gc(); // Start from a clean heap, so earlier benchmarks' garbage is not collected here
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            trial.setup();
+            sink += runIteration(trial, operations);
+        }
+
+        double[] nanosPerOp = new double[MEASUREMENT_ITERATIONS];
+        long bytes = 0;
+        long collections = 0;
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            trial.setup();
+            long gcBefore = collectionCount();
+            long bytesBefore = allocation == null ? 0 : allocation.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            sink += runIteration(trial, operations);
+            long elapsed = System.nanoTime() - start;
+            bytes += allocation == null ? 0 : allocation.getThreadAllocatedBytes(threadId) - bytesBefore;
+            collections += collectionCount() - gcBefore;
+            nanosPerOp[i] = (double) elapsed / operations;
+        }
+
+        double mean = 0;
+        for (double value : nanosPerOp) {
+            mean += value;
+        }
+        mean /= MEASUREMENT_ITERATIONS;
+        double variance = 0;
+        for (double value : nanosPerOp) {
+            variance += (value - mean) * (value - mean);
+        }
+        double stdDev = Math.sqrt(variance / (MEASUREMENT_ITERATIONS - 1));
+        double bytesPerOp = allocation == null ? Double.NaN : (double) bytes / operations / MEASUREMENT_ITERATIONS;
+        return new Result(mean, stdDev, bytesPerOp, collections);
+    }
+
+    private static long runIteration(Trial trial, int operations) {
+        long result = 0;
+        for (int i = 0; i < operations; i++) {
+            result += trial.run(i);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the per-thread allocation counter (a HotSpot extension).
+     * @return the counter, or null if this JVM does not provide one
+     */
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+        if (!counter.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        counter.setThreadAllocatedMemoryEnabled(true);
+        return counter;
+    }
+
+    private static long collectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+}
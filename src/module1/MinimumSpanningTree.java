@@ -0,0 +1,340 @@
+package module1;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Minimum spanning forest of a road network: the cheapest set of roads
+ * (by total km) that keeps every location connected to everything it can
+ * reach now. A network with several separate parts gets one tree per part.
+ *
+ * Two algorithms over a {@link FrozenCityGraph}:
+ * <ul>
+ *   <li><b>Kruskal</b> - sort all roads by length and keep each road that
+ *       joins two different trees ({@link UnionFind}). Sequential baseline,
+ *       O(E log E).</li>
+ *   <li><b>Borůvka</b> - in rounds, every tree picks its cheapest road to
+ *       another tree and all picked roads are added at once, at least halving
+ *       the number of trees per round. The scan for cheapest roads is split
+ *       into chunks on the common fork/join pool; each tree's minimum is kept
+ *       with a compare-and-set, so threads never lock. O(E log V).</li>
+ * </ul>
+ * Equal-length roads are ordered by their lower, then higher location id,
+ * which makes the forest unique: both algorithms return the same roads.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class MinimumSpanningTree {
+
+    /** Below this many locations the sequential Borůvka is faster than forking tasks */
+    public static final int PARALLEL_THRESHOLD = 50_000;
+
+    /** Locations scanned by one task */
+    private static final int CHUNK_SIZE = 2048;
+
+    private MinimumSpanningTree() {
+    }
+
+    // ==================== Result ====================
+    /**
+     * The chosen roads and their total length.
+     */
+    public static class Result {
+        private final FrozenCityGraph graph;
+        private final int[] from;
+        private final int[] to;
+        private final int[] distances;
+        private final long totalDistance;
+        private final int rounds;
+
+        Result(FrozenCityGraph graph, int[] from, int[] to, int[] distances, int rounds) {
+            this.graph = graph;
+            this.from = from;
+            this.to = to;
+            this.distances = distances;
+            this.rounds = rounds;
+            long total = 0;
+            for (int distance : distances) {
+                total += distance;
+            }
+            this.totalDistance = total;
+        }
+
+        /**
+         * Gets the number of roads in the forest (locations - trees).
+         * @return road count
+         */
+        public int getRoadCount() {
+            return from.length;
+        }
+
+        /**
+         * Gets the number of trees, i.e. separate parts of the network
+         * (an isolated location is a tree of its own).
+         * @return tree count
+         */
+        public int getTreeCount() {
+            return graph.getLocationCount() - from.length;
+        }
+
+        public long getTotalDistance() {
+            return totalDistance;
+        }
+
+        public String getFrom(int road) {
+            return graph.nameOf(from[road]);
+        }
+
+        public String getTo(int road) {
+            return graph.nameOf(to[road]);
+        }
+
+        public int getDistance(int road) {
+            return distances[road];
+        }
+
+        /**
+         * Gets the number of Borůvka rounds that were needed.
+         * @return rounds, or 0 for Kruskal
+         */
+        public int getRounds() {
+            return rounds;
+        }
+
+        /**
+         * Checks whether two results chose exactly the same roads.
+         * @param other another result for the same graph
+         * @return true if the road sets are equal
+         */
+        public boolean sameRoads(Result other) {
+            return Arrays.equals(sortedKeys(), other.sortedKeys());
+        }
+
+        private long[] sortedKeys() {
+            long[] keys = new long[from.length];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = (long) Math.min(from[i], to[i]) << 32 | Math.max(from[i], to[i]);
+            }
+            Arrays.sort(keys);
+            return keys;
+        }
+    }
+
+    // ==================== Public API ====================
+
+    /**
+     * Computes the minimum spanning forest, with Borůvka in parallel when
+     * the graph is large enough.
+     * @param graph the network
+     * @return the chosen roads
+     */
+    public static Result compute(FrozenCityGraph graph) {
+        boolean parallel = graph.getLocationCount() >= PARALLEL_THRESHOLD
+                && Runtime.getRuntime().availableProcessors() > 1;
+        return boruvka(graph, parallel);
+    }
+
+    /**
+     * Computes the minimum spanning forest with Kruskal's algorithm.
+     * @param graph the network
+     * @return the chosen roads
+     */
+    public static Result kruskal(FrozenCityGraph graph) {
+        int n = graph.getLocationCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] weights = graph.weights();
+
+        // Each road once, ordered by (lower id, higher id) so that ties in
+        // length break the same way as in Borůvka
+        int roads = graph.getRoadCount();
+        int[] lo = new int[roads];
+        int[] hi = new int[roads];
+        int[] length = new int[roads];
+        long[] slice = new long[16];
+        int count = 0;
+        for (int u = 0; u < n; u++) {
+            int degree = offsets[u + 1] - offsets[u];
+            if (slice.length < degree) {
+                slice = new long[degree];
+            }
+            int higher = 0;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (targets[e] > u) {
+                    slice[higher++] = (long) targets[e] << 32 | weights[e];
+                }
+            }
+            Arrays.sort(slice, 0, higher);
+            for (int i = 0; i < higher; i++) {
+                lo[count] = u;
+                hi[count] = (int) (slice[i] >>> 32);
+                length[count++] = (int) slice[i];
+            }
+        }
+
+        // Sort by (length, position), packed into one long per road
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (long) length[i] << 32 | i;
+        }
+        Arrays.sort(order);
+
+        UnionFind forest = new UnionFind(n);
+        for (int v = 0; v < n; v++) {
+            forest.makeSet(v);
+        }
+        int[] from = new int[Math.max(0, n - 1)];
+        int[] to = new int[from.length];
+        int[] distances = new int[from.length];
+        int chosen = 0;
+        for (int i = 0; i < count && chosen < from.length; i++) {
+            int road = (int) order[i];
+            if (forest.union(lo[road], hi[road])) {
+                from[chosen] = lo[road];
+                to[chosen] = hi[road];
+                distances[chosen++] = length[road];
+            }
+        }
+        return new Result(graph, Arrays.copyOf(from, chosen), Arrays.copyOf(to, chosen),
+                Arrays.copyOf(distances, chosen), 0);
+    }
+
+    /**
+     * Computes the minimum spanning forest with Borůvka's algorithm.
+     * @param graph the network
+     * @param parallel true to scan for cheapest roads on all cores
+     * @return the chosen roads
+     */
+    public static Result boruvka(FrozenCityGraph graph, boolean parallel) {
+        int n = graph.getLocationCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] weights = graph.weights();
+
+        // tree[v] = root id of v's tree; roots lists the trees still growing
+        int[] tree = new int[n];
+        int[] roots = new int[n];
+        for (int v = 0; v < n; v++) {
+            tree[v] = v;
+            roots[v] = v;
+        }
+        int rootCount = n;
+        int[] cheapest = new int[n];            // cheapest road position from each location, -1 if none
+        AtomicIntegerArray best = new AtomicIntegerArray(n); // location holding each tree's cheapest road
+        int[] relabel = new int[n];             // old root -> root after the round's joins
+        UnionFind forest = new UnionFind(n);
+        for (int v = 0; v < n; v++) {
+            forest.makeSet(v);
+        }
+
+        int[] from = new int[Math.max(0, n - 1)];
+        int[] to = new int[from.length];
+        int[] distances = new int[from.length];
+        int chosen = 0;
+        int rounds = 0;
+        int chunks = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        while (rootCount > 1) {
+            rounds++;
+            for (int i = 0; i < rootCount; i++) {
+                best.set(roots[i], -1);
+            }
+            // Cheapest road out of each location's tree, then the minimum per tree
+            IntStream scan = IntStream.range(0, chunks);
+            (parallel ? scan.parallel() : scan).forEach(c -> {
+                int end = Math.min(n, (c + 1) * CHUNK_SIZE);
+                for (int u = c * CHUNK_SIZE; u < end; u++) {
+                    int edge = -1;
+                    for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                        if (tree[targets[e]] != tree[u] && (edge < 0 || lighter(u, e, u, edge, targets, weights))) {
+                            edge = e;
+                        }
+                    }
+                    cheapest[u] = edge;
+                    if (edge >= 0) {
+                        offerCheapest(best, tree[u], u, cheapest, targets, weights);
+                    }
+                }
+            });
+
+            // Join each tree to its neighbour along the cheapest road
+            int merged = 0;
+            for (int i = 0; i < rootCount; i++) {
+                int u = best.get(roots[i]);
+                if (u < 0) {
+                    continue; // A finished tree: nothing left to join
+                }
+                int v = targets[cheapest[u]];
+                if (forest.union(u, v)) {
+                    from[chosen] = Math.min(u, v);
+                    to[chosen] = Math.max(u, v);
+                    distances[chosen++] = weights[cheapest[u]];
+                    merged++;
+                }
+            }
+            if (merged == 0) {
+                break; // Only separate parts are left
+            }
+
+            // Keep the trees that can still grow and point every location at its new root
+            int kept = 0;
+            for (int i = 0; i < rootCount; i++) {
+                relabel[roots[i]] = forest.find(roots[i]);
+            }
+            for (int i = 0; i < rootCount; i++) {
+                int root = roots[i];
+                if (relabel[root] == root && best.get(root) >= 0) {
+                    roots[kept++] = root;
+                }
+            }
+            rootCount = kept;
+            IntStream update = IntStream.range(0, chunks);
+            (parallel ? update.parallel() : update).forEach(c -> {
+                int end = Math.min(n, (c + 1) * CHUNK_SIZE);
+                for (int v = c * CHUNK_SIZE; v < end; v++) {
+                    tree[v] = relabel[tree[v]];
+                }
+            });
+        }
+        return new Result(graph, Arrays.copyOf(from, chosen), Arrays.copyOf(to, chosen),
+                Arrays.copyOf(distances, chosen), rounds);
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * Records location u's cheapest road as its tree's cheapest, unless the
+     * tree already has a lighter one. Lock-free: retries if another thread
+     * changed the tree's entry in between.
+     */
+    private static void offerCheapest(AtomicIntegerArray best, int root, int u, int[] cheapest,
+                                      int[] targets, int[] weights) {
+        while (true) {
+            int current = best.get(root);
+            if (current >= 0 && !lighter(u, cheapest[u], current, cheapest[current], targets, weights)) {
+                return;
+            }
+            if (best.compareAndSet(root, current, u)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Compares two roads by (length, lower id, higher id).
+     * @param u source of road position e
+     * @param x source of road position f
+     * @return true if road e comes strictly before road f
+     */
+    private static boolean lighter(int u, int e, int x, int f, int[] targets, int[] weights) {
+        if (weights[e] != weights[f]) {
+            return weights[e] < weights[f];
+        }
+        int v = targets[e], y = targets[f];
+        int loE = Math.min(u, v), loF = Math.min(x, y);
+        if (loE != loF) {
+            return loE < loF;
+        }
+        return Math.max(u, v) < Math.max(x, y);
+    }
+}
@@ -0,0 +1,712 @@
+package module1;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal for a {@link CityGraph}: every location and road
+ * change is appended as a small checksummed record, so changes survive a
+ * restart without rewriting the whole network each time.
+ *
+ * Durable state is a {@link GraphSnapshot} plus journal segments
+ * (files named {@code <journal>.1}, {@code <journal>.2}, ...):
+ * <ul>
+ *   <li><b>Group commit</b> - records go to an in-memory buffer; a
+ *       background thread writes and forces the buffer every few
+ *       milliseconds, so one disk sync covers every change made in that
+ *       window. {@link #sync()} waits until all earlier changes are on disk.</li>
+ *   <li><b>Recovery</b> - {@link #recover(File, File)} loads the snapshot
+ *       and replays the newer segments; a record torn by a crash ends the
+ *       replay and is cut off.</li>
+ *   <li><b>Compaction</b> - once a segment grows past a threshold the
+ *       journal switches to a new segment and a background thread writes a
+ *       snapshot of the graph as it was at the switch, then deletes the
+ *       segments it covers. The snapshot records the last segment it
+ *       contains, so a crash at any point replays each change exactly once.</li>
+ * </ul>
+ * Record layout (little-endian): length (int), type (byte), payload,
+ * CRC32 of type and payload (int). Names are stored as length-prefixed UTF-8.
+ *
+ * The graph must be changed by one thread at a time, as usual; the journal
+ * itself is safe to sync and close from other threads.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class MutationJournal {
+
+    /** How long the flusher collects records before writing them */
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 5;
+    /** Segment size that triggers a background compaction */
+    public static final long DEFAULT_COMPACT_BYTES = 64L << 20;
+
+    /** Identifies journal segment files ("SCMJ") */
+    private static final int SEGMENT_MAGIC = 0x53434D4A;
+    private static final int SEGMENT_VERSION = 1;
+    private static final int SEGMENT_HEADER_BYTES = 4 * 4;
+    /** Pending bytes that wake the flusher before the interval is up */
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+
+    // Record types
+    private static final byte ADD_LOCATION = 1;
+    private static final byte REMOVE_LOCATION = 2;
+    private static final byte ADD_ROAD = 3;
+    private static final byte REMOVE_ROAD = 4;
+    private static final byte SET_COORDINATES = 5;
+
+    // ==================== Fields ====================
+    private final CityGraph graph;
+    /** Location tree kept alongside the graph and saved in each snapshot, or null */
+    private final BSTLocation bst;
+    private final File snapshotFile;
+    private final File journalBase;
+    private final long flushIntervalMillis;
+    private volatile long compactThresholdBytes = DEFAULT_COMPACT_BYTES;
+
+    /** Guards the buffers, counters and flags below */
+    private final Object lock = new Object();
+    /** Held while writing to or switching the segment file */
+    private final Object ioLock = new Object();
+    private ByteBuffer pending;
+    private ByteBuffer spare;
+    private final CRC32 crc = new CRC32();
+    private long appended;
+    private long durable;
+    private long segmentBytes;
+    private long forces;
+    private boolean syncRequested;
+    private boolean closed;
+    private IOException failure;
+
+    private FileChannel segment;
+    private int generation;
+    private final Thread flusher;
+    private volatile Thread compaction;
+    private volatile int compactions;
+    private final int replayed;
+
+    // ==================== Constructor ====================
+    private MutationJournal(CityGraph graph, BSTLocation bst, File snapshotFile, File journalBase,
+                            int generation, long flushIntervalMillis, int replayed) throws IOException {
+        this.graph = graph;
+        this.bst = bst;
+        this.snapshotFile = snapshotFile;
+        this.journalBase = journalBase;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.replayed = replayed;
+        this.pending = ByteBuffer.allocate(FLUSH_THRESHOLD * 2).order(ByteOrder.LITTLE_ENDIAN);
+        this.spare = ByteBuffer.allocate(FLUSH_THRESHOLD * 2).order(ByteOrder.LITTLE_ENDIAN);
+        this.generation = generation;
+        this.segment = openSegment(generation);
+        this.segmentBytes = SEGMENT_HEADER_BYTES;
+        this.flusher = new Thread(this::runFlusher, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        graph.setJournal(this);
+    }
+
+    // ==================== Opening ====================
+
+    /**
+     * Starts journaling an existing graph: saves it as the base snapshot
+     * and discards any older journal segments.
+     * @param graph graph to journal (must not already be journaled)
+     * @param bst location tree kept alongside the graph, saved in every
+     *            snapshot (may be null)
+     * @param snapshotFile where the base snapshot is kept
+     * @param journalBase journal file name; segments get ".1", ".2", ... appended
+     * @return the journal, or null on an I/O error or if the graph is already journaled
+     */
+    public static MutationJournal create(CityGraph graph, BSTLocation bst, File snapshotFile, File journalBase) {
+        return create(graph, bst, snapshotFile, journalBase, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Starts journaling an existing graph with a custom group-commit window.
+     * @param flushIntervalMillis how long records are collected before a disk sync
+     * @return the journal, or null on an I/O error or if the graph is already journaled
+     */
+    public static MutationJournal create(CityGraph graph, BSTLocation bst, File snapshotFile, File journalBase,
+                                         long flushIntervalMillis) {
+        if (graph.getJournal() != null || !GraphSnapshot.write(graph.freeze(), graph.frozenCoordinates(),
+                bstNames(bst), 0, snapshotFile)) {
+            return null;
+        }
+        for (int g : segmentGenerations(journalBase)) {
+            segmentFile(journalBase, g).delete();
+        }
+        try {
+            return new MutationJournal(graph, bst, snapshotFile, journalBase, 1, flushIntervalMillis, 0);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rebuilds the graph from the snapshot and journal after a restart, then
+     * keeps journaling it. With no snapshot file, recovery starts from an
+     * empty graph. Replayed locations are added to and removed from the
+     * location tree as well.
+     * @param snapshotFile base snapshot
+     * @param journalBase journal file name used when the journal was created
+     * @param bst empty location tree to fill with the snapshot's names and
+     *            keep alongside the graph (may be null)
+     * @return the journal (see {@link #getGraph()}), or null if the snapshot
+     *         is damaged or the files cannot be read
+     */
+    public static MutationJournal recover(File snapshotFile, File journalBase, BSTLocation bst) {
+        CityGraph graph;
+        int covered = 0;
+        if (snapshotFile.exists()) {
+            graph = GraphSnapshot.load(snapshotFile, bst);
+            covered = GraphSnapshot.readJournalGeneration(snapshotFile);
+            if (graph == null || covered < 0) {
+                return null;
+            }
+        } else {
+            graph = new CityGraph();
+        }
+
+        int replayed = 0;
+        int last = covered;
+        for (int g : segmentGenerations(journalBase)) {
+            File file = segmentFile(journalBase, g);
+            if (g <= covered) {
+                file.delete(); // Left over from a compaction interrupted before cleanup
+                continue;
+            }
+            int count = replay(file, graph, bst);
+            if (count < 0) {
+                return null;
+            }
+            replayed += count;
+            last = g;
+        }
+        try {
+            return new MutationJournal(graph, bst, snapshotFile, journalBase, last + 1,
+                    DEFAULT_FLUSH_INTERVAL_MILLIS, replayed);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String[] bstNames(BSTLocation bst) {
+        return bst == null ? new String[0] : bst.getInOrder();
+    }
+
+    private static File segmentFile(File journalBase, int generation) {
+        return new File(journalBase.getPath() + "." + generation);
+    }
+
+    /**
+     * Finds the existing segments of a journal.
+     * @return segment generations in ascending order
+     */
+    private static List<Integer> segmentGenerations(File journalBase) {
+        File directory = journalBase.getAbsoluteFile().getParentFile();
+        String prefix = journalBase.getName() + ".";
+        List<Integer> generations = new ArrayList<>();
+        String[] names = directory == null ? null : directory.list();
+        if (names != null) {
+            for (String name : names) {
+                String suffix = name.startsWith(prefix) ? name.substring(prefix.length()) : "";
+                if (!suffix.isEmpty() && suffix.length() < 10 && suffix.chars().allMatch(Character::isDigit)) {
+                    generations.add(Integer.parseInt(suffix));
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    private FileChannel openSegment(int generation) throws IOException {
+        FileChannel channel = FileChannel.open(segmentFile(journalBase, generation).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(SEGMENT_MAGIC).putInt(SEGMENT_VERSION).putInt(generation).putInt(0).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+        return channel;
+    }
+
+    // ==================== Replay ====================
+
+    /**
+     * Applies the records of one segment to a graph (which must not be
+     * journaled) and its location tree. A damaged or incomplete record ends
+     * the segment; the file is truncated there so new records are never
+     * written after garbage.
+     * @return records applied, or -1 if the file is unreadable or not a segment
+     */
+    private static int replay(File file, CityGraph graph, BSTLocation bst) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return -1;
+            }
+            ByteBuffer in = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+            while (in.hasRemaining() && channel.read(in) >= 0) {
+                // Read the whole segment
+            }
+            in.flip();
+            if (in.remaining() < SEGMENT_HEADER_BYTES || in.getInt() != SEGMENT_MAGIC
+                    || in.getInt() != SEGMENT_VERSION) {
+                return -1;
+            }
+            in.position(SEGMENT_HEADER_BYTES);
+
+            CRC32 crc = new CRC32();
+            int applied = 0;
+            while (in.remaining() >= 4) {
+                int start = in.position();
+                int length = in.getInt();
+                if (length < 1 || length > in.remaining() - 4) {
+                    in.position(start);
+                    break;
+                }
+                ByteBuffer body = in.slice();
+                body.limit(length);
+                crc.reset();
+                crc.update(body);
+                in.position(start + 4 + length);
+                if ((int) crc.getValue() != in.getInt()) {
+                    in.position(start);
+                    break;
+                }
+                in.position(start + 4);
+                apply(in, graph, bst);
+                in.position(start + 8 + length);
+                applied++;
+            }
+            if (in.position() < size) {
+                channel.truncate(in.position()); // Torn tail from a crash mid-write
+            }
+            return applied;
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static void apply(ByteBuffer in, CityGraph graph, BSTLocation bst) {
+        byte type = in.get();
+        switch (type) {
+            case ADD_LOCATION: {
+                String location = getString(in);
+                graph.addLocation(location);
+                if (bst != null) {
+                    bst.insert(location);
+                }
+                break;
+            }
+            case REMOVE_LOCATION: {
+                String location = getString(in);
+                graph.removeLocation(location);
+                if (bst != null) {
+                    bst.delete(location);
+                }
+                break;
+            }
+            case ADD_ROAD: {
+                String from = getString(in);
+                String to = getString(in);
+                graph.addRoad(from, to, in.getInt());
+                break;
+            }
+            case REMOVE_ROAD: {
+                String from = getString(in);
+                graph.removeRoad(from, getString(in));
+                break;
+            }
+            case SET_COORDINATES: {
+                String location = getString(in);
+                double latitude = in.getDouble();
+                graph.setCoordinates(location, latitude, in.getDouble());
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unknown journal record type " + type);
+        }
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ==================== Appending (called by CityGraph) ====================
+
+    void logAddLocation(String location) {
+        byte[] name = location.getBytes(StandardCharsets.UTF_8);
+        synchronized (lock) {
+            if (failure != null) {
+                return; // Nothing more reaches the disk, so stop buffering
+            }
+            int start = beginRecord(ADD_LOCATION, 4 + name.length);
+            pending.putInt(name.length).put(name);
+            endRecord(start);
+        }
+        compactIfLarge();
+    }
+
+    void logRemoveLocation(String location) {
+        byte[] name = location.getBytes(StandardCharsets.UTF_8);
+        synchronized (lock) {
+            if (failure != null) {
+                return; // Nothing more reaches the disk, so stop buffering
+            }
+            int start = beginRecord(REMOVE_LOCATION, 4 + name.length);
+            pending.putInt(name.length).put(name);
+            endRecord(start);
+        }
+        compactIfLarge();
+    }
+
+    void logAddRoad(String from, String to, int distance) {
+        byte[] a = from.getBytes(StandardCharsets.UTF_8);
+        byte[] b = to.getBytes(StandardCharsets.UTF_8);
+        synchronized (lock) {
+            if (failure != null) {
+                return; // Nothing more reaches the disk, so stop buffering
+            }
+            int start = beginRecord(ADD_ROAD, 12 + a.length + b.length);
+            pending.putInt(a.length).put(a).putInt(b.length).put(b).putInt(distance);
+            endRecord(start);
+        }
+        compactIfLarge();
+    }
+
+    void logRemoveRoad(String from, String to) {
+        byte[] a = from.getBytes(StandardCharsets.UTF_8);
+        byte[] b = to.getBytes(StandardCharsets.UTF_8);
+        synchronized (lock) {
+            if (failure != null) {
+                return; // Nothing more reaches the disk, so stop buffering
+            }
+            int start = beginRecord(REMOVE_ROAD, 8 + a.length + b.length);
+            pending.putInt(a.length).put(a).putInt(b.length).put(b);
+            endRecord(start);
+        }
+        compactIfLarge();
+    }
+
+    void logSetCoordinates(String location, double latitude, double longitude) {
+        byte[] name = location.getBytes(StandardCharsets.UTF_8);
+        synchronized (lock) {
+            if (failure != null) {
+                return; // Nothing more reaches the disk, so stop buffering
+            }
+            int start = beginRecord(SET_COORDINATES, 20 + name.length);
+            pending.putInt(name.length).put(name).putDouble(latitude).putDouble(longitude);
+            endRecord(start);
+        }
+        compactIfLarge();
+    }
+
+    /**
+     * Reserves room for a record and writes its length and type.
+     * Caller must hold lock.
+     * @param payloadBytes bytes that follow the type
+     * @return position of the record in the pending buffer
+     */
+    private int beginRecord(byte type, int payloadBytes) {
+        int recordBytes = 4 + 1 + payloadBytes + 4;
+        if (pending.remaining() < recordBytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + recordBytes))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            pending.flip();
+            grown.put(pending);
+            pending = grown;
+        }
+        int start = pending.position();
+        pending.putInt(1 + payloadBytes).put(type);
+        return start;
+    }
+
+    /**
+     * Appends the record's checksum and counts it. Caller must hold lock.
+     */
+    private void endRecord(int start) {
+        ByteBuffer body = pending.duplicate();
+        body.position(start + 4).limit(pending.position());
+        crc.reset();
+        crc.update(body);
+        pending.putInt((int) crc.getValue());
+        appended++;
+        segmentBytes += pending.position() - start;
+        if (pending.position() >= FLUSH_THRESHOLD) {
+            lock.notifyAll();
+        }
+    }
+
+    private void compactIfLarge() {
+        if (segmentBytes >= compactThresholdBytes && !isCompacting()) {
+            compact();
+        }
+    }
+
+    // ==================== Group Commit ====================
+
+    private void runFlusher() {
+        while (true) {
+            synchronized (lock) {
+                if (!closed && failure == null && !syncRequested && pending.position() < FLUSH_THRESHOLD) {
+                    try {
+                        lock.wait(flushIntervalMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed || failure != null) {
+                    return; // close() writes out what is left; after a failure nothing can be
+                }
+            }
+            flush();
+        }
+    }
+
+    /**
+     * Writes the pending records to the current segment and forces them to
+     * disk. Appends continue into the other buffer meanwhile.
+     */
+    private void flush() {
+        synchronized (ioLock) {
+            ByteBuffer batch;
+            long upTo;
+            synchronized (lock) {
+                syncRequested = false;
+                if (pending.position() == 0 || failure != null) {
+                    return;
+                }
+                batch = pending;
+                pending = spare;
+                spare = batch;
+                upTo = appended;
+            }
+            batch.flip();
+            try {
+                while (batch.hasRemaining()) {
+                    segment.write(batch);
+                }
+                segment.force(false);
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    pending.clear(); // These records can no longer be written either
+                    lock.notifyAll();
+                }
+                return;
+            } finally {
+                batch.clear();
+            }
+            synchronized (lock) {
+                durable = upTo;
+                forces++;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until every change made so far is on disk.
+     * @return true if durable, false if a write failed or the journal is closed
+     */
+    public boolean sync() {
+        synchronized (lock) {
+            long target = appended;
+            while (durable < target && failure == null && !closed) {
+                syncRequested = true;
+                lock.notifyAll();
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return durable >= target && failure == null;
+        }
+    }
+
+    // ==================== Compaction ====================
+
+    /**
+     * Starts a compaction: switches to a new segment, then writes a snapshot
+     * of the graph and location tree as of now on a background thread and deletes the
+     * segments it covers. Must be called by the thread that changes the graph.
+     * @return true if started, false if one is already running or the switch failed
+     */
+    public boolean compact() {
+        if (isCompacting()) {
+            return false;
+        }
+        FrozenCityGraph csr = graph.freeze();
+        double[][] coordinates = graph.frozenCoordinates();
+        String[] names = bstNames(bst);
+        int covered;
+        synchronized (ioLock) {
+            flush();
+            synchronized (lock) {
+                if (failure != null || closed) {
+                    return false;
+                }
+            }
+            try {
+                FileChannel next = openSegment(generation + 1);
+                segment.close();
+                segment = next;
+            } catch (IOException e) {
+                return false;
+            }
+            covered = generation++;
+            synchronized (lock) {
+                segmentBytes = SEGMENT_HEADER_BYTES + pending.position();
+            }
+        }
+        compaction = new Thread(() -> {
+            if (GraphSnapshot.write(csr, coordinates, names, covered, snapshotFile)) {
+                for (int g : segmentGenerations(journalBase)) {
+                    if (g <= covered) {
+                        segmentFile(journalBase, g).delete();
+                    }
+                }
+                compactions++;
+            }
+        }, "journal-compaction");
+        compaction.setDaemon(true);
+        compaction.start();
+        return true;
+    }
+
+    public boolean isCompacting() {
+        Thread running = compaction;
+        return running != null && running.isAlive();
+    }
+
+    /**
+     * Waits for a running compaction to finish.
+     */
+    public void awaitCompaction() {
+        Thread running = compaction;
+        if (running != null) {
+            try {
+                running.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ==================== Closing ====================
+
+    /**
+     * Writes out the remaining records, waits for a running compaction and
+     * stops journaling the graph.
+     * @return true if every change reached the disk
+     */
+    public boolean close() {
+        synchronized (lock) {
+            if (closed) {
+                return failure == null;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        awaitCompaction();
+        graph.setJournal(null);
+        synchronized (ioLock) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                return false;
+            }
+        }
+        synchronized (lock) {
+            return failure == null && durable == appended;
+        }
+    }
+
+    // ==================== Statistics & Configuration ====================
+
+    /**
+     * Gets the journaled graph (the recovered one after {@link #recover}).
+     * @return the graph
+     */
+    public CityGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Sets the segment size that triggers a background compaction.
+     * @param bytes threshold in bytes (Long.MAX_VALUE disables automatic compaction)
+     */
+    public void setCompactThreshold(long bytes) {
+        compactThresholdBytes = Math.max(SEGMENT_HEADER_BYTES + 1, bytes);
+    }
+
+    /**
+     * Gets the number of records replayed by {@link #recover}.
+     * @return replayed record count (0 for a journal made by {@link #create})
+     */
+    public int getReplayedCount() {
+        return replayed;
+    }
+
+    public long getAppendedCount() {
+        synchronized (lock) {
+            return appended;
+        }
+    }
+
+    public long getDurableCount() {
+        synchronized (lock) {
+            return durable;
+        }
+    }
+
+    /**
+     * Gets the number of disk syncs; appended / forces is the average
+     * number of changes each group commit covered.
+     * @return disk sync count
+     */
+    public long getForceCount() {
+        synchronized (lock) {
+            return forces;
+        }
+    }
+
+    public int getCompactionCount() {
+        return compactions;
+    }
+
+    public int getGeneration() {
+        synchronized (ioLock) {
+            return generation;
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (lock) {
+            return String.format("segment=%d, appended=%d, durable=%d, syncs=%d, compactions=%d%s",
+                    generation, appended, durable, forces, compactions, failure == null ? "" : ", FAILED");
+        }
+    }
+}
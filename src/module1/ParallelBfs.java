@@ -0,0 +1,303 @@
+package module1;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel, level-synchronous Breadth-First Search over a {@link FrozenCityGraph}.
+ * Each BFS level (frontier) is split into chunks that are processed on the
+ * common fork/join pool; a location is claimed by atomically setting its bit
+ * in a shared visited bitset, so exactly one thread records its parent.
+ *
+ * The search is direction-optimising: while the frontier is small it expands
+ * top-down (frontier scans its neighbours); once the frontier's edges outweigh
+ * the unexplored edges it switches to bottom-up (each unvisited location looks
+ * for any neighbour in the frontier, marked in a bitset that is built before
+ * the step and only read during it), which avoids re-checking edges into
+ * already visited locations on the dense middle levels.
+ *
+ * Graphs smaller than {@link #PARALLEL_THRESHOLD} locations use the plain
+ * sequential BFS, whose visit order matches {@link FrozenCityGraph#bfsOrder(int)}.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class ParallelBfs {
+
+    /** Below this many locations the sequential BFS is faster than forking tasks */
+    public static final int PARALLEL_THRESHOLD = 50_000;
+
+    /** Frontier vertices (or scanned vertices) handled by one task */
+    private static final int CHUNK_SIZE = 2048;
+    /** Switch to bottom-up when frontier edges exceed unexplored edges / ALPHA */
+    private static final int ALPHA = 14;
+    /** Switch back to top-down when the frontier is smaller than V / BETA */
+    private static final int BETA = 24;
+
+    // ==================== Result ====================
+    /**
+     * Result of a BFS: level (hop distance) and BFS-tree parent per location.
+     */
+    public static class Result {
+        private final int[] levels;
+        private final int[] parents;
+        private final int[] order;
+        private final int levelCount;
+
+        Result(int[] levels, int[] parents, int[] order, int levelCount) {
+            this.levels = levels;
+            this.parents = parents;
+            this.order = order;
+            this.levelCount = levelCount;
+        }
+
+        /**
+         * Gets the hop distance of every location from the source.
+         * @return levels[v] = hops from the source, or -1 if unreachable
+         */
+        public int[] getLevels() {
+            return levels;
+        }
+
+        /**
+         * Gets the BFS-tree parent of every location.
+         * @return parents[v] = previous location on a fewest-hops route, -1 for
+         *         the source and for unreachable locations
+         */
+        public int[] getParents() {
+            return parents;
+        }
+
+        /**
+         * Gets the reachable locations level by level. Within a level the
+         * order is only deterministic for the sequential search.
+         * @return location ids in BFS order
+         */
+        public int[] getOrder() {
+            return order;
+        }
+
+        public int getReachedCount() {
+            return order.length;
+        }
+
+        /**
+         * Gets the number of BFS levels (eccentricity of the source + 1).
+         * @return number of levels
+         */
+        public int getLevelCount() {
+            return levelCount;
+        }
+    }
+
+    // ==================== Public API ====================
+
+    /**
+     * Runs BFS from a source, in parallel when the graph is large enough.
+     * @param graph the snapshot to search
+     * @param source id of the starting location
+     * @return levels, parents and visit order
+     */
+    public static Result run(FrozenCityGraph graph, int source) {
+        boolean parallel = graph.getLocationCount() >= PARALLEL_THRESHOLD
+                && Runtime.getRuntime().availableProcessors() > 1;
+        return run(graph, source, parallel);
+    }
+
+    /**
+     * Runs BFS from a source.
+     * @param graph the snapshot to search
+     * @param source id of the starting location
+     * @param parallel true for the parallel direction-optimising search,
+     *                 false for the sequential search
+     * @return levels, parents and visit order
+     */
+    public static Result run(FrozenCityGraph graph, int source, boolean parallel) {
+        return parallel ? parallelBfs(graph, source) : sequentialBfs(graph, source);
+    }
+
+    // ==================== Sequential BFS ====================
+
+    private static Result sequentialBfs(FrozenCityGraph graph, int source) {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int n = graph.getLocationCount();
+        int[] levels = new int[n];
+        int[] parents = new int[n];
+        int[] queue = new int[n];
+        Arrays.fill(levels, -1);
+        Arrays.fill(parents, -1);
+
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        levels[source] = 0;
+        while (head < tail) {
+            int current = queue[head++];
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int next = targets[e];
+                if (levels[next] < 0) {
+                    levels[next] = levels[current] + 1;
+                    parents[next] = current;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return new Result(levels, parents, Arrays.copyOf(queue, tail), levels[queue[tail - 1]] + 1);
+    }
+
+    // ==================== Parallel BFS ====================
+
+    private static Result parallelBfs(FrozenCityGraph graph, int source) {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int n = graph.getLocationCount();
+        int[] levels = new int[n];
+        int[] parents = new int[n];
+        Arrays.fill(levels, -1);
+        Arrays.fill(parents, -1);
+        AtomicLongArray visited = new AtomicLongArray((n + 63) >>> 6);
+        long[] frontierBits = null; // Current level as a bitset, for bottom-up steps
+
+        // order holds every frontier back to back; [frontierStart, frontierEnd) is the current level
+        int[] order = new int[n];
+        order[0] = source;
+        levels[source] = 0;
+        visited.set(source >>> 6, 1L << source);
+        int frontierStart = 0, frontierEnd = 1;
+
+        long unexploredEdges = targets.length - (offsets[source + 1] - offsets[source]);
+        long frontierEdges = offsets[source + 1] - offsets[source];
+        boolean bottomUp = false;
+        int level = 0;
+
+        while (frontierEnd > frontierStart) {
+            int frontierSize = frontierEnd - frontierStart;
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < n / BETA) {
+                bottomUp = false;
+            }
+
+            int[][] found;
+            if (bottomUp) {
+                if (frontierBits == null) {
+                    frontierBits = new long[(n + 63) >>> 6];
+                }
+                for (int i = frontierStart; i < frontierEnd; i++) {
+                    frontierBits[order[i] >>> 6] |= 1L << order[i];
+                }
+                found = bottomUpStep(offsets, targets, levels, parents, visited, frontierBits, level, n);
+                for (int i = frontierStart; i < frontierEnd; i++) {
+                    frontierBits[order[i] >>> 6] = 0;
+                }
+            } else {
+                found = topDownStep(offsets, targets, levels, parents, visited, order, frontierStart, frontierEnd, level);
+            }
+
+            // Append each chunk's discoveries as the next frontier
+            int next = frontierEnd;
+            frontierEdges = 0;
+            for (int[] chunk : found) {
+                if (chunk == null) continue;
+                int count = chunk[0];
+                System.arraycopy(chunk, 1, order, next, count);
+                for (int i = 1; i <= count; i++) {
+                    frontierEdges += offsets[chunk[i] + 1] - offsets[chunk[i]];
+                }
+                next += count;
+            }
+            unexploredEdges -= frontierEdges;
+            frontierStart = frontierEnd;
+            frontierEnd = next;
+            level++;
+        }
+        return new Result(levels, parents, Arrays.copyOf(order, frontierEnd), level);
+    }
+
+    /**
+     * Expands every frontier location and claims its unvisited neighbours.
+     * @return per-chunk buffers; buffer[0] is the number of vertices that follow
+     */
+    private static int[][] topDownStep(int[] offsets, int[] targets, int[] levels, int[] parents,
+                                       AtomicLongArray visited, int[] frontier, int from, int to, int level) {
+        int chunks = (to - from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int[][] found = new int[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int[] buffer = new int[17];
+            int count = 0;
+            int end = Math.min(to, from + (c + 1) * CHUNK_SIZE);
+            for (int i = from + c * CHUNK_SIZE; i < end; i++) {
+                int current = frontier[i];
+                for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                    int next = targets[e];
+                    if (claim(visited, next)) {
+                        levels[next] = level + 1;
+                        parents[next] = current;
+                        if (++count == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                        }
+                        buffer[count] = next;
+                    }
+                }
+            }
+            buffer[0] = count;
+            found[c] = buffer;
+        });
+        return found;
+    }
+
+    /**
+     * Lets every unvisited location look for a neighbour on the current level.
+     * Each location is only written by the task that owns its range, so no
+     * claiming is needed. Frontier membership comes from frontierBits, which
+     * no task writes, so tasks never read what another task is writing.
+     * @return per-chunk buffers; buffer[0] is the number of vertices that follow
+     */
+    private static int[][] bottomUpStep(int[] offsets, int[] targets, int[] levels, int[] parents,
+                                        AtomicLongArray visited, long[] frontierBits, int level, int n) {
+        int chunks = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int[][] found = new int[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int[] buffer = new int[17];
+            int count = 0;
+            int end = Math.min(n, (c + 1) * CHUNK_SIZE);
+            for (int v = c * CHUNK_SIZE; v < end; v++) {
+                if ((visited.get(v >>> 6) & (1L << v)) != 0) continue;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int neighbour = targets[e];
+                    if ((frontierBits[neighbour >>> 6] & (1L << neighbour)) != 0) {
+                        levels[v] = level + 1;
+                        parents[v] = neighbour;
+                        claim(visited, v);
+                        if (++count == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                        }
+                        buffer[count] = v;
+                        break;
+                    }
+                }
+            }
+            buffer[0] = count;
+            found[c] = buffer;
+        });
+        return found;
+    }
+
+    /**
+     * Atomically sets a vertex's visited bit.
+     * @return true if this call set the bit (the caller owns the vertex)
+     */
+    private static boolean claim(AtomicLongArray visited, int v) {
+        int word = v >>> 6;
+        long bit = 1L << v;
+        while (true) {
+            long current = visited.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (visited.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,1221 @@
+package module1;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks for the route planner on synthetic, scaled-up city networks.
+ * Results are printed as tables in the same style as the Module 3
+ * performance analyzer, which offers these benchmarks from its menu.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class RouteBenchmark {
+
+    // ==================== Configuration ====================
+    /** Fixed seed so every run benchmarks the same networks and queries */
+    private static final long SEED = 42L;
+    /** Grid sides for the scaled-up networks (side x side locations) */
+    private static final int[] GRID_SIDES = {50, 100, 200};
+    /** Route queries measured per network size */
+    private static final int QUERIES = 20;
+
+    // ==================== A* vs Dijkstra ====================
+
+    /**
+     * Compares A* with plain Dijkstra on the sample network scaled up to
+     * grid networks spanning the island. Reports the average number of
+     * settled locations and the average query time per route.
+     */
+    public static void compareAStarWithDijkstra() {
+        System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.println("  ║   A* vs DIJKSTRA - SETTLED LOCATIONS PER ROUTE QUERY                            ║");
+        System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.println("  Long routes between the southern and northern ends of the network.\n");
+
+        System.out.println("  ┌────────────┬──────────┬───────────────┬───────────────┬───────────┬─────────────┬─────────────┐");
+        System.out.println("  │  Locations │  Roads   │ Dijkstra sett.│ A* settled    │ Reduction │ Dijkstra ms │ A* ms       │");
+        System.out.println("  ├────────────┼──────────┼───────────────┼───────────────┼───────────┼─────────────┼─────────────┤");
+
+        for (int side : GRID_SIDES) {
+            Random random = new Random(SEED);
+            CityGraph graph = buildScaledNetwork(side, random);
+            String[][] queries = longRouteQueries(side, random);
+
+            // Warm up JVM
+            for (String[] q : queries) {
+                graph.findShortestPath(q[0], q[1]);
+                graph.findShortestPathAStar(q[0], q[1]);
+            }
+
+            long dijkstraSettled = 0, aStarSettled = 0, dijkstraTime = 0, aStarTime = 0;
+            int mismatches = 0;
+            for (String[] q : queries) {
+                long start = System.nanoTime();
+                RoutePath plain = graph.findShortestPath(q[0], q[1]);
+                dijkstraTime += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                RoutePath guided = graph.findShortestPathAStar(q[0], q[1]);
+                aStarTime += System.nanoTime() - start;
+
+                dijkstraSettled += plain.getSettledCount();
+                aStarSettled += guided.getSettledCount();
+                if (plain.getTotalDistance() != guided.getTotalDistance()) {
+                    mismatches++;
+                }
+            }
+
+            double reduction = aStarSettled > 0 ? (double) dijkstraSettled / aStarSettled : 0;
+            System.out.printf("  │  %,9d │ %,8d │ %,13d │ %,13d │ %8.1fx │ %11.3f │ %11.3f │%n",
+                    graph.getLocationCount(), graph.getRoadCount(),
+                    dijkstraSettled / QUERIES, aStarSettled / QUERIES, reduction,
+                    dijkstraTime / 1_000_000.0 / QUERIES, aStarTime / 1_000_000.0 / QUERIES);
+            if (mismatches > 0) {
+                System.out.println("  ⚠ " + mismatches + " route(s) differed in distance between A* and Dijkstra");
+            }
+        }
+
+        System.out.println("  └────────────┴──────────┴───────────────┴───────────────┴───────────┴─────────────┴─────────────┘");
+        System.out.println("  * Settled counts and times averaged over " + QUERIES + " routes per size");
+        System.out.println("  * Reduction = Dijkstra settled / A* settled");
+    }
+
+    // ==================== Bidirectional Search ====================
+
+    /**
+     * Compares one-sided Dijkstra with bidirectional Dijkstra and
+     * bidirectional BFS on random point-to-point route queries.
+     */
+    public static void compareBidirectionalSearch() {
+        System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.println("  ║   ONE-SIDED vs BIDIRECTIONAL SEARCH - RANDOM POINT-TO-POINT ROUTES              ║");
+        System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════\n");
+
+        System.out.println("  ┌────────────┬───────────────┬───────────────┬───────────────┬─────────────┬─────────────┬─────────────┐");
+        System.out.println("  │  Locations │ Dijkstra sett.│ Bidir. settled│ Bidir. BFS    │ Dijkstra ms │ Bidir. ms   │ BFS ms      │");
+        System.out.println("  ├────────────┼───────────────┼───────────────┼───────────────┼─────────────┼─────────────┼─────────────┤");
+
+        for (int side : GRID_SIDES) {
+            Random random = new Random(SEED);
+            CityGraph graph = buildScaledNetwork(side, random);
+            String[][] queries = randomRouteQueries(side, random);
+
+            // Warm up JVM
+            for (String[] q : queries) {
+                graph.findShortestPath(q[0], q[1]);
+                graph.findShortestPathBidirectional(q[0], q[1]);
+                graph.findFewestHopsPath(q[0], q[1]);
+            }
+
+            long[] settled = new long[3];
+            long[] time = new long[3];
+            int mismatches = 0;
+            for (String[] q : queries) {
+                long start = System.nanoTime();
+                RoutePath plain = graph.findShortestPath(q[0], q[1]);
+                time[0] += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                RoutePath bidirectional = graph.findShortestPathBidirectional(q[0], q[1]);
+                time[1] += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                RoutePath fewestHops = graph.findFewestHopsPath(q[0], q[1]);
+                time[2] += System.nanoTime() - start;
+
+                settled[0] += plain.getSettledCount();
+                settled[1] += bidirectional.getSettledCount();
+                settled[2] += fewestHops.getSettledCount();
+                if (plain.getTotalDistance() != bidirectional.getTotalDistance()) {
+                    mismatches++;
+                }
+            }
+
+            System.out.printf("  │  %,9d │ %,13d │ %,13d │ %,13d │ %11.3f │ %11.3f │ %11.3f │%n",
+                    graph.getLocationCount(), settled[0] / QUERIES, settled[1] / QUERIES, settled[2] / QUERIES,
+                    time[0] / 1_000_000.0 / QUERIES, time[1] / 1_000_000.0 / QUERIES, time[2] / 1_000_000.0 / QUERIES);
+            if (mismatches > 0) {
+                System.out.println("  ⚠ " + mismatches + " route(s) differed in distance between the Dijkstra variants");
+            }
+        }
+
+        System.out.println("  └────────────┴───────────────┴───────────────┴───────────────┴─────────────┴─────────────┴─────────────┘");
+        System.out.println("  * Settled/visited counts and times averaged over " + QUERIES + " routes per size");
+        System.out.println("  * Bidirectional BFS minimises the number of roads, not the distance");
+    }
+
+    // ==================== Contraction Hierarchies ====================
+
+    /**
+     * Compares plain Dijkstra with queries on a preprocessed
+     * {@link ContractionHierarchy}. Reports the one-off build cost (time and
+     * shortcuts added) and the per-query settled locations and latency.
+     */
+    public static void compareContractionHierarchy() {
+        System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.println("  ║   DIJKSTRA vs CONTRACTION HIERARCHY - RANDOM POINT-TO-POINT ROUTES              ║");
+        System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════\n");
+
+        System.out.println("  ┌────────────┬───────────┬────────────┬───────────────┬───────────────┬─────────────┬─────────────┬──────────┐");
+        System.out.println("  │  Locations │ Shortcuts │ Build ms   │ Dijkstra sett.│ CH settled    │ Dijkstra µs │ CH µs       │ Speedup  │");
+        System.out.println("  ├────────────┼───────────┼────────────┼───────────────┼───────────────┼─────────────┼─────────────┼──────────┤");
+
+        for (int side : GRID_SIDES) {
+            Random random = new Random(SEED);
+            CityGraph graph = buildScaledNetwork(side, random);
+            String[][] queries = randomRouteQueries(side, random);
+            ContractionHierarchy hierarchy = new ContractionHierarchy(graph);
+
+            // Warm up JVM
+            for (String[] q : queries) {
+                graph.findShortestPath(q[0], q[1]);
+                hierarchy.findShortestPath(q[0], q[1]);
+            }
+
+            long dijkstraSettled = 0, chSettled = 0, dijkstraTime = 0, chTime = 0;
+            int mismatches = 0;
+            for (String[] q : queries) {
+                long start = System.nanoTime();
+                RoutePath plain = graph.findShortestPath(q[0], q[1]);
+                dijkstraTime += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                RoutePath fast = hierarchy.findShortestPath(q[0], q[1]);
+                chTime += System.nanoTime() - start;
+
+                dijkstraSettled += plain.getSettledCount();
+                chSettled += fast.getSettledCount();
+                if (plain.getTotalDistance() != fast.getTotalDistance()) {
+                    mismatches++;
+                }
+            }
+
+            double speedup = chTime > 0 ? (double) dijkstraTime / chTime : 0;
+            System.out.printf("  │  %,9d │ %,9d │ %10.1f │ %,13d │ %,13d │ %11.1f │ %11.1f │ %7.1fx │%n",
+                    graph.getLocationCount(), hierarchy.getShortcutCount(), hierarchy.getBuildTimeMillis(),
+                    dijkstraSettled / QUERIES, chSettled / QUERIES,
+                    dijkstraTime / 1_000.0 / QUERIES, chTime / 1_000.0 / QUERIES, speedup);
+            if (mismatches > 0) {
+                System.out.println("  ⚠ " + mismatches + " route(s) differed in distance between Dijkstra and the hierarchy");
+            }
+        }
+
+        System.out.println("  └────────────┴───────────┴────────────┴───────────────┴───────────────┴─────────────┴─────────────┴──────────┘");
+        System.out.println("  * Settled counts and times averaged over " + QUERIES + " routes per size");
+        System.out.println("  * Build time is paid once per rebuild; query times include unpacking the full route");
+    }
+
+    // ==================== Distance Matrix ====================
+
+    /** Depots (matrix rows and columns) per network size */
+    private static final int DEPOTS = 200;
+
+    /**
+     * Times a depot-to-depot {@link DistanceMatrix} computed sequentially and
+     * in parallel, and the cost of saving and reloading it.
+     */
+    public static void benchmarkDistanceMatrix() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.println("  ║   DISTANCE MATRIX - " + DEPOTS + " x " + DEPOTS + " DEPOTS, SEQUENTIAL vs PARALLEL ("
+                + cores + " cores)");
+        System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════\n");
+
+        System.out.println("  ┌────────────┬───────────────┬───────────────┬──────────┬─────────────┬─────────────┬─────────────┐");
+        System.out.println("  │  Locations │ Sequential ms │ Parallel ms   │ Speedup  │ File KB     │ Save ms     │ Load ms     │");
+        System.out.println("  ├────────────┼───────────────┼───────────────┼──────────┼─────────────┼─────────────┼─────────────┤");
+
+        for (int side : GRID_SIDES) {
+            Random random = new Random(SEED);
+            CityGraph graph = buildScaledNetwork(side, random);
+            List<String> depots = new ArrayList<>(DEPOTS);
+            for (int i = 0; i < DEPOTS; i++) {
+                depots.add(CityGenerator.gridName(random.nextInt(side), random.nextInt(side)));
+            }
+
+            // Warm up JVM
+            DistanceMatrix.compute(graph, depots.subList(0, 10), depots, false);
+            DistanceMatrix.compute(graph, depots.subList(0, 10), depots, true);
+
+            long start = System.nanoTime();
+            DistanceMatrix sequential = DistanceMatrix.compute(graph, depots, depots, false);
+            long sequentialTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            DistanceMatrix parallel = DistanceMatrix.compute(graph, depots, depots, true);
+            long parallelTime = System.nanoTime() - start;
+
+            int mismatches = 0;
+            for (int r = 0; r < DEPOTS; r++) {
+                if (!Arrays.equals(sequential.getRow(r), parallel.getRow(r))) {
+                    mismatches++;
+                }
+            }
+
+            long saveTime = -1, loadTime = -1, fileSize = 0;
+            try {
+                File file = File.createTempFile("distance-matrix", ".bin");
+                start = System.nanoTime();
+                boolean saved = parallel.save(file);
+                saveTime = System.nanoTime() - start;
+                start = System.nanoTime();
+                DistanceMatrix loaded = DistanceMatrix.load(file);
+                loadTime = System.nanoTime() - start;
+                fileSize = file.length();
+                if (!saved || loaded == null || !Arrays.equals(loaded.getRow(DEPOTS - 1), parallel.getRow(DEPOTS - 1))) {
+                    mismatches++;
+                }
+                file.delete();
+            } catch (IOException e) {
+                System.out.println("  ⚠ Could not create a temporary file: " + e.getMessage());
+            }
+
+            System.out.printf("  │  %,9d │ %13.1f │ %13.1f │ %7.1fx │ %,11d │ %11.2f │ %11.2f │%n",
+                    graph.getLocationCount(), sequentialTime / 1_000_000.0, parallelTime / 1_000_000.0,
+                    parallelTime > 0 ? (double) sequentialTime / parallelTime : 0, fileSize / 1024,
+                    saveTime / 1_000_000.0, loadTime / 1_000_000.0);
+            if (mismatches > 0) {
+                System.out.println("  ⚠ " + mismatches + " row(s) differed between the computed and stored matrices");
+            }
+        }
+
+        System.out.println("  └────────────┴───────────────┴───────────────┴──────────┴─────────────┴─────────────┴─────────────┘");
+        System.out.println("  * One Dijkstra search per depot, stopping once every depot is settled");
+    }
+
+    // ==================== Route Cache ====================
+
+    /** Route requests replayed against the cache per network size */
+    private static final int CACHE_REQUESTS = 2_000;
+    /** Distinct route pairs the requests are drawn from */
+    private static final int POPULAR_ROUTES = 100;
+
+    /**
+     * Replays a skewed stream of route requests (a few popular pairs asked
+     * over and over, with an occasional road closure) with and without the
+     * route cache and reports the hit rate and time per request.
+     */
+    public static void benchmarkRouteCache() {
+        System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.println("  ║   ROUTE CACHE - " + CACHE_REQUESTS + " REQUESTS OVER " + POPULAR_ROUTES
+                + " POPULAR ROUTES                             ║");
+        System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════\n");
+
+        System.out.println("  ┌────────────┬───────────┬───────────┬───────────────┬─────────────┬─────────────┬──────────┐");
+        System.out.println("  │  Locations │ Hits      │ Misses    │ Invalidated   │ Uncached µs │ Cached µs   │ Speedup  │");
+        System.out.println("  ├────────────┼───────────┼───────────┼───────────────┼─────────────┼─────────────┼──────────┤");
+
+        for (int side : GRID_SIDES) {
+            Random random = new Random(SEED);
+            CityGraph graph = buildScaledNetwork(side, random);
+            String[][] popular = new String[POPULAR_ROUTES][];
+            for (int i = 0; i < POPULAR_ROUTES; i++) {
+                popular[i] = new String[]{CityGenerator.gridName(random.nextInt(side), random.nextInt(side)),
+                        CityGenerator.gridName(random.nextInt(side), random.nextInt(side))};
+            }
+            // Squaring a uniform number favours the first routes (roughly Zipf-like)
+            int[] requests = new int[CACHE_REQUESTS];
+            for (int i = 0; i < CACHE_REQUESTS; i++) {
+                double u = random.nextDouble();
+                requests[i] = (int) (u * u * POPULAR_ROUTES);
+            }
+
+            long uncached = replayRequests(graph, popular, requests, new Random(SEED));
+            graph.getRouteCache().setCapacity(RouteCache.DEFAULT_CAPACITY);
+            graph.getRouteCache().clear();
+            long cached = replayRequests(graph, popular, requests, new Random(SEED));
+            RouteCache cache = graph.getRouteCache();
+
+            System.out.printf("  │  %,9d │ %,9d │ %,9d │ %,13d │ %11.1f │ %11.1f │ %7.1fx │%n",
+                    graph.getLocationCount(), cache.getHits(), cache.getMisses(), cache.getInvalidations(),
+                    uncached / 1_000.0 / CACHE_REQUESTS, cached / 1_000.0 / CACHE_REQUESTS,
+                    cached > 0 ? (double) uncached / cached : 0);
+        }
+
+        System.out.println("  └────────────┴───────────┴───────────┴───────────────┴─────────────┴─────────────┴──────────┘");
+        System.out.println("  * Every 200 requests a road is closed and reopened, invalidating affected routes");
+    }
+
+    /**
+     * Runs the request stream, closing and reopening a road on the most
+     * popular route every 200 requests.
+     * @return total time spent answering requests in nanoseconds
+     */
+    private static long replayRequests(CityGraph graph, String[][] popular, int[] requests, Random random) {
+        long time = 0;
+        for (int i = 0; i < requests.length; i++) {
+            if (i > 0 && i % 200 == 0) {
+                RoutePath busiest = graph.findShortestPath(popular[0][0], popular[0][1]);
+                if (busiest != null && busiest.getHopCount() > 0) {
+                    int hop = random.nextInt(busiest.getHopCount());
+                    String a = busiest.getLocations().get(hop);
+                    String b = busiest.getLocations().get(hop + 1);
+                    int distance = graph.getRoadDistance(a, b);
+                    graph.removeRoad(a, b);
+                    graph.addRoad(a, b, distance);
+                }
+            }
+            String[] q = popular[requests[i]];
+            long start = System.nanoTime();
+            graph.findShortestPath(q[0], q[1]);
+            time += System.nanoTime() - start;
+        }
+        return time;
+    }
+
+    // ==================== K-Shortest Routes ====================
+
+    /** Route queries per k in the k-shortest benchmark */
+    private static final int K_SHORTEST_QUERIES = 10;
+
+    /**
+     * Times Yen's k-shortest loopless routes for k = 3..10 on the largest
+     * synthetic network, and reports how much longer the k-th alternative is
+     * than the shortest route.
+     */
+    public static void benchmarkKShortestPaths() {
+        int side = GRID_SIDES[GRID_SIDES.length - 1];
+        Random random = new Random(SEED);
+        CityGraph graph = buildScaledNetwork(side, random);
+        String[][] queries = randomRouteQueries(side, random);
+
+        System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.printf("  ║   K-SHORTEST ROUTES (YEN) - %,d LOCATIONS, %,d ROADS%n",
+                graph.getLocationCount(), graph.getRoadCount());
+        System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════\n");
+
+        // Warm up JVM
+        for (int i = 0; i < 3; i++) {
+            graph.findKShortestPaths(queries[i][0], queries[i][1], 3);
+        }
+
+        System.out.println("  ┌──────┬──────────────┬─────────────┬───────────────┬───────────────┬──────────────┐");
+        System.out.println("  │  k   │ Routes found │ Avg ms      │ Shortest km   │ k-th km       │ k-th detour  │");
+        System.out.println("  ├──────┼──────────────┼─────────────┼───────────────┼───────────────┼──────────────┤");
+
+        for (int k = 3; k <= 10; k++) {
+            long time = 0, found = 0, shortest = 0, kth = 0;
+            for (int i = 0; i < K_SHORTEST_QUERIES; i++) {
+                long start = System.nanoTime();
+                List<RoutePath> routes = graph.findKShortestPaths(queries[i][0], queries[i][1], k);
+                time += System.nanoTime() - start;
+                found += routes.size();
+                if (!routes.isEmpty()) {
+                    shortest += routes.get(0).getTotalDistance();
+                    kth += routes.get(routes.size() - 1).getTotalDistance();
+                }
+            }
+            System.out.printf("  │ %4d │ %12.1f │ %11.2f │ %13.1f │ %13.1f │ %11.2f%% │%n",
+                    k, (double) found / K_SHORTEST_QUERIES, time / 1_000_000.0 / K_SHORTEST_QUERIES,
+                    (double) shortest / K_SHORTEST_QUERIES, (double) kth / K_SHORTEST_QUERIES,
+                    shortest > 0 ? 100.0 * (kth - shortest) / shortest : 0);
+        }
+
+        System.out.println("  └──────┴──────────────┴─────────────┴───────────────┴───────────────┴──────────────┘");
+        System.out.println("  * Averages over " + K_SHORTEST_QUERIES + " random routes; k-th detour = extra distance of the last alternative");
+    }
+
+    // ==================== Live Traffic ====================
+
+    /** Live travel time updates applied in the update throughput test */
+    private static final int TRAFFIC_UPDATES = 1_000_000;
+
+    /**
+     * Measures time-dependent route queries on the largest synthetic network
+     * with rush-hour profiles on every road, first on a quiet graph and then
+     * while a second thread keeps publishing live travel times. Also reports
+     * the cost of a single live update.
+     */
+    public static void benchmarkLiveTraffic() {
+        int side = GRID_SIDES[GRID_SIDES.length - 1];
+        Random random = new Random(SEED);
+        CityGraph graph = buildScaledNetwork(side, random);
+        String[][] queries = randomRouteQueries(side, random);
+        String[][] roads = sampleRoads(side, 10_000, random);
+        for (String[] road : roads) {
+            double freeFlow = graph.getTravelTime(road[0], road[1], 0);
+            graph.setRoadProfile(road[0], road[1], WeightProfile.rushHour(freeFlow, 1.5 + random.nextDouble()));
+        }
+
+        System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.printf("  ║   LIVE TRAFFIC - %,d LOCATIONS, %,d ROADS, %,d WITH RUSH-HOUR PROFILES%n",
+                graph.getLocationCount(), graph.getRoadCount(), roads.length);
+        System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════\n");
+
+        // Single-threaded update cost
+        long start = System.nanoTime();
+        for (int i = 0; i < TRAFFIC_UPDATES; i++) {
+            String[] road = roads[i % roads.length];
+            graph.setLiveTravelTime(road[0], road[1], 1 + (i & 63));
+        }
+        long updateTime = System.nanoTime() - start;
+        for (String[] road : roads) {
+            graph.clearLiveTravelTime(road[0], road[1]);
+        }
+
+        // Warm up JVM
+        for (String[] q : queries) {
+            graph.findFastestRoute(q[0], q[1], 8 * 60);
+        }
+
+        System.out.println("  ┌──────────────────────────────┬─────────────┬─────────────┬──────────────────┐");
+        System.out.println("  │ Scenario                     │ Avg ms      │ Max ms      │ Updates applied  │");
+        System.out.println("  ├──────────────────────────────┼─────────────┼─────────────┼──────────────────┤");
+
+        long[] quiet = timeFastestRoutes(graph, queries);
+        System.out.printf("  │ %-28s │ %11.2f │ %11.2f │ %16s │%n", "Queries, no updates",
+                quiet[0] / 1_000_000.0 / queries.length, quiet[1] / 1_000_000.0, "-");
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicLong applied = new AtomicLong();
+        Thread feed = new Thread(() -> {
+            Random feedRandom = new Random(SEED + 1);
+            while (!stop.get()) {
+                String[] road = roads[feedRandom.nextInt(roads.length)];
+                graph.setLiveTravelTime(road[0], road[1], 1 + feedRandom.nextInt(120));
+                applied.incrementAndGet();
+                // Keep the feed at a realistic rate instead of spinning
+                if ((applied.get() & 255) == 0) {
+                    Thread.yield();
+                }
+            }
+        }, "traffic-feed");
+        feed.setDaemon(true);
+        feed.start();
+        long[] busy = timeFastestRoutes(graph, queries);
+        stop.set(true);
+        try {
+            feed.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.printf("  │ %-28s │ %11.2f │ %11.2f │ %,16d │%n", "Queries, live feed running",
+                busy[0] / 1_000_000.0 / queries.length, busy[1] / 1_000_000.0, applied.get());
+        System.out.println("  └──────────────────────────────┴─────────────┴─────────────┴──────────────────┘");
+        System.out.printf("  * Live update: %.0f ns each over %,d updates (two name lookups and one volatile write, no locks)%n",
+                (double) updateTime / TRAFFIC_UPDATES, TRAFFIC_UPDATES);
+        System.out.println("  * Queries read travel times without locking; on a machine with one core the");
+        System.out.println("    feed thread and the queries share the CPU, so timings there include time slicing.");
+    }
+
+    /**
+     * Times findFastestRoute over a set of queries departing at 08:00.
+     * @return {total nanoseconds, slowest query in nanoseconds}
+     */
+    private static long[] timeFastestRoutes(CityGraph graph, String[][] queries) {
+        long total = 0, max = 0;
+        for (String[] q : queries) {
+            long start = System.nanoTime();
+            graph.findFastestRoute(q[0], q[1], 8 * 60);
+            long elapsed = System.nanoTime() - start;
+            total += elapsed;
+            max = Math.max(max, elapsed);
+        }
+        return new long[]{total, max};
+    }
+
+    /**
+     * Picks random horizontal grid roads (which always exist in a scaled network).
+     */
+    private static String[][] sampleRoads(int side, int count, Random random) {
+        String[][] roads = new String[count][];
+        for (int i = 0; i < count; i++) {
+            int r = random.nextInt(side);
+            int c = random.nextInt(side - 1);
+            roads[i] = new String[]{CityGenerator.gridName(r, c), CityGenerator.gridName(r, c + 1)};
+        }
+        return roads;
+    }
+
+    // ==================== Concurrent Readers & Writers ====================
+
+    /** How long each reader-thread count is measured */
+    private static final long STRESS_MILLIS = 1_500;
+    /** Pause between the writer's batches of road closures */
+    private static final long WRITER_PAUSE_MILLIS = 20;
+    /** Roads closed (and the previous ones reopened) per writer batch */
+    private static final int ROADS_PER_BATCH = 5;
+
+    /**
+     * Stress test for {@link ConcurrentCityGraph}: 1, 2, 4, ... reader
+     * threads run random route queries while a writer thread keeps closing
+     * and reopening roads. Reports query throughput per thread count,
+     * snapshots published and any query that failed.
+     */
+    public static void benchmarkConcurrentGraph() {
+        int side = GRID_SIDES[1];
+        Random random = new Random(SEED);
+        ConcurrentCityGraph graph = new ConcurrentCityGraph(buildScaledNetwork(side, random));
+        String[][] queries = randomRouteQueries(side, random);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.printf("  ║   CONCURRENT GRAPH - %,d LOCATIONS, %,d ROADS, %d CORE(S)%n",
+                graph.getLocationCount(), graph.getRoadCount(), cores);
+        System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.println("  Readers query lock-free snapshots; a writer closes and reopens "
+                + ROADS_PER_BATCH + " roads every " + WRITER_PAUSE_MILLIS + " ms.\n");
+
+        // Warm up JVM (one unmeasured run so the first row is not slowed by compilation)
+        runStress(graph, side, queries, 1);
+
+        System.out.println("  ┌──────────┬───────────────┬───────────────┬──────────┬─────────────┬──────────┐");
+        System.out.println("  │ Readers  │ Queries       │ Queries/sec   │ Scaling  │ Snapshots   │ Failures │");
+        System.out.println("  ├──────────┼───────────────┼───────────────┼──────────┼─────────────┼──────────┤");
+
+        double baseline = 0;
+        for (int readers = 1; readers <= Math.max(4, cores); readers *= 2) {
+            long[] result = runStress(graph, side, queries, readers);
+            double perSecond = result[0] * 1000.0 / STRESS_MILLIS;
+            if (readers == 1) {
+                baseline = perSecond;
+            }
+            System.out.printf("  │ %8d │ %,13d │ %,13.0f │ %7.2fx │ %,11d │ %8d │%n",
+                    readers, result[0], perSecond, baseline > 0 ? perSecond / baseline : 0, result[1], result[2]);
+        }
+
+        System.out.println("  └──────────┴───────────────┴───────────────┴──────────┴─────────────┴──────────┘");
+        System.out.println("  * Scaling is relative to one reader; it can only grow up to the number of cores");
+        System.out.println("  * Failures = queries that threw an exception (should always be 0)");
+    }
+
+    /**
+     * Runs reader threads and one writer thread for STRESS_MILLIS.
+     * @return {queries answered, snapshots published, failed queries}
+     */
+    private static long[] runStress(ConcurrentCityGraph graph, int side, String[][] queries, int readers) {
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicLong answered = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        long publishedBefore = graph.getPublishCount();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < readers; t++) {
+            int offset = t;
+            threads.add(new Thread(() -> {
+                long count = 0;
+                for (int i = offset; !stop.get(); i++) {
+                    String[] q = queries[i % queries.length];
+                    try {
+                        graph.findShortestPath(q[0], q[1]);
+                        count++;
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                answered.addAndGet(count);
+            }, "route-reader-" + t));
+        }
+        threads.add(new Thread(() -> {
+            Random random = new Random(SEED + readers);
+            List<String[]> closed = new ArrayList<>();
+            while (!stop.get()) {
+                graph.update(g -> {
+                    for (String[] road : closed) {
+                        g.addRoad(road[0], road[1], Integer.parseInt(road[2]));
+                    }
+                    closed.clear();
+                    for (int i = 0; i < ROADS_PER_BATCH; i++) {
+                        int r = random.nextInt(side), c = random.nextInt(side - 1);
+                        String a = CityGenerator.gridName(r, c), b = CityGenerator.gridName(r, c + 1);
+                        int distance = g.getRoadDistance(a, b);
+                        if (distance > 0 && g.removeRoad(a, b)) {
+                            closed.add(new String[]{a, b, String.valueOf(distance)});
+                        }
+                    }
+                });
+                try {
+                    Thread.sleep(WRITER_PAUSE_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            // Leave the network as it was for the next run
+            graph.update(g -> {
+                for (String[] road : closed) {
+                    g.addRoad(road[0], road[1], Integer.parseInt(road[2]));
+                }
+            });
+        }, "road-writer"));
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        try {
+            Thread.sleep(STRESS_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stop.set(true);
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new long[]{answered.get(), graph.getPublishCount() - publishedBefore, failures.get()};
+    }
+
+    // ==================== Graph Loader ====================
+
+    /** Grid sides of the generated network files (about 2 x side^2 roads each) */
+    private static final int[] LOADER_SIDES = {100, 300, 1000};
+
+    /**
+     * Writes grid road networks of up to two million roads to temporary
+     * edge-list files and measures how fast {@link GraphLoader} parses them
+     * and inserts them into a new graph and BST.
+     */
+    public static void benchmarkGraphLoader() {
+        System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.println("  ║   GRAPH LOADER - MEMORY-MAPPED EDGE-LIST FILES                                  ║");
+        System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════\n");
+
+        System.out.println("  ┌────────────┬────────────┬──────────┬─────────────┬─────────────┬──────────────┬──────────┐");
+        System.out.println("  │  Locations │  Roads     │ File MB  │ Parse ms    │ Insert ms   │ Edges/sec    │ MB/s     │");
+        System.out.println("  ├────────────┼────────────┼──────────┼─────────────┼─────────────┼──────────────┼──────────┤");
+
+        for (int side : LOADER_SIDES) {
+            File file = null;
+            try {
+                file = File.createTempFile("road-network-" + side, ".csv");
+                writeGridEdgeList(file, side, new Random(SEED));
+                // Warm up JVM on the smallest file only; large runs are long enough on their own
+                if (side == LOADER_SIDES[0]) {
+                    GraphLoader.load(file, new CityGraph(), new BSTLocation());
+                }
+                CityGraph graph = new CityGraph();
+                LoadReport report = GraphLoader.load(file, graph, new BSTLocation());
+                if (report == null) {
+                    System.out.printf("  │  %,9d │ could not read the generated file%n", side * side);
+                    continue;
+                }
+                System.out.printf("  │  %,9d │ %,10d │ %8.1f │ %11.1f │ %11.1f │ %,12.0f │ %8.1f │%n",
+                        graph.getLocationCount(), graph.getRoadCount(), report.getBytes() / 1e6,
+                        report.getParseMillis(), report.getInsertMillis(), report.getEdgesPerSecond(),
+                        report.getMegabytesPerSecond());
+            } catch (IOException e) {
+                System.out.println("  │ Could not write a temporary file: " + e.getMessage());
+            } finally {
+                if (file != null) {
+                    file.delete();
+                }
+            }
+        }
+
+        System.out.println("  └────────────┴────────────┴──────────┴─────────────┴─────────────┴──────────────┴──────────┘");
+        System.out.println("  * Parse = mapping and scanning the file; Insert = adding locations (graph + BST) and roads");
+    }
+
+    /**
+     * Writes a side x side grid network as "from,to,distance" lines.
+     */
+    private static void writeGridEdgeList(File file, int side, Random random) throws IOException {
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(file), 1 << 16)) {
+            out.write("from,to,distance\n");
+            for (int r = 0; r < side; r++) {
+                for (int c = 0; c < side; c++) {
+                    if (c + 1 < side) {
+                        out.write(CityGenerator.gridName(r, c) + "," + CityGenerator.gridName(r, c + 1) + "," + (1 + random.nextInt(20)) + "\n");
+                    }
+                    if (r + 1 < side) {
+                        out.write(CityGenerator.gridName(r, c) + "," + CityGenerator.gridName(r + 1, c) + "," + (1 + random.nextInt(20)) + "\n");
+                    }
+                }
+            }
+        }
+    }
+
+    // ==================== Graph Snapshot ====================
+
+    /**
+     * Compares starting a two-million-road network from a CSV file with
+     * starting it from a binary snapshot, and checks that the reopened
+     * graph answers route queries the same way.
+     */
+    public static void benchmarkGraphSnapshot() {
+        int side = LOADER_SIDES[LOADER_SIDES.length - 1];
+        File csv = null, snapshot = null;
+        try {
+            csv = File.createTempFile("road-network", ".csv");
+            snapshot = File.createTempFile("road-network", ".scgs");
+            writeGridEdgeList(csv, side, new Random(SEED));
+
+            System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+            System.out.println("  ║   BINARY SNAPSHOT vs CSV - STARTING A " + side + " x " + side + " GRID NETWORK                       ║");
+            System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════\n");
+
+            CityGraph graph = new CityGraph();
+            BSTLocation bst = new BSTLocation();
+            LoadReport report = GraphLoader.load(csv, graph, bst);
+            long start = System.nanoTime();
+            boolean saved = GraphSnapshot.save(graph, bst, snapshot);
+            long saveTime = System.nanoTime() - start;
+            if (report == null || !saved) {
+                System.out.println("  Could not write the benchmark files.");
+                return;
+            }
+            // Record reference answers, then drop the graph: two copies would not fit a default heap
+            Random random = new Random(SEED);
+            String[][] queries = new String[QUERIES][];
+            int[] expected = new int[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                queries[i] = new String[]{CityGenerator.gridName(random.nextInt(side), random.nextInt(side)),
+                        CityGenerator.gridName(random.nextInt(side), random.nextInt(side))};
+                expected[i] = graph.findShortestPath(queries[i][0], queries[i][1]).getTotalDistance();
+            }
+            graph = null;
+            bst = null;
+
+            start = System.nanoTime();
+            FrozenCityGraph frozen = GraphSnapshot.loadFrozen(snapshot);
+            long frozenTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            BSTLocation reopenedBst = new BSTLocation();
+            CityGraph reopened = GraphSnapshot.load(snapshot, reopenedBst);
+            long reopenTime = System.nanoTime() - start;
+
+            System.out.println("  ┌────────────────────────────────────┬──────────┬─────────────┬─────────────┐");
+            System.out.println("  │ Step                               │ File MB  │ Time ms     │ vs CSV      │");
+            System.out.println("  ├────────────────────────────────────┼──────────┼─────────────┼─────────────┤");
+            System.out.printf("  │ %-34s │ %8.1f │ %11.1f │ %11s │%n", "CSV load -> CityGraph + BST",
+                    csv.length() / 1e6, report.getTotalMillis(), "1.00x");
+            System.out.printf("  │ %-34s │ %8.1f │ %11.1f │ %11s │%n", "Snapshot save",
+                    snapshot.length() / 1e6, saveTime / 1e6, "-");
+            System.out.printf("  │ %-34s │ %8.1f │ %11.1f │ %10.1fx │%n", "Snapshot open -> FrozenCityGraph",
+                    snapshot.length() / 1e6, frozenTime / 1e6, report.getTotalMillis() * 1e6 / frozenTime);
+            System.out.printf("  │ %-34s │ %8.1f │ %11.1f │ %10.1fx │%n", "Snapshot open -> CityGraph + BST",
+                    snapshot.length() / 1e6, reopenTime / 1e6, report.getTotalMillis() * 1e6 / reopenTime);
+            System.out.println("  └────────────────────────────────────┴──────────┴─────────────┴─────────────┘");
+
+            int mismatches = 0;
+            for (int i = 0; i < QUERIES; i++) {
+                if (reopened.findShortestPath(queries[i][0], queries[i][1]).getTotalDistance() != expected[i]
+                        || frozen.findShortestPath(queries[i][0], queries[i][1]).getTotalDistance() != expected[i]) {
+                    mismatches++;
+                }
+            }
+            System.out.printf("  * %,d locations, %,d roads, %,d BST names; %d of %d sample routes differ after reopening%n",
+                    reopened.getLocationCount(), reopened.getRoadCount(), reopenedBst.getSize(), mismatches, QUERIES);
+        } catch (IOException e) {
+            System.out.println("  Could not create temporary files: " + e.getMessage());
+        } finally {
+            if (csv != null) {
+                csv.delete();
+            }
+            if (snapshot != null) {
+                snapshot.delete();
+            }
+        }
+    }
+
+    // ==================== Mutation Journal ====================
+
+    /** Road closures and reopenings applied per journal scenario */
+    private static final int JOURNAL_MUTATIONS = 500_000;
+    /** Changes applied when every change waits for its own disk sync */
+    private static final int SYNCED_MUTATIONS = 2_000;
+    /** Segment size that triggers compaction in the compaction scenario */
+    private static final long JOURNAL_COMPACT_BYTES = 4L << 20;
+
+    /**
+     * Measures sustained mutations/second on a journaled graph: without a
+     * journal, with group commit, with a disk sync after every change, and
+     * with background compaction. Finally restarts from the files and
+     * checks that the recovered graph matches.
+     */
+    public static void benchmarkMutationJournal() {
+        int side = GRID_SIDES[1];
+        Random random = new Random(SEED);
+        CityGraph graph = buildScaledNetwork(side, random);
+        String[][] roads = sampleRoads(side, 10_000, random);
+        File directory = null;
+        try {
+            directory = Files.createTempDirectory("mutation-journal").toFile();
+            File snapshot = new File(directory, "network.scgs");
+            File journalBase = new File(directory, "network.journal");
+
+            System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+            System.out.printf("  ║   MUTATION JOURNAL - %,d LOCATIONS, %,d ROADS, ROAD CLOSURES AND REOPENINGS%n",
+                    graph.getLocationCount(), graph.getRoadCount());
+            System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════\n");
+
+            // Warm up JVM, with and without a journal
+            applyRoadChanges(graph, roads, JOURNAL_MUTATIONS / 10, null);
+            MutationJournal journal = MutationJournal.create(graph, null, snapshot, journalBase);
+            if (journal == null) {
+                System.out.println("  Could not create the journal files.");
+                return;
+            }
+            applyRoadChanges(graph, roads, JOURNAL_MUTATIONS / 10, null);
+            journal.close();
+
+            System.out.println("  ┌──────────────────────────────────┬───────────┬───────────┬───────────────┬───────────┬─────────────┐");
+            System.out.println("  │ Scenario                         │ Mutations │ Time ms   │ Mutations/sec │ Syncs     │ Compactions │");
+            System.out.println("  ├──────────────────────────────────┼───────────┼───────────┼───────────────┼───────────┼─────────────┤");
+
+            long start = System.nanoTime();
+            applyRoadChanges(graph, roads, JOURNAL_MUTATIONS, null);
+            printJournalRow("No journal (in memory only)", JOURNAL_MUTATIONS, System.nanoTime() - start, null);
+
+            journal = MutationJournal.create(graph, null, snapshot, journalBase);
+            journal.setCompactThreshold(Long.MAX_VALUE);
+            start = System.nanoTime();
+            applyRoadChanges(graph, roads, JOURNAL_MUTATIONS, null);
+            journal.sync();
+            printJournalRow("Journal, group commit (" + MutationJournal.DEFAULT_FLUSH_INTERVAL_MILLIS + " ms)",
+                    JOURNAL_MUTATIONS, System.nanoTime() - start, journal);
+            journal.close();
+
+            journal = MutationJournal.create(graph, null, snapshot, journalBase);
+            journal.setCompactThreshold(Long.MAX_VALUE);
+            start = System.nanoTime();
+            applyRoadChanges(graph, roads, SYNCED_MUTATIONS, journal);
+            printJournalRow("Journal, sync after every change", SYNCED_MUTATIONS, System.nanoTime() - start, journal);
+            journal.close();
+
+            journal = MutationJournal.create(graph, null, snapshot, journalBase);
+            journal.setCompactThreshold(JOURNAL_COMPACT_BYTES);
+            start = System.nanoTime();
+            applyRoadChanges(graph, roads, JOURNAL_MUTATIONS, null);
+            journal.sync();
+            printJournalRow("Group commit + compaction (" + (JOURNAL_COMPACT_BYTES >> 20) + " MB)",
+                    JOURNAL_MUTATIONS, System.nanoTime() - start, journal);
+            applyRoadChanges(graph, roads, 1_001, null); // Leave some changes after the last compaction
+            journal.close();
+            System.out.println("  └──────────────────────────────────┴───────────┴───────────┴───────────────┴───────────┴─────────────┘");
+
+            start = System.nanoTime();
+            MutationJournal recovered = MutationJournal.recover(snapshot, journalBase, null);
+            long recoverTime = System.nanoTime() - start;
+            if (recovered == null) {
+                System.out.println("  * Recovery failed: the journal files could not be read.");
+                return;
+            }
+            CityGraph restored = recovered.getGraph();
+            int mismatches = 0;
+            for (String[] road : roads) {
+                if (graph.getRoadDistance(road[0], road[1]) != restored.getRoadDistance(road[0], road[1])) {
+                    mismatches++;
+                }
+            }
+            recovered.close();
+            System.out.printf("  * Restart: snapshot + %,d journaled changes replayed in %.1f ms; %,d roads,"
+                            + " %d of %,d sampled roads differ%n", recovered.getReplayedCount(), recoverTime / 1e6,
+                    restored.getRoadCount(), mismatches, roads.length);
+            System.out.println("  * Group commit: changes are buffered and one disk sync covers every change in the");
+            System.out.println("    flush window; call sync() where a change must be on disk before continuing.");
+        } catch (IOException e) {
+            System.out.println("  Could not create temporary files: " + e.getMessage());
+        } finally {
+            if (directory != null) {
+                File[] files = directory.listFiles();
+                for (File file : files == null ? new File[0] : files) {
+                    file.delete();
+                }
+                directory.delete();
+            }
+        }
+    }
+
+    /**
+     * Closes and reopens sampled roads: even steps remove a road, odd steps
+     * add it back (with a new length, like a detour being signposted).
+     * @param syncEach journal to sync after every change, or null
+     */
+    private static void applyRoadChanges(CityGraph graph, String[][] roads, int mutations, MutationJournal syncEach) {
+        for (int i = 0; i < mutations; i++) {
+            String[] road = roads[(i >> 1) % roads.length];
+            if ((i & 1) == 0) {
+                graph.removeRoad(road[0], road[1]);
+            } else {
+                graph.addRoad(road[0], road[1], 5 + (i & 15));
+            }
+            if (syncEach != null) {
+                syncEach.sync();
+            }
+        }
+    }
+
+    private static void printJournalRow(String scenario, int mutations, long nanos, MutationJournal journal) {
+        System.out.printf("  │ %-32s │ %,9d │ %9.1f │ %,13.0f │ %9s │ %11s │%n", scenario, mutations, nanos / 1e6,
+                mutations * 1e9 / nanos, journal == null ? "-" : String.format("%,d", journal.getForceCount()),
+                journal == null ? "-" : String.valueOf(journal.getCompactionCount()));
+    }
+
+    // ==================== Network Generator ====================
+
+    /** Road counts generated per shape, as editable graphs */
+    private static final int[] GENERATOR_ROADS = {1_000, 10_000, 100_000, 1_000_000};
+    /** Road count generated per shape in read-only CSR form */
+    private static final int FROZEN_GENERATOR_ROADS = 10_000_000;
+
+    /**
+     * Times the synthetic network generator for each shape from a thousand
+     * to ten million roads, and reports the structure of what it built.
+     * The largest size is built as a FrozenCityGraph, which needs a fraction
+     * of the memory of an editable graph.
+     */
+    public static void benchmarkCityGenerator() {
+        System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.println("  ║   SYNTHETIC NETWORK GENERATOR - GRID, RANDOM GEOMETRIC, SCALE-FREE                ║");
+        System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════\n");
+
+        // Warm up JVM
+        for (int shape = CityGenerator.GRID; shape <= CityGenerator.SCALE_FREE; shape++) {
+            CityGenerator.generate(shape, 10_000, SEED, new BSTLocation());
+        }
+
+        System.out.println("  ┌────────────────────┬────────────┬────────────┬────────────┬────────────┬───────────┬────────────┬──────────────┐");
+        System.out.println("  │ Shape              │ Locations  │ Roads      │ Avg degree │ Max degree │ Components│ Build ms   │ Roads/sec    │");
+        System.out.println("  ├────────────────────┼────────────┼────────────┼────────────┼────────────┼───────────┼────────────┼──────────────┤");
+        for (int shape = CityGenerator.GRID; shape <= CityGenerator.SCALE_FREE; shape++) {
+            for (int roads : GENERATOR_ROADS) {
+                long start = System.nanoTime();
+                CityGraph graph = CityGenerator.generate(shape, roads / 3, SEED, new BSTLocation());
+                long elapsed = System.nanoTime() - start;
+                System.out.printf("  │ %-18s │ %,10d │ %,10d │ %10.2f │ %,10d │ %,9d │ %10.1f │ %,12.0f │%n",
+                        CityGenerator.shapeName(shape), graph.getLocationCount(), graph.getRoadCount(),
+                        graph.getAverageDegree(), graph.getMaxDegree(), graph.getComponentCount(), elapsed / 1e6,
+                        graph.getRoadCount() * 1e9 / elapsed);
+            }
+            long start = System.nanoTime();
+            FrozenCityGraph frozen = CityGenerator.generateFrozen(shape, FROZEN_GENERATOR_ROADS / 3, SEED);
+            long elapsed = System.nanoTime() - start;
+            int maxDegree = 0;
+            for (int v = 0; v < frozen.getLocationCount(); v++) {
+                maxDegree = Math.max(maxDegree, frozen.degree(v));
+            }
+            System.out.printf("  │ %-18s │ %,10d │ %,10d │ %10.2f │ %,10d │ %9s │ %10.1f │ %,12.0f │%n",
+                    CityGenerator.shapeName(shape) + " *", frozen.getLocationCount(), frozen.getRoadCount(),
+                    2.0 * frozen.getRoadCount() / frozen.getLocationCount(), maxDegree, "-", elapsed / 1e6,
+                    frozen.getRoadCount() * 1e9 / elapsed);
+            frozen = null; // Free it before the next shape
+            if (shape < CityGenerator.SCALE_FREE) {
+                System.out.println("  ├────────────────────┼────────────┼────────────┼────────────┼────────────┼───────────┼────────────┼──────────────┤");
+            }
+        }
+        System.out.println("  └────────────────────┴────────────┴────────────┴────────────┴────────────┴───────────┴────────────┴──────────────┘");
+        System.out.println("  * Read-only FrozenCityGraph; the other rows are editable CityGraphs with their names in a BST.");
+        System.out.println("  * Build time covers generating the roads, loading the graph and bulk-loading the BST; seed " + SEED + ".");
+    }
+
+    // ==================== Parallel BFS ====================
+
+    /** Road counts for the parallel BFS comparison */
+    private static final int[] BFS_ROADS = {1_000_000, 10_000_000};
+
+    /**
+     * Times FrozenCityGraph.bfsOrder against the sequential and parallel
+     * ParallelBfs on generated networks of one and ten million roads, and
+     * checks the parallel levels and parents against the sequential search.
+     */
+    public static void benchmarkParallelBfs() {
+        System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.println("  ║   PARALLEL BFS - LEVEL-SYNCHRONOUS, DIRECTION-OPTIMISING                          ║");
+        System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════\n");
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("  Parallel BFS runs on the common fork/join pool (%d core%s available).%n%n",
+                cores, cores == 1 ? "" : "s");
+
+        // Warm up JVM
+        FrozenCityGraph warmup = CityGenerator.generateFrozen(CityGenerator.GEOMETRIC, 100_000, SEED);
+        for (int i = 0; i < 5; i++) {
+            warmup.bfsOrder(i);
+            ParallelBfs.run(warmup, i, false);
+            ParallelBfs.run(warmup, i, true);
+        }
+
+        System.out.println("  ┌────────────────────┬────────────┬────────────┬────────┬─────────────┬───────────────┬─────────────┬─────────┐");
+        System.out.println("  │ Shape              │ Locations  │ Roads      │ Levels │ bfsOrder ms │ Sequential ms │ Parallel ms │ Checked │");
+        System.out.println("  ├────────────────────┼────────────┼────────────┼────────┼─────────────┼───────────────┼─────────────┼─────────┤");
+        for (int shape = CityGenerator.GRID; shape <= CityGenerator.SCALE_FREE; shape++) {
+            for (int roads : BFS_ROADS) {
+                FrozenCityGraph graph = CityGenerator.generateFrozen(shape, roads / 3, SEED);
+                int source = new Random(SEED).nextInt(graph.getLocationCount());
+
+                long start = System.nanoTime();
+                int[] reference = graph.bfsOrder(source);
+                long referenceTime = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                ParallelBfs.Result sequential = ParallelBfs.run(graph, source, false);
+                long sequentialTime = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                ParallelBfs.Result parallel = ParallelBfs.run(graph, source, true);
+                long parallelTime = System.nanoTime() - start;
+
+                boolean checked = Arrays.equals(reference, sequential.getOrder())
+                        && isValidBfs(graph, source, sequential.getLevels(), parallel);
+                System.out.printf("  │ %-18s │ %,10d │ %,10d │ %6d │ %11.1f │ %13.1f │ %11.1f │ %-7s │%n",
+                        CityGenerator.shapeName(shape), graph.getLocationCount(), graph.getRoadCount(),
+                        parallel.getLevelCount(), referenceTime / 1e6, sequentialTime / 1e6,
+                        parallelTime / 1e6, checked ? "yes" : "FAILED");
+            }
+            if (shape < CityGenerator.SCALE_FREE) {
+                System.out.println("  ├────────────────────┼────────────┼────────────┼────────┼─────────────┼───────────────┼─────────────┼─────────┤");
+            }
+        }
+        System.out.println("  └────────────────────┴────────────┴────────────┴────────┴─────────────┴───────────────┴─────────────┴─────────┘");
+        System.out.println("  * Checked = sequential order matches bfsOrder, parallel levels match the sequential");
+        System.out.println("    levels, and every parallel parent is a neighbour one level closer to the source.");
+        System.out.println("  * Parallel BFS only beats the sequential run with more than one core.");
+    }
+
+    /**
+     * Checks a parallel BFS result against the sequential levels.
+     * @return true if the levels match, every parent is a neighbour one
+     *         level up, and the visit order holds each reached location once
+     */
+    private static boolean isValidBfs(FrozenCityGraph graph, int source, int[] expectedLevels,
+                                      ParallelBfs.Result result) {
+        int[] levels = result.getLevels();
+        int[] parents = result.getParents();
+        if (!Arrays.equals(expectedLevels, levels) || parents[source] != -1) {
+            return false;
+        }
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int reached = 0;
+        for (int v = 0; v < levels.length; v++) {
+            if (levels[v] < 0) {
+                continue;
+            }
+            reached++;
+            if (v == source) {
+                continue;
+            }
+            int parent = parents[v];
+            if (parent < 0 || levels[parent] != levels[v] - 1) {
+                return false;
+            }
+            boolean adjacent = false;
+            for (int e = offsets[v]; e < offsets[v + 1] && !adjacent; e++) {
+                adjacent = targets[e] == parent;
+            }
+            if (!adjacent) {
+                return false;
+            }
+        }
+        int[] order = result.getOrder().clone();
+        Arrays.sort(order);
+        for (int i = 1; i < order.length; i++) {
+            if (order[i] == order[i - 1] || levels[order[i]] < 0) {
+                return false;
+            }
+        }
+        return order.length == reached;
+    }
+
+    // ==================== Minimum Spanning Tree ====================
+
+    /** Road counts for the minimum spanning tree comparison */
+    private static final int[] MST_ROADS = {1_000_000, 10_000_000};
+
+    /**
+     * Compares Kruskal with sequential and parallel Borůvka on generated
+     * networks of one and ten million roads, and checks that all three
+     * choose the same roads.
+     */
+    public static void benchmarkMinimumSpanningTree() {
+        System.out.println("\n  ═══════════════════════════════════════════════════════════════════════════════════");
+        System.out.println("  ║   MINIMUM SPANNING TREE - KRUSKAL VS SEQUENTIAL AND PARALLEL BORUVKA             ║");
+        System.out.println("  ═══════════════════════════════════════════════════════════════════════════════════\n");
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("  Parallel Borůvka runs on the common fork/join pool (%d core%s available).%n%n",
+                cores, cores == 1 ? "" : "s");
+
+        // Warm up JVM
+        FrozenCityGraph warmup = CityGenerator.generateFrozen(CityGenerator.GEOMETRIC, 30_000, SEED);
+        for (int i = 0; i < 3; i++) {
+            MinimumSpanningTree.kruskal(warmup);
+            MinimumSpanningTree.boruvka(warmup, false);
+            MinimumSpanningTree.boruvka(warmup, true);
+        }
+
+        System.out.println("  ┌────────────────────┬────────────┬────────────┬────────┬───────────────┬────────────┬────────────┬─────────────┬───────┐");
+        System.out.println("  │ Shape              │ Locations  │ Roads      │ Rounds │ Total km      │ Kruskal ms │ Borůvka ms │ Parallel ms │ Same  │");
+        System.out.println("  ├────────────────────┼────────────┼────────────┼────────┼───────────────┼────────────┼────────────┼─────────────┼───────┤");
+        for (int shape = CityGenerator.GRID; shape <= CityGenerator.SCALE_FREE; shape++) {
+            for (int roads : MST_ROADS) {
+                FrozenCityGraph graph = CityGenerator.generateFrozen(shape, roads / 3, SEED);
+
+                long start = System.nanoTime();
+                MinimumSpanningTree.Result kruskal = MinimumSpanningTree.kruskal(graph);
+                long kruskalTime = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                MinimumSpanningTree.Result sequential = MinimumSpanningTree.boruvka(graph, false);
+                long sequentialTime = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                MinimumSpanningTree.Result parallel = MinimumSpanningTree.boruvka(graph, true);
+                long parallelTime = System.nanoTime() - start;
+
+                boolean same = kruskal.sameRoads(sequential) && kruskal.sameRoads(parallel);
+                System.out.printf("  │ %-18s │ %,10d │ %,10d │ %6d │ %,13d │ %10.1f │ %10.1f │ %11.1f │ %-5s │%n",
+                        CityGenerator.shapeName(shape), graph.getLocationCount(), graph.getRoadCount(),
+                        parallel.getRounds(), kruskal.getTotalDistance(), kruskalTime / 1e6,
+                        sequentialTime / 1e6, parallelTime / 1e6, same ? "yes" : "NO");
+            }
+            if (shape < CityGenerator.SCALE_FREE) {
+                System.out.println("  ├────────────────────┼────────────┼────────────┼────────┼───────────────┼────────────┼────────────┼─────────────┼───────┤");
+            }
+        }
+        System.out.println("  └────────────────────┴────────────┴────────────┴────────┴───────────────┴────────────┴────────────┴─────────────┴───────┘");
+        System.out.println("  * Same = Kruskal and both Borůvka runs chose identical roads (ties broken by location id).");
+        System.out.println("  * Parallel Borůvka only beats the sequential run with more than one core.");
+    }
+
+    // ==================== Synthetic Networks ====================
+
+    /**
+     * Builds a side x side street grid spread over the island (see
+     * {@link CityGenerator#GRID}), with the route cache turned off.
+     */
+    static CityGraph buildScaledNetwork(int side, Random random) {
+        CityGraph graph = CityGenerator.generate(CityGenerator.GRID, side * side, random.nextLong(), null);
+        // Benchmarks repeat their queries, so cached answers would hide the search cost
+        graph.getRouteCache().setCapacity(0);
+        return graph;
+    }
+
+    /**
+     * Picks route queries from the southern tenth of the grid to the northern tenth.
+     */
+    private static String[][] longRouteQueries(int side, Random random) {
+        int band = Math.max(1, side / 10);
+        String[][] queries = new String[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            String from = CityGenerator.gridName(random.nextInt(band), random.nextInt(side));
+            String to = CityGenerator.gridName(side - 1 - random.nextInt(band), random.nextInt(side));
+            queries[i] = new String[]{from, to};
+        }
+        return queries;
+    }
+
+    /**
+     * Picks route queries between uniformly random locations.
+     */
+    private static String[][] randomRouteQueries(int side, Random random) {
+        String[][] queries = new String[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            String from = CityGenerator.gridName(random.nextInt(side), random.nextInt(side));
+            String to = CityGenerator.gridName(random.nextInt(side), random.nextInt(side));
+            queries[i] = new String[]{from, to};
+        }
+        return queries;
+    }
+}
@@ -0,0 +1,241 @@
+package module1;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded, least-recently-used cache of shortest-route results for a
+ * {@link CityGraph}, keyed by (source id, destination id).
+ *
+ * The graph invalidates entries itself as it changes, and only the ones a
+ * change can affect:
+ * <ul>
+ *   <li>adding a location: nothing (it has no roads yet)</li>
+ *   <li>adding a road: everything (any route may now be shorter)</li>
+ *   <li>removing a road: routes that use that road</li>
+ *   <li>removing a location: routes that pass through or end at it</li>
+ * </ul>
+ * "No route" answers are cached too; removals can never create a route,
+ * so they survive everything except adding a road.
+ *
+ * Route queries may run on several threads at once, and every lookup
+ * reorders the LRU list, so the map is guarded by its own lock; the
+ * counters are LongAdders so that counting a hit does not need it.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class RouteCache {
+
+    /** Number of routes kept by a new graph's cache */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    // ==================== Entry ====================
+    /**
+     * A cached answer: the route (null when no route exists) and the ids of
+     * the locations on it, used to decide which entries a removal affects.
+     */
+    static final class Entry {
+        final RoutePath route;
+        final int[] ids;
+
+        Entry(RoutePath route, int[] ids) {
+            this.route = route;
+            this.ids = ids;
+        }
+    }
+
+    // ==================== Fields ====================
+    /** Access-ordered map: iteration starts at the least recently used entry. Guarded by itself */
+    private final LinkedHashMap<Long, Entry> entries;
+    private volatile int capacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    // ==================== Constructor ====================
+    /**
+     * Creates an empty cache.
+     * @param capacity maximum number of routes kept (0 disables caching)
+     */
+    public RouteCache(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > RouteCache.this.capacity;
+            }
+        };
+    }
+
+    private static long key(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    // ==================== Lookup (package-private) ====================
+
+    /**
+     * Looks up a cached answer and counts the hit or miss.
+     * @return the entry, or null on a miss
+     */
+    Entry get(int from, int to) {
+        if (capacity == 0) {
+            misses.increment();
+            return null;
+        }
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key(from, to));
+        }
+        if (entry == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Stores an answer, evicting the least recently used one if full.
+     * @param route the route, or null if there is none
+     * @param ids location ids along the route (ignored when route is null)
+     */
+    void put(int from, int to, RoutePath route, int[] ids) {
+        if (capacity > 0) {
+            Entry entry = new Entry(route, route == null ? new int[]{from, to} : ids);
+            synchronized (entries) {
+                entries.put(key(from, to), entry);
+            }
+        }
+    }
+
+    // ==================== Invalidation (package-private) ====================
+
+    /**
+     * Drops every entry; used when a road is added.
+     */
+    void invalidateAll() {
+        synchronized (entries) {
+            invalidations.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    /**
+     * Drops the routes that travel the road u-v in either direction.
+     */
+    void invalidateRoad(int u, int v) {
+        synchronized (entries) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.route != null && usesRoad(entry.ids, u, v)) {
+                    it.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the entries that pass through or end at a location.
+     */
+    void invalidateLocation(int id) {
+        synchronized (entries) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                int[] ids = it.next().ids;
+                for (int location : ids) {
+                    if (location == id) {
+                        it.remove();
+                        invalidations.increment();
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean usesRoad(int[] ids, int u, int v) {
+        for (int i = 0; i + 1 < ids.length; i++) {
+            if ((ids[i] == u && ids[i + 1] == v) || (ids[i] == v && ids[i + 1] == u)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== Statistics & Configuration ====================
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the fraction of lookups answered from the cache.
+     * @return hit rate between 0 and 1 (0 before the first lookup)
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * Gets the number of entries dropped because the graph changed
+     * (evictions for space are not counted).
+     * @return invalidated entry count
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Changes the maximum number of cached routes, evicting the least
+     * recently used ones if the cache is now too full.
+     * @param capacity new capacity (0 disables caching)
+     */
+    public void setCapacity(int capacity) {
+        synchronized (entries) {
+            this.capacity = Math.max(0, capacity);
+            Iterator<Long> it = entries.keySet().iterator();
+            while (entries.size() > this.capacity && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Empties the cache and resets the counters.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.reset();
+        misses.reset();
+        invalidations.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("size=%d/%d, hits=%d, misses=%d, hitRate=%.1f%%, invalidated=%d",
+                size(), capacity, getHits(), getMisses(), getHitRate() * 100, getInvalidations());
+    }
+}
@@ -0,0 +1,90 @@
+package module1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a route query: the ordered list of locations from source to
+ * destination and the total road distance of the route.
+ * Instances are immutable so they can be shared between callers.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class RoutePath {
+
+    // ==================== Fields ====================
+    private final List<String> locations;
+    private final int totalDistance;
+    private final int settledCount;
+
+    // ==================== Constructor ====================
+    /**
+     * Creates a route result.
+     * @param locations locations on the route, source first
+     * @param totalDistance total distance of the route in km
+     */
+    public RoutePath(List<String> locations, int totalDistance) {
+        this(locations, totalDistance, 0);
+    }
+
+    /**
+     * Creates a route result that also records how much work the search did.
+     * @param locations locations on the route, source first
+     * @param totalDistance total distance of the route in km
+     * @param settledCount number of locations the search settled
+     */
+    public RoutePath(List<String> locations, int totalDistance, int settledCount) {
+        this.locations = Collections.unmodifiableList(new ArrayList<>(locations));
+        this.totalDistance = totalDistance;
+        this.settledCount = settledCount;
+    }
+
+    // ==================== Accessors ====================
+
+    /**
+     * Gets the locations on the route in travel order.
+     * @return unmodifiable list of location names
+     */
+    public List<String> getLocations() {
+        return locations;
+    }
+
+    /**
+     * Gets the total road distance of the route.
+     * @return distance in km
+     */
+    public int getTotalDistance() {
+        return totalDistance;
+    }
+
+    /**
+     * Gets the number of roads travelled on the route.
+     * @return number of hops
+     */
+    public int getHopCount() {
+        return locations.size() - 1;
+    }
+
+    /**
+     * Gets the number of locations the search settled (removed from its
+     * priority queue) before it reached the destination.
+     * @return settled location count, or 0 if not recorded
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    public String getSource() {
+        return locations.get(0);
+    }
+
+    public String getDestination() {
+        return locations.get(locations.size() - 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(" → ", locations);
+    }
+}
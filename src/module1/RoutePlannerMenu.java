@@ -1,5 +1,9 @@
 package module1;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -14,13 +18,34 @@ public class RoutePlannerMenu {
     private CityGraph graph;
     private BSTLocation bst;
     private Scanner scanner;
+    /** Journal recording the graph's changes, or null when not started */
+    private MutationJournal journal;
+
+    /** Largest network the menu generates (about three million roads) */
+    private static final int MAX_GENERATED_LOCATIONS = 1_000_000;
+    /** Spanning tree roads printed before the list is cut short */
+    private static final int MAX_LISTED_ROADS = 50;
+    /** Locations per side of the largest distance matrix shown */
+    private static final int MAX_MATRIX_LOCATIONS = 50;
 
     // ==================== Constructor ====================
     public RoutePlannerMenu(Scanner scanner) {
+        this(scanner, null);
+    }
+
+    /**
+     * Creates the menu with a road network loaded from a file.
+     * @param scanner console input
+     * @param networkFile snapshot or edge-list / CSV file to load, or null for the
+     *                    sample data (also used if the file cannot be read)
+     */
+    public RoutePlannerMenu(Scanner scanner, File networkFile) {
         this.graph = new CityGraph();
         this.bst = new BSTLocation();
         this.scanner = scanner;
-        loadSampleData(); // Load sample data for demonstration
+        if (networkFile == null || !loadNetwork(networkFile)) {
+            loadSampleData(); // Load sample data for demonstration
+        }
     }
 
     // ==================== Sample Data ====================
@@ -34,9 +59,16 @@ public class RoutePlannerMenu {
             "Anuradhapura", "Trincomalee", "Batticaloa", "Matara", "Kurunegala"
         };
 
-        for (String loc : sampleLocations) {
-            bst.insert(loc);
-            graph.addLocation(loc);
+        // Latitude/longitude of each sample location (used by A* routing)
+        double[][] coordinates = {
+            {6.9271, 79.8612}, {7.2906, 80.6337}, {6.0535, 80.2210}, {9.6615, 80.0255}, {7.2008, 79.8737},
+            {8.3114, 80.4037}, {8.5874, 81.2152}, {7.7310, 81.6747}, {5.9549, 80.5550}, {7.4818, 80.3609}
+        };
+
+        bst.bulkLoad(Arrays.asList(sampleLocations));
+        graph.addLocations(Arrays.asList(sampleLocations));
+        for (int i = 0; i < sampleLocations.length; i++) {
+            graph.setCoordinates(sampleLocations[i], coordinates[i][0], coordinates[i][1]);
         }
 
         // Add sample roads with distances (km)
@@ -53,6 +85,11 @@ public class RoutePlannerMenu {
         graph.addRoad("Anuradhapura", "Trincomalee", 110);
         graph.addRoad("Trincomalee", "Batticaloa", 114);
         graph.addRoad("Negombo", "Kurunegala", 78);
+
+        // Commuter traffic on the roads out of Colombo (free-flow minutes, peak multiplier)
+        graph.setRoadProfile("Colombo", "Kandy", WeightProfile.rushHour(170, 1.5));
+        graph.setRoadProfile("Colombo", "Negombo", WeightProfile.rushHour(50, 2.0));
+        graph.setRoadProfile("Colombo", "Kurunegala", WeightProfile.rushHour(130, 1.6));
     }
 
     // ==================== Main Menu ====================
@@ -75,6 +112,18 @@ public class RoutePlannerMenu {
             System.out.println("  ║  8. BFS Traversal (Queue-based)                  ║");
             System.out.println("  ║  9. DFS Traversal (Stack-based)                  ║");
             System.out.println("  ║  10. Find Shortest Path                          ║");
+            System.out.println("  ║  11. Network Statistics                          ║");
+            System.out.println("  ║  12. Distance Matrix (All Locations)             ║");
+            System.out.println("  ║  13. Check Reachability                          ║");
+            System.out.println("  ║  14. Alternative Routes (K-Shortest)             ║");
+            System.out.println("  ║  15. Fastest Route at Departure Time             ║");
+            System.out.println("  ║  16. Set Live Travel Time (Traffic Feed)         ║");
+            System.out.println("  ║  17. Load Network from File (CSV / Edge List)    ║");
+            System.out.println("  ║  18. Save Network Snapshot (Binary)              ║");
+            System.out.println("  ║  19. Open Network Snapshot (Binary)              ║");
+            System.out.println("  ║  20. Change Journal (Crash-Safe Edits)           ║");
+            System.out.println("  ║  21. Generate Synthetic City (Large Networks)    ║");
+            System.out.println("  ║  22. Minimum Spanning Tree (Cheapest Network)    ║");
             System.out.println("  ║  0. Back to Main Menu                            ║");
             System.out.println("  ╚══════════════════════════════════════════════════╝");
             System.out.print("  Enter your choice: ");
@@ -92,9 +141,21 @@ public class RoutePlannerMenu {
                 case 8: bfsTraversal(); break;
                 case 9: dfsTraversal(); break;
                 case 10: findShortestPath(); break;
+                case 11: displayStatistics(); break;
+                case 12: displayDistanceMatrix(); break;
+                case 13: checkReachability(); break;
+                case 14: findAlternativeRoutes(); break;
+                case 15: findFastestRoute(); break;
+                case 16: setLiveTravelTime(); break;
+                case 17: loadNetworkFromFile(); break;
+                case 18: saveSnapshot(); break;
+                case 19: openSnapshotFromFile(); break;
+                case 20: manageJournal(); break;
+                case 21: generateCity(); break;
+                case 22: displayMinimumSpanningTree(); break;
                 case 0: running = false; break;
                 default:
-                    System.out.println("  ⚠ Invalid choice. Please enter 0-10.");
+                    System.out.println("  ⚠ Invalid choice. Please enter 0-22.");
             }
         }
     }
@@ -229,7 +290,14 @@ public class RoutePlannerMenu {
         graph.displayLocations();
         System.out.print("  Enter starting location: ");
         String start = scanner.nextLine().trim();
-        graph.bfsTraversal(start);
+        String[] order = graph.bfsTraversal(start);
+        if (order == null) {
+            System.out.println("  Error: Location '" + start + "' not found.");
+            return;
+        }
+        System.out.println("\n  ═══ BFS Traversal (Using Queue) from '" + start + "' ═══");
+        printVisitOrder(order);
+        System.out.println("  ═══ BFS Complete. Total locations visited: " + order.length + " ═══");
     }
 
     /**
@@ -240,7 +308,20 @@ public class RoutePlannerMenu {
         graph.displayLocations();
         System.out.print("  Enter starting location: ");
         String start = scanner.nextLine().trim();
-        graph.dfsTraversal(start);
+        String[] order = graph.dfsTraversal(start);
+        if (order == null) {
+            System.out.println("  Error: Location '" + start + "' not found.");
+            return;
+        }
+        System.out.println("\n  ═══ DFS Traversal (Using Stack) from '" + start + "' ═══");
+        printVisitOrder(order);
+        System.out.println("  ═══ DFS Complete. Total locations visited: " + order.length + " ═══");
+    }
+
+    private void printVisitOrder(String[] order) {
+        for (int i = 0; i < order.length; i++) {
+            System.out.println("  Step " + (i + 1) + ": Visited -> " + order[i]);
+        }
     }
 
     /**
@@ -253,7 +334,524 @@ public class RoutePlannerMenu {
         String from = scanner.nextLine().trim();
         System.out.print("  Enter destination location: ");
         String to = scanner.nextLine().trim();
-        graph.findShortestPath(from, to);
+
+        if (!graph.hasLocation(from) || !graph.hasLocation(to)) {
+            System.out.println("  Error: One or both locations not found.");
+            return;
+        }
+
+        System.out.println("\n  ═══ Finding Shortest Path: " + from + " → " + to + " ═══");
+        RoutePath route = graph.findShortestPath(from, to);
+        if (route == null) {
+            System.out.println("  No path found between " + from + " and " + to);
+            return;
+        }
+        System.out.println("  Route: " + route);
+        System.out.println("  Total Distance: " + route.getTotalDistance() + " km");
+        System.out.println("  ═══════════════════════════════════════════════════");
+    }
+
+    /**
+     * Lists the k shortest loopless routes between two locations.
+     */
+    private void findAlternativeRoutes() {
+        System.out.println("\n  --- Alternative Routes (K-Shortest) ---");
+        graph.displayLocations();
+        System.out.print("  Enter source location: ");
+        String from = scanner.nextLine().trim();
+        System.out.print("  Enter destination location: ");
+        String to = scanner.nextLine().trim();
+
+        if (!graph.hasLocation(from) || !graph.hasLocation(to)) {
+            System.out.println("  Error: One or both locations not found.");
+            return;
+        }
+        System.out.print("  How many routes (1-10): ");
+        int k = getValidInt();
+        if (k < 1 || k > 10) {
+            System.out.println("  ⚠ Please enter a number between 1 and 10.");
+            return;
+        }
+
+        List<RoutePath> routes = graph.findKShortestPaths(from, to, k);
+        System.out.println("\n  ═══ Top " + k + " Routes: " + from + " → " + to + " ═══");
+        if (routes.isEmpty()) {
+            System.out.println("  No path found between " + from + " and " + to);
+            return;
+        }
+        for (int i = 0; i < routes.size(); i++) {
+            RoutePath route = routes.get(i);
+            System.out.printf("  %2d. %s (%d km)%n", i + 1, route, route.getTotalDistance());
+        }
+        if (routes.size() < k) {
+            System.out.println("  Only " + routes.size() + " loopless route(s) exist.");
+        }
+        System.out.println("  ═══════════════════════════════════════════════════");
+    }
+
+    /**
+     * Finds the fastest route for a departure time, taking road profiles
+     * and live travel times into account.
+     */
+    private void findFastestRoute() {
+        System.out.println("\n  --- Fastest Route at Departure Time ---");
+        graph.displayLocations();
+        System.out.print("  Enter source location: ");
+        String from = scanner.nextLine().trim();
+        System.out.print("  Enter destination location: ");
+        String to = scanner.nextLine().trim();
+
+        if (!graph.hasLocation(from) || !graph.hasLocation(to)) {
+            System.out.println("  Error: One or both locations not found.");
+            return;
+        }
+        System.out.print("  Enter departure time (HH:MM): ");
+        int departure = parseClock(scanner.nextLine().trim());
+        if (departure < 0) {
+            System.out.println("  ⚠ Please enter a time such as 07:30.");
+            return;
+        }
+
+        TimedRoute route = graph.findFastestRoute(from, to, departure);
+        System.out.println("\n  ═══ Fastest Route leaving at " + TimedRoute.formatClock(departure) + " ═══");
+        if (route == null) {
+            System.out.println("  No path found between " + from + " and " + to);
+            return;
+        }
+        System.out.println("  Route: " + route);
+        System.out.printf("  Travel Time: %.0f min, arriving %s (%d km)%n",
+                route.getTravelMinutes(), TimedRoute.formatClock(route.getArrivalMinute()), route.getTotalDistance());
+        System.out.println("  ═══════════════════════════════════════════════════");
+    }
+
+    /**
+     * Sets or clears the live travel time of a road, as a traffic feed would.
+     */
+    private void setLiveTravelTime() {
+        System.out.println("\n  --- Set Live Travel Time ---");
+        System.out.print("  Enter source location: ");
+        String from = scanner.nextLine().trim();
+        System.out.print("  Enter destination location: ");
+        String to = scanner.nextLine().trim();
+        if (graph.getRoadDistance(from, to) < 0) {
+            System.out.println("  ⚠ Road not found between " + from + " and " + to + ".");
+            return;
+        }
+        System.out.print("  Enter current travel time in minutes (0 to clear): ");
+        int minutes = getValidInt();
+        if (minutes < 0) {
+            System.out.println("  ⚠ Travel time cannot be negative.");
+            return;
+        }
+        if (minutes == 0) {
+            graph.clearLiveTravelTime(from, to);
+            System.out.println("  ✓ Live travel time cleared for " + from + " ↔ " + to + ".");
+        } else {
+            graph.setLiveTravelTime(from, to, minutes);
+            System.out.println("  ✓ " + from + " ↔ " + to + " now takes " + minutes + " min.");
+        }
+    }
+
+    /**
+     * Parses a 24-hour clock time.
+     * @param text time such as "07:30"
+     * @return minutes since midnight, or -1 if invalid
+     */
+    private static int parseClock(String text) {
+        String[] parts = text.split(":");
+        if (parts.length != 2) {
+            return -1;
+        }
+        try {
+            int hours = Integer.parseInt(parts[0].trim());
+            int minutes = Integer.parseInt(parts[1].trim());
+            if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59) {
+                return -1;
+            }
+            return hours * 60 + minutes;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Asks for a network file and adds its locations and roads.
+     */
+    private void loadNetworkFromFile() {
+        System.out.println("\n  --- Load Network from File ---");
+        System.out.println("  One road per line: from,to,distance (comma or tab separated, # for comments)");
+        System.out.print("  Enter file path: ");
+        String path = scanner.nextLine().trim();
+        if (path.isEmpty()) {
+            System.out.println("  ⚠ File path cannot be empty.");
+            return;
+        }
+        loadNetwork(new File(path));
+    }
+
+    /**
+     * Loads a network file and prints what was loaded. Snapshots replace
+     * the current network; edge-list / CSV files are added to it.
+     * @param file snapshot or edge-list / CSV file
+     * @return true if loaded, false if the file could not be read
+     */
+    public boolean loadNetwork(File file) {
+        if (GraphSnapshot.isSnapshot(file)) {
+            return openSnapshot(file);
+        }
+        LoadReport report = GraphLoader.load(file, graph, bst);
+        if (report == null) {
+            System.out.println("  ⚠ Could not read network file: " + file.getPath());
+            return false;
+        }
+        System.out.println("\n  ═══ Network Loaded: " + report.getFileName() + " ═══");
+        System.out.printf("  Lines:            %,d (%,.1f KB)%n", report.getLines(), report.getBytes() / 1024.0);
+        System.out.printf("  Locations added:  %,d%n", report.getLocationsAdded());
+        System.out.printf("  Roads added:      %,d of %,d read%n", report.getRoadsAdded(), report.getRoadsRead());
+        if (report.getSkippedLines() > 0) {
+            System.out.printf("  Skipped lines:    %,d (first at line %,d)%n",
+                    report.getSkippedLines(), report.getFirstSkippedLine());
+        }
+        System.out.printf("  Time:             %.1f ms (parse %.1f ms, insert %.1f ms)%n",
+                report.getTotalMillis(), report.getParseMillis(), report.getInsertMillis());
+        System.out.printf("  Throughput:       %,.0f edges/sec%n", report.getEdgesPerSecond());
+        System.out.println("  ═══════════════════════════════════════════════════");
+        return true;
+    }
+
+    /**
+     * Saves the network and BST to a binary snapshot file.
+     */
+    private void saveSnapshot() {
+        System.out.println("\n  --- Save Network Snapshot ---");
+        System.out.print("  Enter file path (e.g. city.scgs): ");
+        String path = scanner.nextLine().trim();
+        if (path.isEmpty()) {
+            System.out.println("  ⚠ File path cannot be empty.");
+            return;
+        }
+        File file = new File(path);
+        long start = System.nanoTime();
+        if (!GraphSnapshot.save(graph, bst, file)) {
+            System.out.println("  ⚠ Could not write snapshot: " + file.getPath());
+            return;
+        }
+        System.out.printf("  ✓ Saved %,d locations and %,d roads to %s (%,.1f KB) in %.1f ms%n",
+                graph.getLocationCount(), graph.getRoadCount(), file.getName(), file.length() / 1024.0,
+                (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    /**
+     * Asks for a snapshot file and replaces the network with it.
+     */
+    private void openSnapshotFromFile() {
+        System.out.println("\n  --- Open Network Snapshot ---");
+        System.out.println("  The current locations and roads will be replaced.");
+        System.out.print("  Enter file path: ");
+        String path = scanner.nextLine().trim();
+        if (path.isEmpty()) {
+            System.out.println("  ⚠ File path cannot be empty.");
+            return;
+        }
+        openSnapshot(new File(path));
+    }
+
+    /**
+     * Replaces the graph and BST with the contents of a snapshot.
+     * @param file snapshot file
+     * @return true if opened, false if the file is missing or damaged
+     */
+    private boolean openSnapshot(File file) {
+        long start = System.nanoTime();
+        BSTLocation loadedBst = new BSTLocation();
+        CityGraph loaded = GraphSnapshot.load(file, loadedBst);
+        if (loaded == null) {
+            System.out.println("  ⚠ Not a valid snapshot (missing, damaged or wrong version): " + file.getPath());
+            return false;
+        }
+        stopJournal(); // The journal belongs to the graph being replaced
+        graph = loaded;
+        bst = loadedBst;
+        System.out.printf("  ✓ Opened %s: %,d locations, %,d roads in %.1f ms%n", file.getName(),
+                graph.getLocationCount(), graph.getRoadCount(), (System.nanoTime() - start) / 1_000_000.0);
+        return true;
+    }
+
+    /**
+     * Replaces the network with a generated grid, random geometric or
+     * scale-free city of the chosen size.
+     */
+    private void generateCity() {
+        System.out.println("\n  --- Generate Synthetic City ---");
+        System.out.println("  The current locations and roads will be replaced.");
+        for (int shape = CityGenerator.GRID; shape <= CityGenerator.SCALE_FREE; shape++) {
+            System.out.println("  " + (shape + 1) + ". " + CityGenerator.shapeName(shape));
+        }
+        System.out.print("  Choose a shape: ");
+        int shape = getValidInt() - 1;
+        if (shape < CityGenerator.GRID || shape > CityGenerator.SCALE_FREE) {
+            System.out.println("  ⚠ Please choose 1-3.");
+            return;
+        }
+        System.out.printf("  Number of locations (1-%,d, about 3 roads each): ", MAX_GENERATED_LOCATIONS);
+        int locations = getValidInt();
+        if (locations < 1 || locations > MAX_GENERATED_LOCATIONS) {
+            System.out.printf("  ⚠ Please enter a number between 1 and %,d.%n", MAX_GENERATED_LOCATIONS);
+            return;
+        }
+        System.out.print("  Seed (same seed = same city): ");
+        int seed = getValidInt();
+        if (seed < 0) {
+            System.out.println("  ⚠ Please enter a non-negative seed.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        BSTLocation generatedBst = new BSTLocation();
+        CityGraph generated = CityGenerator.generate(shape, locations, seed, generatedBst);
+        stopJournal(); // The journal belongs to the graph being replaced
+        graph = generated;
+        bst = generatedBst;
+        System.out.printf("  ✓ Generated %s city: %,d locations, %,d roads, %,d components in %.1f ms%n",
+                CityGenerator.shapeName(shape), graph.getLocationCount(), graph.getRoadCount(),
+                graph.getComponentCount(), (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    /**
+     * Starts the change journal, or shows its status and lets the user
+     * compact or stop it.
+     */
+    private void manageJournal() {
+        System.out.println("\n  --- Change Journal ---");
+        if (journal != null) {
+            System.out.println("  Journal running: " + journal);
+            System.out.println("  1. Compact now (write snapshot, drop old segments)");
+            System.out.println("  2. Stop journal");
+            System.out.println("  0. Back");
+            System.out.print("  Enter your choice: ");
+            int choice = getValidInt();
+            if (choice == 1) {
+                System.out.println(journal.compact() ? "  ✓ Compaction started in the background."
+                        : "  ⚠ A compaction is already running or the journal failed.");
+            } else if (choice == 2) {
+                stopJournal();
+            }
+            return;
+        }
+
+        System.out.println("  Every change is written to disk as it happens and replayed after a restart.");
+        System.out.print("  Enter journal name (e.g. city): ");
+        String path = scanner.nextLine().trim();
+        if (path.isEmpty()) {
+            System.out.println("  ⚠ Journal name cannot be empty.");
+            return;
+        }
+        File snapshotFile = new File(path + ".scgs");
+        File journalBase = new File(path + ".journal");
+
+        if (snapshotFile.exists()) {
+            System.out.print("  Saved network found. Recover it and replace the current network? (y/n): ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                long start = System.nanoTime();
+                BSTLocation recoveredBst = new BSTLocation();
+                MutationJournal recovered = MutationJournal.recover(snapshotFile, journalBase, recoveredBst);
+                if (recovered == null) {
+                    System.out.println("  ⚠ Could not recover (snapshot damaged or unreadable): " + snapshotFile.getPath());
+                    return;
+                }
+                journal = recovered;
+                graph = recovered.getGraph();
+                bst = recoveredBst;
+                System.out.printf("  ✓ Recovered %,d locations and %,d roads (%,d changes replayed) in %.1f ms%n",
+                        graph.getLocationCount(), graph.getRoadCount(), recovered.getReplayedCount(),
+                        (System.nanoTime() - start) / 1_000_000.0);
+                return;
+            }
+        }
+
+        journal = MutationJournal.create(graph, bst, snapshotFile, journalBase);
+        if (journal == null) {
+            System.out.println("  ⚠ Could not start the journal in: " + snapshotFile.getAbsoluteFile().getParent());
+            return;
+        }
+        System.out.println("  ✓ Journal started: " + snapshotFile.getName() + " + " + journalBase.getName() + ".*");
+    }
+
+    /**
+     * Writes out and closes the change journal, if one is running.
+     */
+    private void stopJournal() {
+        if (journal == null) {
+            return;
+        }
+        if (journal.close()) {
+            System.out.println("  ✓ Journal closed; all changes are on disk.");
+        } else {
+            System.out.println("  ⚠ Journal closed, but some changes could not be written.");
+        }
+        journal = null;
+    }
+
+    /**
+     * Flushes and closes anything that must survive the program exiting.
+     */
+    public void shutdown() {
+        stopJournal();
+    }
+
+    /**
+     * Reports whether two locations are connected by any route, using the
+     * graph's connected-components index instead of a search.
+     */
+    private void checkReachability() {
+        System.out.println("\n  --- Check Reachability ---");
+        graph.displayLocations();
+        System.out.print("  Enter first location: ");
+        String from = scanner.nextLine().trim();
+        System.out.print("  Enter second location: ");
+        String to = scanner.nextLine().trim();
+
+        if (!graph.hasLocation(from) || !graph.hasLocation(to)) {
+            System.out.println("  Error: One or both locations not found.");
+            return;
+        }
+        if (graph.isReachable(from, to)) {
+            System.out.println("  ✓ " + from + " and " + to + " are connected (component of "
+                    + graph.getComponentSize(from) + " locations).");
+        } else {
+            System.out.println("  ✗ No route exists between " + from + " and " + to + ".");
+        }
+    }
+
+    /**
+     * Displays location/road counts and degree statistics of the network.
+     */
+    private void displayStatistics() {
+        GraphStats stats = graph.getStats();
+        System.out.println("\n  ═══ Network Statistics ═══");
+        System.out.println("  Locations      : " + stats.getLocationCount());
+        System.out.println("  Roads          : " + stats.getRoadCount());
+        System.out.println("  Max degree     : " + stats.getMaxDegree());
+        System.out.printf("  Average degree : %.2f%n", stats.getAverageDegree());
+        System.out.println("  Components     : " + graph.getComponentCount());
+        System.out.println("  Degree histogram (roads -> locations):");
+        int[] histogram = stats.getDegreeHistogram();
+        for (int d = 0; d < histogram.length; d++) {
+            if (histogram[d] > 0) {
+                System.out.printf("    %3d -> %d%n", d, histogram[d]);
+            }
+        }
+        RouteCache cache = graph.getRouteCache();
+        System.out.printf("  Route cache    : %d/%d routes, %d hits, %d misses (%.1f%% hit rate)%n",
+                cache.size(), cache.getCapacity(), cache.getHits(), cache.getMisses(), cache.getHitRate() * 100);
+    }
+
+    /**
+     * Prints the cheapest set of roads that keeps every location connected
+     * (minimum spanning tree, one per separate part of the network).
+     */
+    private void displayMinimumSpanningTree() {
+        FrozenCityGraph frozen = graph.freeze();
+        long start = System.nanoTime();
+        MinimumSpanningTree.Result mst = MinimumSpanningTree.compute(frozen);
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        long allRoads = 0;
+        for (int distance : frozen.weights()) {
+            allRoads += distance;
+        }
+        allRoads /= 2; // Every road is stored in both directions
+
+        System.out.println("\n  ═══ Minimum Spanning Tree (Cheapest Connected Network) ═══");
+        int shown = Math.min(mst.getRoadCount(), MAX_LISTED_ROADS);
+        for (int i = 0; i < shown; i++) {
+            System.out.printf("    %s <-> %s : %d km%n", mst.getFrom(i), mst.getTo(i), mst.getDistance(i));
+        }
+        if (shown < mst.getRoadCount()) {
+            System.out.printf("    ... and %,d more roads%n", mst.getRoadCount() - shown);
+        }
+        System.out.printf("  Roads kept     : %,d of %,d%n", mst.getRoadCount(), graph.getRoadCount());
+        System.out.printf("  Total distance : %,d km of %,d km (%.1f%%)%n", mst.getTotalDistance(), allRoads,
+                allRoads == 0 ? 0.0 : mst.getTotalDistance() * 100.0 / allRoads);
+        if (mst.getTreeCount() > 1) {
+            System.out.printf("  Separate parts : %,d (one tree each)%n", mst.getTreeCount());
+        }
+        System.out.printf("  Computed in %.1f ms (Borůvka, %d rounds)%n", millis, mst.getRounds());
+    }
+
+    /**
+     * Computes and prints the shortest distance between every pair of
+     * locations, optionally saving the table to a file.
+     */
+    private void displayDistanceMatrix() {
+        DistanceMatrix matrix;
+        if (graph.getLocationCount() <= MAX_MATRIX_LOCATIONS) {
+            matrix = DistanceMatrix.compute(graph);
+        } else {
+            System.out.printf("%n  The network has %,d locations; choose up to %d sources and %d targets.%n",
+                    graph.getLocationCount(), MAX_MATRIX_LOCATIONS, MAX_MATRIX_LOCATIONS);
+            List<String> sources = readLocationList("  Enter source locations (comma-separated): ");
+            if (sources == null) {
+                return;
+            }
+            List<String> targets = readLocationList("  Enter target locations (comma-separated): ");
+            if (targets == null) {
+                return;
+            }
+            matrix = DistanceMatrix.compute(graph, sources, targets);
+        }
+        if (matrix == null) {
+            System.out.println("  Error: One or more locations not found.");
+            return;
+        }
+        System.out.println("\n  ═══ Distance Matrix (km, '-' = no route) ═══");
+        System.out.printf("  %-12s", "");
+        for (int c = 0; c < matrix.getColumnCount(); c++) {
+            System.out.printf(" %6s", abbreviate(matrix.getTargetName(c)));
+        }
+        System.out.println();
+        for (int r = 0; r < matrix.getRowCount(); r++) {
+            System.out.printf("  %-12s", matrix.getSourceName(r));
+            for (int c = 0; c < matrix.getColumnCount(); c++) {
+                int distance = matrix.getDistance(r, c);
+                System.out.printf(" %6s", distance == DistanceMatrix.UNREACHABLE ? "-" : String.valueOf(distance));
+            }
+            System.out.println();
+        }
+
+        System.out.print("\n  Save to file (leave blank to skip): ");
+        String fileName = scanner.nextLine().trim();
+        if (fileName.isEmpty()) {
+            return;
+        }
+        if (matrix.save(new java.io.File(fileName))) {
+            System.out.println("  ✓ Distance matrix saved to " + fileName);
+        } else {
+            System.out.println("  ⚠ Could not write " + fileName);
+        }
+    }
+
+    /**
+     * Reads a comma-separated list of location names for a distance matrix.
+     * @param prompt prompt to print
+     * @return the names, or null if none or too many were entered
+     */
+    private List<String> readLocationList(String prompt) {
+        System.out.print(prompt);
+        List<String> names = new ArrayList<>();
+        for (String name : scanner.nextLine().split(",")) {
+            if (!name.trim().isEmpty()) {
+                names.add(name.trim());
+            }
+        }
+        if (names.isEmpty() || names.size() > MAX_MATRIX_LOCATIONS) {
+            System.out.printf("  ⚠ Please enter between 1 and %d locations.%n", MAX_MATRIX_LOCATIONS);
+            return null;
+        }
+        return names;
+    }
+
+    private static String abbreviate(String name) {
+        return name.length() <= 6 ? name : name.substring(0, 6);
     }
 
     // ==================== Input Validation ====================
@@ -0,0 +1,98 @@
+package module1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a time-dependent route query: the locations on the fastest
+ * route for a given departure time, the clock time at which each one is
+ * reached, and the road distance.
+ * Instances are immutable so they can be shared between callers.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class TimedRoute {
+
+    // ==================== Fields ====================
+    private final List<String> locations;
+    /** arrivalMinutes[i] = minutes since midnight (of the departure day) at locations[i] */
+    private final double[] arrivalMinutes;
+    private final int totalDistance;
+
+    // ==================== Constructor ====================
+    /**
+     * Creates a timed route.
+     * @param locations locations on the route, source first
+     * @param arrivalMinutes arrival time at each location; the first entry is the departure time
+     * @param totalDistance total road distance in km
+     */
+    public TimedRoute(List<String> locations, double[] arrivalMinutes, int totalDistance) {
+        this.locations = Collections.unmodifiableList(new ArrayList<>(locations));
+        this.arrivalMinutes = arrivalMinutes.clone();
+        this.totalDistance = totalDistance;
+    }
+
+    // ==================== Accessors ====================
+
+    public List<String> getLocations() {
+        return locations;
+    }
+
+    /**
+     * Gets the arrival time at one location on the route.
+     * @param index position on the route (0 = source)
+     * @return minutes since midnight of the departure day (may exceed 1440)
+     */
+    public double getArrivalMinute(int index) {
+        return arrivalMinutes[index];
+    }
+
+    public double getDepartureMinute() {
+        return arrivalMinutes[0];
+    }
+
+    public double getArrivalMinute() {
+        return arrivalMinutes[arrivalMinutes.length - 1];
+    }
+
+    /**
+     * Gets the total travel time.
+     * @return minutes from departure to arrival
+     */
+    public double getTravelMinutes() {
+        return getArrivalMinute() - getDepartureMinute();
+    }
+
+    /**
+     * Gets the total road distance of the route.
+     * @return distance in km
+     */
+    public int getTotalDistance() {
+        return totalDistance;
+    }
+
+    /**
+     * Formats minutes since midnight as a 24-hour clock time, e.g. "07:45".
+     * Times on later days get a "+1d" style suffix.
+     * @param minutes minutes since midnight
+     * @return formatted time
+     */
+    public static String formatClock(double minutes) {
+        long total = Math.round(minutes);
+        long days = Math.floorDiv(total, WeightProfile.MINUTES_PER_DAY);
+        long ofDay = Math.floorMod(total, WeightProfile.MINUTES_PER_DAY);
+        String clock = String.format("%02d:%02d", ofDay / 60, ofDay % 60);
+        return days == 0 ? clock : clock + " (+" + days + "d)";
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < locations.size(); i++) {
+            if (i > 0) sb.append(" → ");
+            sb.append(locations.get(i)).append(" [").append(formatClock(arrivalMinutes[i])).append(']');
+        }
+        return sb.toString();
+    }
+}
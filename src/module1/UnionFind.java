@@ -0,0 +1,153 @@
+package module1;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint-set forest (union-find) over integer ids, with union by size and
+ * path halving, so find and union run in amortised O(α(n)) — effectively
+ * constant time.
+ * Ids join the structure with {@link #makeSet(int)}; the arrays grow as
+ * larger ids are added. {@link #root(int)} and {@link #setSize(int)} only
+ * read the structure, so several threads may call them at once while no
+ * thread is changing it.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class UnionFind {
+
+    // ==================== Fields ====================
+    /** parent[x] = parent of x in its tree (x itself for a root), -1 if x is not added */
+    private int[] parent;
+    /** size[r] = number of ids in the set whose root is r */
+    private int[] size;
+    /** Number of disjoint sets */
+    private int setCount;
+
+    // ==================== Constructor ====================
+    /**
+     * Creates an empty structure.
+     * @param capacity expected largest id + 1
+     */
+    public UnionFind(int capacity) {
+        parent = new int[Math.max(1, capacity)];
+        size = new int[Math.max(1, capacity)];
+        Arrays.fill(parent, -1);
+    }
+
+    // ==================== Operations ====================
+
+    /**
+     * Adds an id as a set of its own. Re-adding an id that is part of a
+     * larger set is not supported; rebuild the structure instead.
+     * @param x id to add
+     */
+    public void makeSet(int x) {
+        if (x >= parent.length) {
+            int capacity = Math.max(x + 1, parent.length * 2);
+            int oldLength = parent.length;
+            parent = Arrays.copyOf(parent, capacity);
+            size = Arrays.copyOf(size, capacity);
+            Arrays.fill(parent, oldLength, capacity, -1);
+        }
+        if (parent[x] < 0) {
+            setCount++;
+        }
+        parent[x] = x;
+        size[x] = 1;
+    }
+
+    /**
+     * Checks if an id has been added.
+     * @param x id
+     * @return true if x is part of the structure
+     */
+    public boolean contains(int x) {
+        return x >= 0 && x < parent.length && parent[x] >= 0;
+    }
+
+    /**
+     * Finds the representative (root) of the set containing an id.
+     * Halves the path on the way up so later finds are shorter.
+     * @param x an added id
+     * @return root id of x's set
+     */
+    public int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Finds the representative (root) of the set containing an id without
+     * shortening the path, so the structure is not changed.
+     * @param x an added id
+     * @return root id of x's set
+     */
+    public int root(int x) {
+        while (parent[x] != x) {
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Takes an id out of its set's count. The id stays in the tree as a link,
+     * so finds through it still work, but it no longer counts towards the
+     * set's size; a set whose count drops to zero no longer counts as a set.
+     * Must be called at most once per id.
+     * @param x an added id
+     */
+    public void detach(int x) {
+        int root = find(x);
+        if (--size[root] == 0) {
+            setCount--;
+        }
+    }
+
+    /**
+     * Merges the sets containing two ids, hanging the smaller tree under
+     * the larger one.
+     * @param a an added id
+     * @param b an added id
+     * @return true if the sets were merged, false if already the same set
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (size[rootA] < size[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        setCount--;
+        return true;
+    }
+
+    /**
+     * Checks if two ids are in the same set.
+     * @return true if connected
+     */
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * Gets the number of ids in the set containing an id.
+     * @param x an added id
+     * @return set size
+     */
+    public int setSize(int x) {
+        return size[root(x)];
+    }
+
+    public int getSetCount() {
+        return setCount;
+    }
+}
@@ -0,0 +1,135 @@
+package module1;
+
+import java.util.Arrays;
+
+/**
+ * Travel time of a road as a piecewise-linear function of the time of day.
+ * The profile is given as breakpoints (minute of day, travel minutes) and
+ * repeats every day; between breakpoints the travel time is interpolated
+ * linearly, wrapping from the last breakpoint to the first one of the next day.
+ *
+ * Profiles must satisfy the FIFO property — leaving later never gets you
+ * there earlier — which keeps time-dependent Dijkstra exact. This holds when
+ * the travel time never drops faster than one minute per minute.
+ * Instances are immutable, so a profile can be shared by many roads.
+ *
+ * @author 22UG1-0938 E.K.B.H.JAYARATHNA
+ */
+public class WeightProfile {
+
+    /** Minutes in a day; profiles repeat with this period */
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    // ==================== Fields ====================
+    private final double[] minutes;
+    private final double[] travelMinutes;
+
+    // ==================== Constructor ====================
+    /**
+     * Creates a profile from breakpoints.
+     * @param minutes breakpoint times, strictly increasing within [0, 1440)
+     * @param travelMinutes travel time in minutes at each breakpoint (positive)
+     * @throws IllegalArgumentException if the breakpoints are invalid or the
+     *         profile breaks the FIFO property
+     */
+    public WeightProfile(double[] minutes, double[] travelMinutes) {
+        if (minutes.length == 0 || minutes.length != travelMinutes.length) {
+            throw new IllegalArgumentException("Need the same, non-zero number of times and travel times");
+        }
+        for (int i = 0; i < minutes.length; i++) {
+            if (minutes[i] < 0 || minutes[i] >= MINUTES_PER_DAY || (i > 0 && minutes[i] <= minutes[i - 1])) {
+                throw new IllegalArgumentException("Breakpoint times must increase within one day");
+            }
+            if (!(travelMinutes[i] > 0)) {
+                throw new IllegalArgumentException("Travel times must be positive");
+            }
+        }
+        for (int i = 0; i < minutes.length; i++) {
+            int next = (i + 1) % minutes.length;
+            double span = next > i ? minutes[next] - minutes[i] : minutes[next] + MINUTES_PER_DAY - minutes[i];
+            if (travelMinutes[i] - travelMinutes[next] > span) {
+                throw new IllegalArgumentException("Travel time drops too fast after minute " + minutes[i]
+                        + " (leaving later would arrive earlier)");
+            }
+        }
+        this.minutes = minutes.clone();
+        this.travelMinutes = travelMinutes.clone();
+    }
+
+    /**
+     * Creates a profile with the same travel time all day.
+     * @param travelMinutes travel time in minutes
+     * @return constant profile
+     */
+    public static WeightProfile constant(double travelMinutes) {
+        return new WeightProfile(new double[]{0}, new double[]{travelMinutes});
+    }
+
+    /**
+     * Creates a typical commuter profile: free-flow travel time with morning
+     * (08:00) and evening (17:30) peaks, ramping up and down over 90 minutes.
+     * The peak is capped at free flow + 90 minutes so the ramp down stays FIFO.
+     * @param freeFlowMinutes travel time outside the peaks
+     * @param peakFactor travel time multiplier at the peaks (at least 1)
+     * @return rush-hour profile
+     */
+    public static WeightProfile rushHour(double freeFlowMinutes, double peakFactor) {
+        double peak = Math.min(freeFlowMinutes * Math.max(1, peakFactor), freeFlowMinutes + 90);
+        return new WeightProfile(
+                new double[]{390, 480, 570, 960, 1050, 1140},
+                new double[]{freeFlowMinutes, peak, freeFlowMinutes, freeFlowMinutes, peak, freeFlowMinutes});
+    }
+
+    // ==================== Evaluation ====================
+
+    /**
+     * Gets the travel time when entering the road at a given time.
+     * Time Complexity: O(log breakpoints)
+     * @param minuteOfDay departure time in minutes since midnight (any value;
+     *                    it is wrapped into one day)
+     * @return travel time in minutes
+     */
+    public double travelTime(double minuteOfDay) {
+        double t = minuteOfDay % MINUTES_PER_DAY;
+        if (t < 0) {
+            t += MINUTES_PER_DAY;
+        }
+        int n = minutes.length;
+        if (n == 1) {
+            return travelMinutes[0];
+        }
+        int i = Arrays.binarySearch(minutes, t);
+        if (i >= 0) {
+            return travelMinutes[i];
+        }
+        int next = -i - 1;            // First breakpoint after t
+        int previous = next - 1;
+        double start, end;
+        if (previous < 0) {           // Before the first breakpoint: wrap from yesterday's last
+            previous = n - 1;
+            start = minutes[previous] - MINUTES_PER_DAY;
+            end = minutes[0];
+            next = 0;
+        } else if (next == n) {       // After the last breakpoint: wrap to tomorrow's first
+            next = 0;
+            start = minutes[previous];
+            end = minutes[0] + MINUTES_PER_DAY;
+        } else {
+            start = minutes[previous];
+            end = minutes[next];
+        }
+        double fraction = (t - start) / (end - start);
+        return travelMinutes[previous] + fraction * (travelMinutes[next] - travelMinutes[previous]);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < minutes.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(TimedRoute.formatClock(minutes[i])).append('=')
+                    .append(String.format("%.1f", travelMinutes[i])).append("min");
+        }
+        return sb.toString();
+    }
+}
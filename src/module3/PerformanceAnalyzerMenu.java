@@ -1,5 +1,7 @@
 package module3;
 
+import module1.HotPathBenchmark;
+import module1.RouteBenchmark;
 import module2.SortingAlgorithms;
 import java.util.Arrays;
 import java.util.Random;
@@ -46,6 +48,7 @@ public class PerformanceAnalyzerMenu {
             System.out.println("  ║  7. Compare All Sorting Algorithms               ║");
             System.out.println("  ║  8. Full Performance Report (Search + Sort)      ║");
             System.out.println("  ║  9. Custom Input Sizes Analysis                  ║");
+            System.out.println("  ║  10. Route Planner Benchmarks (Module 1)         ║");
             System.out.println("  ║  0. Back to Main Menu                            ║");
             System.out.println("  ╚══════════════════════════════════════════════════╝");
             System.out.print("  Enter your choice: ");
@@ -62,9 +65,10 @@ public class PerformanceAnalyzerMenu {
                 case 7: compareAllSortAlgorithms(); break;
                 case 8: fullPerformanceReport(); break;
                 case 9: customSizeAnalysis(); break;
+                case 10: routeBenchmarkMenu(); break;
                 case 0: running = false; break;
                 default:
-                    System.out.println("  ⚠ Invalid choice. Please enter 0-9.");
+                    System.out.println("  ⚠ Invalid choice. Please enter 0-10.");
             }
         }
     }
@@ -528,6 +532,61 @@ public class PerformanceAnalyzerMenu {
         return System.nanoTime() - start;
     }
 
+    // ==================== Route Planner Benchmarks ====================
+
+    /**
+     * Displays and handles the route planner (graph) benchmark sub-menu.
+     */
+    private void routeBenchmarkMenu() {
+        boolean running = true;
+        while (running) {
+            System.out.println("\n  ╔══════════════════════════════════════════════════╗");
+            System.out.println("  ║   ROUTE PLANNER BENCHMARKS (MODULE 1)            ║");
+            System.out.println("  ╠══════════════════════════════════════════════════╣");
+            System.out.println("  ║  1. A* vs Dijkstra (Settled Locations)           ║");
+            System.out.println("  ║  2. Bidirectional vs One-Sided Search            ║");
+            System.out.println("  ║  3. Contraction Hierarchy vs Dijkstra            ║");
+            System.out.println("  ║  4. Distance Matrix (Sequential vs Parallel)     ║");
+            System.out.println("  ║  5. Route Cache (Repeated Queries)               ║");
+            System.out.println("  ║  6. K-Shortest Alternative Routes (k = 3..10)    ║");
+            System.out.println("  ║  7. Live Traffic (Time-Dependent Routes)         ║");
+            System.out.println("  ║  8. Concurrent Graph (Readers + Writer Stress)   ║");
+            System.out.println("  ║  9. Graph Loader (Edge-List Files)               ║");
+            System.out.println("  ║  10. Binary Snapshot vs CSV Startup              ║");
+            System.out.println("  ║  11. Mutation Journal (Crash-Safe Changes)       ║");
+            System.out.println("  ║  12. Synthetic Network Generator (10^3..10^7)    ║");
+            System.out.println("  ║  13. Parallel BFS (Levels + Parents, Checked)    ║");
+            System.out.println("  ║  14. Hot Path Micro-Benchmarks (Graph + BST)     ║");
+            System.out.println("  ║  15. Minimum Spanning Tree (Kruskal vs Borůvka)  ║");
+            System.out.println("  ║  0. Back                                         ║");
+            System.out.println("  ╚══════════════════════════════════════════════════╝");
+            System.out.print("  Enter your choice: ");
+
+            int choice = getValidInt();
+
+            switch (choice) {
+                case 1: RouteBenchmark.compareAStarWithDijkstra(); break;
+                case 2: RouteBenchmark.compareBidirectionalSearch(); break;
+                case 3: RouteBenchmark.compareContractionHierarchy(); break;
+                case 4: RouteBenchmark.benchmarkDistanceMatrix(); break;
+                case 5: RouteBenchmark.benchmarkRouteCache(); break;
+                case 6: RouteBenchmark.benchmarkKShortestPaths(); break;
+                case 7: RouteBenchmark.benchmarkLiveTraffic(); break;
+                case 8: RouteBenchmark.benchmarkConcurrentGraph(); break;
+                case 9: RouteBenchmark.benchmarkGraphLoader(); break;
+                case 10: RouteBenchmark.benchmarkGraphSnapshot(); break;
+                case 11: RouteBenchmark.benchmarkMutationJournal(); break;
+                case 12: RouteBenchmark.benchmarkCityGenerator(); break;
+                case 13: RouteBenchmark.benchmarkParallelBfs(); break;
+                case 14: HotPathBenchmark.runAll(); break;
+                case 15: RouteBenchmark.benchmarkMinimumSpanningTree(); break;
+                case 0: running = false; break;
+                default:
+                    System.out.println("  ⚠ Invalid choice. Please enter 0-15.");
+            }
+        }
+    }
+
     /**
      * Reads and validates integer input.
      * @return valid integer, or -1 if invalid